@@ -0,0 +1,54 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code escapeLatexSpecialChars} on text with nothing to escape (the common
+ * case) and on text dense with special characters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatexEscapeBenchmark {
+
+    @Param({ "plain", "special" })
+    private String text;
+
+    @Param({ "32", "1024" })
+    private int length;
+
+    private final LatexServiceImpl latexService = new LatexServiceImpl();
+    private String input;
+
+    @Setup
+    public void setUp() {
+        String unit = "plain".equals(text)
+                ? "Led the migration of twelve services "
+                : "R&D: 100% of $5 #1 a_b {x} ~y ^z \\w ";
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(unit);
+        }
+        input = sb.substring(0, length);
+    }
+
+    @Benchmark
+    public String escape() {
+        return latexService.escapeLatexSpecialChars(input);
+    }
+}
@@ -0,0 +1,80 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full document generation for every bundled template, from the untyped map
+ * (as the batch endpoint and older callers do) and from the typed model (as
+ * /generate does). The section cache is off, so every section is rendered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatexGenerationBenchmark {
+
+    @Param({ "ats", "creative", "modern", "professional" })
+    private String template;
+
+    @Param({ "1", "5", "20", "50" })
+    private int experiences;
+
+    private LatexServiceImpl latexService;
+    private Map<String, Object> resumeData;
+    private ResumeModel resume;
+    private PrintStream stderr;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LatexTemplateRegistry registry = new LatexTemplateRegistry();
+        registry.afterPropertiesSet();
+        LatexSectionCache sectionCache = new LatexSectionCache();
+        ReflectionTestUtils.setField(sectionCache, "maxEntries", 0);
+        latexService = new LatexServiceImpl();
+        ReflectionTestUtils.setField(latexService, "templateRegistry", registry);
+        ReflectionTestUtils.setField(latexService, "sectionCache", sectionCache);
+
+        resumeData = SyntheticResumes.resumeData(experiences);
+        resume = ResumeModel.fromMap(resumeData);
+
+        // project formatting logs every point to stderr; keep the cost, drop the output
+        stderr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setErr(stderr);
+    }
+
+    @Benchmark
+    public String generateFromMap() throws IOException {
+        return latexService.generateLatexCode(resumeData, template);
+    }
+
+    @Benchmark
+    public String generateFromModel() throws IOException {
+        return latexService.generateLatexCode(resume, template);
+    }
+}
@@ -0,0 +1,59 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import com.Backend.AI_Resume_Builder_Backend.Entity.ResumeData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a Gemini response into resume data, and converting the legacy
+ * {@link ResumeData} entity to JSON and LaTeX.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResumeConversionBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int entries;
+
+    private final ResumeDataConverterService converter = new ResumeDataConverterService();
+    private String geminiResponse;
+    private ResumeData entity;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        geminiResponse = SyntheticResumes.geminiResponse(entries);
+        entity = SyntheticResumes.entity(entries);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseMultipleResponses() {
+        return ResumeServiceImpl.parseMultipleResponses(geminiResponse);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return converter.toJson(entity);
+    }
+
+    @Benchmark
+    public String toLatex() {
+        return converter.toLatex(entity);
+    }
+}
@@ -0,0 +1,135 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import com.Backend.AI_Resume_Builder_Backend.Entity.ResumeData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic resume data for the benchmarks, shaped like what the
+ * frontend sends. Text includes LaTeX special characters so escaping does
+ * real work.
+ */
+final class SyntheticResumes {
+
+    private static final String[] COMPANIES = { "Acme & Sons", "Initech", "R&D Labs", "Globex_Corp",
+            "Hooli", "Umbrella {EU}" };
+
+    private SyntheticResumes() {
+    }
+
+    /**
+     * A {@code resumeData} map with {@code experiences} jobs and a fixed
+     * amount of everything else.
+     */
+    static Map<String, Object> resumeData(int experiences) {
+        Map<String, Object> data = new HashMap<>();
+        Map<String, Object> personal = new HashMap<>();
+        personal.put("fullName", "Jane Q. Public");
+        personal.put("email", "jane_public@example.com");
+        personal.put("phoneNumber", "+1 555 010 0000");
+        personal.put("location", "San Francisco, CA");
+        personal.put("linkedIn", "https://linkedin.com/in/jane_public");
+        personal.put("gitHub", "https://github.com/jane-public");
+        personal.put("portfolio", "https://jane.example.com/~work");
+        data.put("personalInformation", personal);
+        data.put("summary", "Backend engineer with 8+ years building payment & billing systems; cut p99 latency "
+                + "by 40% and infra cost by $1.2M/yr.");
+
+        Map<String, Object> skills = new HashMap<>();
+        skills.put("languages", List.of("Java", "Kotlin", "C#", "SQL"));
+        skills.put("frameworks", List.of("Spring Boot", "React"));
+        skills.put("databases", List.of("PostgreSQL", "Redis"));
+        skills.put("tools", List.of("Git", "Docker", "Kubernetes"));
+        skills.put("cloud", List.of("AWS", "GCP"));
+        data.put("skills", skills);
+
+        List<Map<String, Object>> experience = new ArrayList<>(experiences);
+        for (int i = 0; i < experiences; i++) {
+            Map<String, Object> job = new HashMap<>();
+            job.put("jobTitle", "Senior Software Engineer " + (i + 1));
+            job.put("company", COMPANIES[i % COMPANIES.length]);
+            job.put("location", "Remote");
+            job.put("duration", "Jan 20" + (10 + i % 10) + " -- Dec 20" + (11 + i % 10));
+            job.put("responsibility", "- Led migration of 12 services to Kubernetes, saving 30% of compute\n"
+                    + "- Built an event_pipeline processing 2M msgs/day at <50ms p95\n"
+                    + "- Mentored 4 engineers & ran the on-call rotation");
+            experience.add(job);
+        }
+        data.put("experience", experience);
+
+        List<Map<String, Object>> projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> project = new HashMap<>();
+            project.put("title", "Project #" + (i + 1));
+            project.put("description", "1. Designed a rate limiter for 10k req/s\n2. Wrote 95% test coverage\n"
+                    + "3. Shipped to 100% of traffic");
+            project.put("technologiesUsed", i % 2 == 0 ? List.of("Java", "Redis") : "Go & gRPC");
+            project.put("githubLink", "https://github.com/jane-public/project_" + i);
+            projects.add(project);
+        }
+        data.put("projects", projects);
+
+        data.put("education", List.of(Map.of("degree", "B.Sc. Computer Science", "university",
+                "State University", "location", "Austin, TX", "graduationYear", "2014")));
+        data.put("certifications", List.of(Map.of("title", "AWS Solutions Architect", "issuingOrganization",
+                "Amazon", "year", "2021")));
+        data.put("achievements", List.of(Map.of("title", "Hackathon winner (1st of 80 teams)", "year", "2019")));
+        return data;
+    }
+
+    /**
+     * The legacy {@link ResumeData} entity with {@code entries} education,
+     * experience and project entries.
+     */
+    static ResumeData entity(int entries) {
+        ResumeData data = new ResumeData();
+        data.setName("Jane Q. Public");
+        data.setEmail("jane_public@example.com");
+        data.setPhone("+1 555 010 0000");
+        data.setAddress("San Francisco, CA");
+        data.setSummary("Backend engineer with 8+ years building payment & billing systems.");
+        List<ResumeData.Education> education = new ArrayList<>();
+        List<ResumeData.Experience> experience = new ArrayList<>();
+        List<ResumeData.Project> projects = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            ResumeData.Education edu = new ResumeData.Education();
+            edu.setDegree("B.Sc. " + i);
+            edu.setInstitution("State University");
+            edu.setYear("20" + (10 + i % 10));
+            edu.setDetails("GPA 3.9/4.0, Dean's list");
+            education.add(edu);
+            ResumeData.Experience exp = new ResumeData.Experience();
+            exp.setTitle("Engineer " + i);
+            exp.setCompany(COMPANIES[i % COMPANIES.length]);
+            exp.setDuration("2 years");
+            exp.setDescription("Built and ran services handling 2M requests/day.");
+            experience.add(exp);
+            ResumeData.Project project = new ResumeData.Project();
+            project.setName("Project " + i);
+            project.setDescription("A rate limiter for 10k req/s");
+            project.setLink("https://github.com/jane-public/project_" + i);
+            projects.add(project);
+        }
+        data.setEducationList(education);
+        data.setExperienceList(experience);
+        data.setSkills(List.of("Java", "Spring Boot", "PostgreSQL", "Docker", "AWS"));
+        data.setProjects(projects);
+        return data;
+    }
+
+    /**
+     * A model response as Gemini returns it: a think block, then the resume
+     * JSON in a code fence.
+     */
+    static String geminiResponse(int experiences) throws JsonProcessingException {
+        String json = new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValueAsString(resumeData(experiences));
+        return "<think>\nThe user wants a resume for a backend engineer; emphasise impact.\n</think>\n"
+                + "Here is the resume:\n```json\n" + json + "\n```\n";
+    }
+}
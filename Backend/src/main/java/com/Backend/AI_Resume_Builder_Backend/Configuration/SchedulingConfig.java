@@ -0,0 +1,30 @@
+package com.Backend.AI_Resume_Builder_Backend.Configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Enables @Scheduled background maintenance tasks (e.g. LaTeX workspace
+ * sweeping, compiler health probing).
+ *
+ * The tasks get their own small scheduler; otherwise Spring would pick up the
+ * WebSocket broker's scheduler, and a slow probe compile would delay STOMP
+ * heartbeats.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("maintenance-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        registrar.setTaskScheduler(scheduler);
+    }
+}
@@ -66,6 +66,8 @@ public class SecurityConfig {
                 configuration.setAllowedMethods(
                                 Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "PATCH"));
                 configuration.setAllowedHeaders(Arrays.asList("*"));
+                // Compile responses carry these for the frontend to read
+                configuration.setExposedHeaders(Arrays.asList("X-Pdf-Hash", "X-Templates-Failed"));
                 configuration.setAllowCredentials(true);
 
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -11,7 +11,13 @@ import com.Backend.AI_Resume_Builder_Backend.Repository.FeedbackRepository;
 import com.Backend.AI_Resume_Builder_Backend.Repository.ResumeRepository;
 import com.Backend.AI_Resume_Builder_Backend.Repository.UserRepository;
 import com.Backend.AI_Resume_Builder_Backend.Security.JwtUtil;
+import com.Backend.AI_Resume_Builder_Backend.Service.GeminiService;
+import com.Backend.AI_Resume_Builder_Backend.Service.LatexCompileJobService;
 import com.Backend.AI_Resume_Builder_Backend.Service.LatexCompileService;
+import com.Backend.AI_Resume_Builder_Backend.Service.LatexSectionCache;
+import com.Backend.AI_Resume_Builder_Backend.Service.LiveCompileService;
+import com.Backend.AI_Resume_Builder_Backend.Service.PdfPostProcessor;
+import com.Backend.AI_Resume_Builder_Backend.Service.PdfThumbnailService;
 import com.Backend.AI_Resume_Builder_Backend.Service.SystemStatsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +62,24 @@ public class AdminController {
     @Autowired
     private LatexCompileService latexCompileService;
 
+    @Autowired
+    private PdfThumbnailService pdfThumbnailService;
+
+    @Autowired
+    private PdfPostProcessor pdfPostProcessor;
+
+    @Autowired
+    private LiveCompileService liveCompileService;
+
+    @Autowired
+    private LatexSectionCache latexSectionCache;
+
+    @Autowired
+    private LatexCompileJobService compileJobService;
+
+    @Autowired
+    private GeminiService geminiService;
+
     @Autowired
     private org.springframework.data.redis.connection.RedisConnectionFactory redisConnectionFactory;
 
@@ -172,8 +196,19 @@ public class AdminController {
                 health.put("redis", Map.of("status", "DOWN", "error", e.getMessage()));
             }
 
+            // Gemini calls
+            health.put("gemini", geminiService.getStats());
+
             // Queue
-            health.put("queue", Map.of("usage", latexCompileService.getQueueUsage()));
+            health.put("queue", Map.of(
+                    "usage", latexCompileService.getQueueUsage(),
+                    "pdfCache", latexCompileService.getCacheStats(),
+                    "scheduler", latexCompileService.getSchedulerStats(),
+                    "previews", pdfThumbnailService.getStats(),
+                    "postProcessing", pdfPostProcessor.getStats(),
+                    "liveCompile", liveCompileService.getStats(),
+                    "sectionRender", latexSectionCache.getStats(),
+                    "jobs", compileJobService.getStats()));
 
             return ResponseEntity.ok(health);
         } catch (Exception e) {
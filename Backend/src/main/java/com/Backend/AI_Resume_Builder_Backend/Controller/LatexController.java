@@ -1,20 +1,45 @@
 package com.Backend.AI_Resume_Builder_Backend.Controller;
 
+import com.Backend.AI_Resume_Builder_Backend.Security.JwtUtil;
+import com.Backend.AI_Resume_Builder_Backend.Service.CompileCancelledException;
+import com.Backend.AI_Resume_Builder_Backend.Service.CompileOptions;
+import com.Backend.AI_Resume_Builder_Backend.Service.CompilePriority;
+import com.Backend.AI_Resume_Builder_Backend.Service.LatexBatchCompileService;
+import com.Backend.AI_Resume_Builder_Backend.Service.LatexCompileException;
+import com.Backend.AI_Resume_Builder_Backend.Service.LatexCompileJobService;
+import com.Backend.AI_Resume_Builder_Backend.Service.LatexGenerateRequest;
 import com.Backend.AI_Resume_Builder_Backend.Service.LatexService;
+import com.Backend.AI_Resume_Builder_Backend.Service.PdfThumbnailService;
+import com.Backend.AI_Resume_Builder_Backend.Service.ResumeModel;
 import com.Backend.AI_Resume_Builder_Backend.Service.SystemStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @RestController
 @RequestMapping("/api/latex")
 public class LatexController {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final Pattern PDF_HASH = Pattern.compile("[0-9a-f]{64}");
+
     @Autowired
     private LatexService latexService;
 
@@ -24,16 +49,27 @@ public class LatexController {
     @Autowired
     private SystemStatsService systemStatsService;
 
+    @Autowired
+    private LatexCompileJobService compileJobService;
+
+    @Autowired
+    private LatexBatchCompileService batchCompileService;
+
+    @Autowired
+    private PdfThumbnailService thumbnailService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
     /**
      * Generate LaTeX code from resume data
      */
     @PostMapping(value = "/generate", consumes = "application/json", produces = "application/json")
-    public ResponseEntity<Map<String, Object>> generateLatexCode(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> generateLatexCode(@RequestBody LatexGenerateRequest request) {
         try {
-            // Extract resume data and template type from request
-            @SuppressWarnings("unchecked")
-            Map<String, Object> resumeData = (Map<String, Object>) request.get("resumeData");
-            String templateType = (String) request.getOrDefault("templateType", "professional");
+            // Resume data is bound straight into the typed model
+            ResumeModel resumeData = request.resumeData();
+            String templateType = request.templateType() != null ? request.templateType() : "professional";
 
             if (resumeData == null) {
                 Map<String, Object> errorResponse = new HashMap<>();
@@ -43,17 +79,15 @@ public class LatexController {
             }
 
             // Validate template type
-            if (templateType != null) {
-                String normalized = templateType.toLowerCase();
-                if (!(normalized.equals("professional") || normalized.equals("modern") || normalized.equals("ats")
-                        || normalized.equals("creative"))) {
-                    Map<String, Object> errorResponse = new HashMap<>();
-                    errorResponse.put("error", "Invalid templateType");
-                    errorResponse.put("message", "Allowed values: professional, modern, ats, creative");
-                    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
-                }
-                templateType = normalized;
+            String normalized = templateType.toLowerCase();
+            Set<String> available = latexService.getAvailableTemplates().keySet();
+            if (!available.contains(normalized)) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Invalid templateType");
+                errorResponse.put("message", "Allowed values: " + String.join(", ", available));
+                return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
             }
+            templateType = normalized;
 
             // Generate LaTeX code
             String latexCode = latexService.generateLatexCode(resumeData, templateType);
@@ -127,7 +161,8 @@ public class LatexController {
      * Compile LaTeX source to PDF and return as application/pdf
      */
     @PostMapping(value = "/compile", consumes = "application/json")
-    public ResponseEntity<?> compileLatex(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> compileLatex(@RequestBody Map<String, Object> request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
         try {
             Object codeObj = request.get("latexCode");
             if (codeObj == null) {
@@ -137,12 +172,34 @@ public class LatexController {
                 return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
             }
             String latexCode = codeObj.toString();
+            Object templateObj = request.get("templateType");
+            Object sessionObj = request.get("sessionId");
+            if (sessionObj != null && !SESSION_ID.matcher(sessionObj.toString()).matches()) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "Invalid input");
+                error.put("message", "Session id must be 1-64 letters, digits, '-' or '_'");
+                return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+            }
+            CompileOptions options = CompileOptions.defaults()
+                    .templateType(templateObj == null ? null : templateObj.toString())
+                    .userKey(userKey(authHeader))
+                    .priority(CompilePriority.forRequest(request.get("priority"),
+                            sessionObj == null ? CompilePriority.DOWNLOAD : CompilePriority.INTERACTIVE))
+                    .sessionId(sessionObj == null ? null : sessionObj.toString());
             systemStatsService.incrementPdfCompilations();
-            byte[] pdf = latexCompileService.compileToPdf(latexCode);
+            byte[] pdf = latexCompileService.compileToPdf(latexCode, options);
             return ResponseEntity.ok()
                     .header("Content-Type", "application/pdf")
                     .header("Content-Disposition", "inline; filename=resume.pdf")
+                    .header("X-Pdf-Hash", thumbnailService.register(pdf))
                     .body(pdf);
+        } catch (LatexCompileException e) {
+            return documentRejected(e);
+        } catch (CompileCancelledException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Superseded");
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.CONFLICT);
         } catch (IOException | InterruptedException e) {
             if (e instanceof InterruptedException) {
                 Thread.currentThread().interrupt();
@@ -159,6 +216,356 @@ public class LatexController {
         }
     }
 
+    /**
+     * Generate LaTeX from resume data and compile it in one request, so the
+     * source never travels to the client and back. With a sessionId the
+     * compile runs in that editor session's workspace.
+     */
+    @PostMapping(value = "/generate-and-compile", consumes = "application/json")
+    public ResponseEntity<?> generateAndCompile(@RequestBody LatexGenerateRequest request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResumeModel resumeData = request.resumeData();
+        if (resumeData == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "Resume data is required");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        Set<String> available = latexService.getAvailableTemplates().keySet();
+        String templateType = (request.templateType() != null ? request.templateType() : "professional")
+                .toLowerCase();
+        if (!available.contains(templateType)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid templateType");
+            error.put("message", "Allowed values: " + String.join(", ", available));
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        String sessionId = request.sessionId();
+        if (sessionId != null && !SESSION_ID.matcher(sessionId).matches()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "Session id must be 1-64 letters, digits, '-' or '_'");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        CompileOptions options = CompileOptions.defaults()
+                .templateType(templateType)
+                .userKey(userKey(authHeader))
+                .priority(CompilePriority.forRequest(request.priority(),
+                        sessionId == null ? CompilePriority.DOWNLOAD : CompilePriority.INTERACTIVE));
+        try {
+            // rendered into a buffer sized from the template's literal text and the bound values
+            String latexCode = latexService.generateLatexCode(resumeData, templateType);
+            systemStatsService.incrementPdfCompilations();
+            byte[] pdf = sessionId == null
+                    ? latexCompileService.compileToPdf(latexCode, options)
+                    : latexCompileService.compileInSession(sessionId, latexCode, options);
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/pdf")
+                    .header("Content-Disposition", "inline; filename=resume.pdf")
+                    .header("X-Pdf-Hash", thumbnailService.register(pdf))
+                    .body(pdf);
+        } catch (LatexCompileException e) {
+            return documentRejected(e);
+        } catch (CompileCancelledException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Superseded");
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Compilation failed");
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Generate and compile one resume with several templates in parallel and
+     * return the PDFs as a zip. The archive holds {template}.pdf for every
+     * template that compiled and a manifest.json with each template's outcome;
+     * one template failing does not fail the others.
+     */
+    @PostMapping(value = "/compile/batch", consumes = "application/json")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<?> compileBatch(@RequestBody Map<String, Object> request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Map<String, Object> resumeData = (Map<String, Object>) request.get("resumeData");
+        if (resumeData == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "Resume data is required");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // Converted once and shared by every template's render
+        ResumeModel resume;
+        try {
+            resume = ResumeModel.fromMap(resumeData);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "Malformed resume data");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+
+        Set<String> available = latexService.getAvailableTemplates().keySet();
+        List<String> templateTypes = new ArrayList<>();
+        Object requested = request.get("templateTypes");
+        if (requested instanceof List<?> list && !list.isEmpty()) {
+            for (Object t : list) {
+                String normalized = String.valueOf(t).toLowerCase();
+                if (!available.contains(normalized)) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", "Invalid templateType");
+                    error.put("message", "Allowed values: " + String.join(", ", available));
+                    return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+                }
+                if (!templateTypes.contains(normalized)) {
+                    templateTypes.add(normalized);
+                }
+            }
+        } else {
+            templateTypes.addAll(available);
+        }
+
+        CompileOptions options = CompileOptions.defaults()
+                .userKey(userKey(authHeader))
+                .priority(CompilePriority.forRequest(request.get("priority"), CompilePriority.BATCH));
+        try {
+            List<LatexBatchCompileService.TemplateResult> results = batchCompileService
+                    .compileTemplates(resume, templateTypes, options);
+            systemStatsService.incrementPdfCompilations();
+
+            Map<String, Object> manifest = LatexBatchCompileService.summarize(results);
+            for (LatexBatchCompileService.TemplateResult r : results) {
+                if (r.isSuccess()) {
+                    // lets the template picker fetch small previews instead of the PDFs
+                    ((Map<String, Object>) manifest.get(r.getTemplateType()))
+                            .put("pdfHash", thumbnailService.register(r.getPdf()));
+                }
+            }
+            long failed = results.stream().filter(r -> !r.isSuccess()).count();
+            if (failed == results.size()) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "Compilation failed");
+                error.put("message", "No template compiled successfully");
+                error.put("templates", manifest);
+                return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+
+            ByteArrayOutputStream zip = new ByteArrayOutputStream();
+            try (ZipOutputStream out = new ZipOutputStream(zip)) {
+                // PDFs are compressed already
+                out.setLevel(Deflater.BEST_SPEED);
+                for (LatexBatchCompileService.TemplateResult r : results) {
+                    if (r.isSuccess()) {
+                        out.putNextEntry(new ZipEntry(r.getTemplateType() + ".pdf"));
+                        out.write(r.getPdf());
+                        out.closeEntry();
+                    }
+                }
+                out.putNextEntry(new ZipEntry("manifest.json"));
+                out.write(OBJECT_MAPPER.writeValueAsBytes(manifest));
+                out.closeEntry();
+            }
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/zip")
+                    .header("Content-Disposition", "attachment; filename=resumes.zip")
+                    .header("X-Templates-Failed", String.valueOf(failed))
+                    .body(zip.toByteArray());
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Compilation failed");
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Compile in an editor session's live-preview workspace. Repeated compiles
+     * with the same session id reuse the previous run's .aux/.out/.toc files.
+     */
+    @PostMapping(value = "/sessions/{sessionId}/compile", consumes = "application/json")
+    public ResponseEntity<?> compileInSession(@PathVariable String sessionId,
+            @RequestBody Map<String, Object> request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "Session id must be 1-64 letters, digits, '-' or '_'");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        Object codeObj = request.get("latexCode");
+        if (codeObj == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "'latexCode' is required");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        Object templateObj = request.get("templateType");
+        CompileOptions options = CompileOptions.defaults()
+                .templateType(templateObj == null ? null : templateObj.toString())
+                .userKey(userKey(authHeader))
+                .priority(CompilePriority.forRequest(request.get("priority"), CompilePriority.INTERACTIVE));
+        try {
+            systemStatsService.incrementPdfCompilations();
+            byte[] pdf = latexCompileService.compileInSession(sessionId, codeObj.toString(), options);
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/pdf")
+                    .header("Content-Disposition", "inline; filename=resume.pdf")
+                    .header("X-Pdf-Hash", thumbnailService.register(pdf))
+                    .body(pdf);
+        } catch (LatexCompileException e) {
+            return documentRejected(e);
+        } catch (CompileCancelledException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Superseded");
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Compilation failed");
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Close one of the caller's editor sessions and delete its workspace.
+     */
+    @DeleteMapping(value = "/sessions/{sessionId}", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> closeSession(@PathVariable String sessionId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("closed", latexCompileService.closeSession(userKey(authHeader), sessionId));
+        response.put("success", true);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Queue a compile job and return its id immediately. For a signed-in user
+     * completion is pushed to /user/queue/latex/jobs; the job can be polled via
+     * GET /compile/jobs/{jobId} with the same Authorization header.
+     */
+    @PostMapping(value = "/compile/jobs", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> submitCompileJob(@RequestBody Map<String, Object> request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Object codeObj = request.get("latexCode");
+        if (codeObj == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "'latexCode' is required");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        Object templateObj = request.get("templateType");
+        CompileOptions options = CompileOptions.defaults()
+                .templateType(templateObj == null ? null : templateObj.toString())
+                .userKey(userKey(authHeader))
+                .priority(CompilePriority.forRequest(request.get("priority"), CompilePriority.BATCH));
+        try {
+            LatexCompileJobService.CompileJob job = compileJobService.submit(codeObj.toString(), options);
+            systemStatsService.incrementPdfCompilations();
+            Map<String, Object> response = job.toSummary();
+            response.put("statusUrl", "/api/latex/compile/jobs/" + job.getId());
+            response.put("pdfUrl", "/api/latex/compile/jobs/" + job.getId() + "/pdf");
+            if (options.getUserKey() != null) {
+                response.put("destination", "/user" + LatexCompileJobService.RESULT_DESTINATION);
+            }
+            response.put("success", true);
+            return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+        } catch (RejectedExecutionException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Compile queue full");
+            error.put("message", "Server is currently busy compiling other resumes. Please try again in a moment.");
+            return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Poll the status of one of the caller's compile jobs.
+     */
+    @GetMapping(value = "/compile/jobs/{jobId}", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> getCompileJob(@PathVariable String jobId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        LatexCompileJobService.CompileJob job = ownJob(jobId, authHeader);
+        if (job == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Not found");
+            error.put("message", "Unknown or expired compile job: " + jobId);
+            return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(job.toSummary(), HttpStatus.OK);
+    }
+
+    /**
+     * Download the PDF of one of the caller's finished compile jobs.
+     */
+    @GetMapping("/compile/jobs/{jobId}/pdf")
+    public ResponseEntity<?> getCompileJobPdf(@PathVariable String jobId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        LatexCompileJobService.CompileJob job = ownJob(jobId, authHeader);
+        if (job == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Not found");
+            error.put("message", "Unknown or expired compile job: " + jobId);
+            return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        }
+        if (job.getStatus() != LatexCompileJobService.Status.SUCCEEDED) {
+            return new ResponseEntity<>(job.toSummary(), HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.ok()
+                .header("Content-Type", "application/pdf")
+                .header("Content-Disposition", "inline; filename=resume.pdf")
+                .header("X-Pdf-Hash", thumbnailService.register(job.getPdf()))
+                .body(job.getPdf());
+    }
+
+    /**
+     * PNG thumbnail of one page of a compiled PDF, addressed by the hash from a
+     * compile response's X-Pdf-Hash header. The image never changes for a hash,
+     * so it may be cached indefinitely.
+     */
+    @GetMapping("/preview/{hash}.png")
+    public ResponseEntity<?> getPreview(@PathVariable String hash,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "" + PdfThumbnailService.DEFAULT_DPI) int dpi) {
+        if (!PDF_HASH.matcher(hash).matches()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid input");
+            error.put("message", "Expected a SHA-256 PDF hash");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        try {
+            byte[] png = thumbnailService.renderPng(hash, page, dpi);
+            if (png == null) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "Not found");
+                error.put("message", "Unknown or expired PDF: " + hash);
+                return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok()
+                    .header("Content-Type", "image/png")
+                    .header("Cache-Control", "public, max-age=31536000, immutable")
+                    .body(png);
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Preview failed");
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Check LaTeX compiler readiness and return diagnostics.
      */
@@ -177,4 +584,38 @@ public class LatexController {
             return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * 422 for a document the compiler rejected, with the parsed diagnostics so
+     * the editor can mark the offending lines.
+     */
+    private ResponseEntity<Map<String, Object>> documentRejected(LatexCompileException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Compilation failed");
+        error.put("message", e.getMessage());
+        error.put("diagnostics", e.getDiagnostics());
+        error.put("log", e.getLog());
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * The job, if it exists and was submitted by the caller. Someone else's job
+     * looks the same as a missing one.
+     */
+    private LatexCompileJobService.CompileJob ownJob(String jobId, String authHeader) {
+        LatexCompileJobService.CompileJob job = compileJobService.getJob(jobId);
+        return job != null && job.isOwnedBy(userKey(authHeader)) ? job : null;
+    }
+
+    /**
+     * User a compile is charged to for fair sharing; anonymous (null) without a
+     * valid token.
+     */
+    private String userKey(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = authHeader.substring(7);
+        return jwtUtil.validateToken(token) ? jwtUtil.getEmailFromToken(token) : null;
+    }
 }
@@ -0,0 +1,69 @@
+package com.Backend.AI_Resume_Builder_Backend.Controller;
+
+import com.Backend.AI_Resume_Builder_Backend.Security.JwtUtil;
+import com.Backend.AI_Resume_Builder_Backend.Service.LiveCompileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Live preview over STOMP. The editor sends
+ * {@code {sessionId, latexCode, templateType, seq}} to
+ * {@code /app/latex/live-compile} and subscribes to
+ * {@code /user/queue/latex/live-compile} for results.
+ */
+@Controller
+public class LiveCompileController {
+
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    @Autowired
+    private LiveCompileService liveCompileService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MessageMapping("/latex/live-compile")
+    public void liveCompile(@Payload Map<String, Object> request,
+            @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String connectionId,
+            @Header(value = "Authorization", required = false) String authHeader) {
+        Object seq = request.get("seq");
+        Object sessionId = request.get("sessionId");
+        Object latexCode = request.get("latexCode");
+        if (sessionId == null || !SESSION_ID.matcher(sessionId.toString()).matches()) {
+            liveCompileService.pushError(connectionId, seq, "Invalid sessionId");
+            return;
+        }
+        if (!(latexCode instanceof String code) || code.trim().isEmpty()) {
+            liveCompileService.pushError(connectionId, seq, "LaTeX code is required");
+            return;
+        }
+        String templateType = request.get("templateType") == null ? null : request.get("templateType").toString();
+        liveCompileService.submit(connectionId, sessionId.toString(), code, templateType, userKey(authHeader), seq);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        liveCompileService.disconnect(event.getSessionId());
+    }
+
+    /**
+     * User a compile is charged to for fair sharing; the token is read from
+     * the Authorization header of the STOMP frame.
+     */
+    private String userKey(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = authHeader.substring(7);
+        return jwtUtil.validateToken(token) ? jwtUtil.getEmailFromToken(token) : null;
+    }
+}
@@ -1,10 +1,13 @@
 package com.Backend.AI_Resume_Builder_Backend.Controller;
 
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +32,8 @@ import org.springframework.web.multipart.MultipartFile;
 @RestController
 @RequestMapping("/api/resume")
 public class resumeController {
+	private static final Logger log = LoggerFactory.getLogger(resumeController.class);
+
 	@Autowired
 	private ResumeService resumeService;
 
@@ -45,7 +50,7 @@ public class resumeController {
 	private ResumeRepository resumeRepository;
 
 	@PostMapping("/generate")
-	public ResponseEntity<Map<String, Object>> getResumeData(
+	public CompletableFuture<ResponseEntity<Map<String, Object>>> getResumeData(
 			@RequestBody ResumeRequest resumeRequest,
 			@RequestHeader(value = "Authorization", required = false) String authHeader) {
 		try {
@@ -55,7 +60,7 @@ public class resumeController {
 				Map<String, Object> errorResponse = new HashMap<>();
 				errorResponse.put("error", "Invalid input");
 				errorResponse.put("message", "User resume description is required");
-				return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+				return CompletableFuture.completedFuture(new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST));
 			}
 
 			// Get template type from request, default to "modern" if not provided
@@ -77,26 +82,22 @@ public class resumeController {
 				}
 			}
 
-			Map<String, Object> jsonObject = resumeService
-					.generateResumeResponse(resumeRequest.getUserResumeDescription(), templateType);
-			return new ResponseEntity<>(jsonObject, HttpStatus.OK);
-		} catch (IOException e) {
-			Map<String, Object> errorResponse = new HashMap<>();
-			errorResponse.put("error", "Failed to load prompt template");
-			errorResponse.put("message", e.getMessage());
-			e.printStackTrace(); // Add logging for debugging
-			return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+			// Generation failures come back as an error map, as before
+			return resumeService
+					.generateResumeResponseAsync(resumeRequest.getUserResumeDescription(), templateType)
+					.thenApply(jsonObject -> new ResponseEntity<>(jsonObject, HttpStatus.OK));
 		} catch (Exception e) {
 			Map<String, Object> errorResponse = new HashMap<>();
 			errorResponse.put("error", "Internal server error");
 			errorResponse.put("message", e.getMessage());
 			// Avoid returning raw stacktrace in API responses; log it server-side instead.
-			return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+			return CompletableFuture.completedFuture(
+					new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR));
 		}
 	}
 
 	@PostMapping("/ats-score")
-	public ResponseEntity<Map<String, Object>> getAtsScore(
+	public CompletableFuture<ResponseEntity<Map<String, Object>>> getAtsScore(
 			@RequestParam MultipartFile file,
 			@RequestParam(required = false) String jobDescription) {
 		try {
@@ -104,17 +105,23 @@ public class resumeController {
 				Map<String, Object> errorResponse = new HashMap<>();
 				errorResponse.put("error", "Invalid input");
 				errorResponse.put("message", "File is required");
-				return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+				return CompletableFuture.completedFuture(new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST));
 			}
 
-			Map<String, Object> atsScore = atsScoreService.getAtsScore(file, jobDescription);
-			return new ResponseEntity<>(atsScore, HttpStatus.OK);
+			return atsScoreService.getAtsScoreAsync(file, jobDescription)
+					.handle((atsScore, e) -> e == null
+							? new ResponseEntity<>(atsScore, HttpStatus.OK)
+							: atsScoreError(e instanceof CompletionException ? e.getCause() : e));
 		} catch (Exception e) {
-			Map<String, Object> errorResponse = new HashMap<>();
-			errorResponse.put("error", "Internal server error");
-			errorResponse.put("message", e.getMessage());
-			e.printStackTrace();
-			return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+			return CompletableFuture.completedFuture(atsScoreError(e));
 		}
 	}
+
+	private static ResponseEntity<Map<String, Object>> atsScoreError(Throwable e) {
+		Map<String, Object> errorResponse = new HashMap<>();
+		errorResponse.put("error", "Internal server error");
+		errorResponse.put("message", e.getMessage());
+		log.error("ATS score request failed", e);
+		return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+	}
 }
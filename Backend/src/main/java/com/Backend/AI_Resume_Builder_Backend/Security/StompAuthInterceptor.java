@@ -0,0 +1,64 @@
+package com.Backend.AI_Resume_Builder_Backend.Security;
+
+import java.security.Principal;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inbound STOMP checks.
+ *
+ * A CONNECT carrying a valid {@code Authorization: Bearer} token makes the
+ * connection belong to that user, so messages sent with
+ * {@code convertAndSendToUser(email, ...)} reach it on {@code /user/queue/...}.
+ * Subscriptions may not use wildcards, and queues can only be subscribed to
+ * through {@code /user}, so no client can listen in on another's messages.
+ */
+@Component
+public class StompAuthInterceptor implements ChannelInterceptor {
+
+    private final JwtUtil jwtUtil;
+
+    public StompAuthInterceptor(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String email = email(accessor.getFirstNativeHeader("Authorization"));
+            if (email != null) {
+                Principal user = () -> email;
+                accessor.setUser(user);
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (destination == null || destination.contains("*") || destination.contains("?")
+                    || destination.contains("{")) {
+                throw new MessageDeliveryException("Subscription patterns are not allowed: " + destination);
+            }
+            if (destination.startsWith("/queue/")) {
+                throw new MessageDeliveryException("Subscribe to /user" + destination + " instead");
+            }
+        }
+        return message;
+    }
+
+    private String email(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = authHeader.substring(7);
+        return jwtUtil.validateToken(token) ? jwtUtil.getEmailFromToken(token) : null;
+    }
+}
@@ -0,0 +1,150 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Number of compiles allowed to run at once, adjusted from observed latency.
+ *
+ * Additive increase, multiplicative decrease: every compile reports how long
+ * it held its slot. A short moving average of that time is compared with a
+ * long one; once per "limit" samples the limit shrinks by the backoff factor
+ * if the short average has risen above the long one by more than the
+ * tolerance, or if the host CPU is saturated, and otherwise grows by one
+ * provided the current limit was actually in use. The long average follows
+ * sustained changes, so a host that is simply slower settles at a new level
+ * instead of shrinking forever.
+ */
+@Component
+public class AdaptiveCompileLimit implements InitializingBean {
+
+    @Value("${latex.limit.adaptive:true}")
+    private boolean adaptive;
+
+    @Value("${latex.compile.max-concurrent:5}")
+    private int initialLimit;
+
+    @Value("${latex.limit.min:1}")
+    private int minLimit;
+
+    // 0 = the number of cores, but never below the initial limit
+    @Value("${latex.limit.max:0}")
+    private int maxLimit;
+
+    @Value("${latex.limit.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${latex.limit.backoff:0.9}")
+    private double backoff;
+
+    @Value("${latex.limit.cpu-threshold:0.9}")
+    private double cpuThreshold;
+
+    @Value("${latex.limit.short-window:10}")
+    private int shortWindow;
+
+    @Value("${latex.limit.long-window:200}")
+    private int longWindow;
+
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    private volatile int limit;
+    private double shortRttMs;
+    private double longRttMs;
+    private int samplesSinceAdjust;
+    private int peakInFlight;
+    private long samples;
+    private long increases;
+    private long decreases;
+    private double lastCpuLoad;
+
+    @Override
+    public void afterPropertiesSet() {
+        minLimit = Math.max(1, minLimit);
+        if (maxLimit <= 0) {
+            maxLimit = Math.max(initialLimit, Runtime.getRuntime().availableProcessors());
+        }
+        maxLimit = Math.max(minLimit, maxLimit);
+        limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Record a finished compile.
+     *
+     * @param rttNanos how long the compile held its slot
+     * @param inFlight slots in use when it was granted, itself included
+     * @return whether the limit changed
+     */
+    public synchronized boolean onSample(long rttNanos, int inFlight) {
+        double rttMs = rttNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        samples++;
+        if (longRttMs == 0) {
+            shortRttMs = rttMs;
+            longRttMs = rttMs;
+        } else {
+            shortRttMs += (rttMs - shortRttMs) / Math.max(1, shortWindow);
+            longRttMs += (rttMs - longRttMs) / Math.max(1, longWindow);
+        }
+        peakInFlight = Math.max(peakInFlight, inFlight);
+        if (!adaptive || ++samplesSinceAdjust < limit) {
+            return false;
+        }
+
+        int previous = limit;
+        lastCpuLoad = cpuLoad();
+        if (shortRttMs > longRttMs * tolerance || lastCpuLoad > cpuThreshold) {
+            limit = Math.max(minLimit, Math.min(limit - 1, (int) Math.floor(limit * backoff)));
+        } else if (peakInFlight >= limit) {
+            // only grow a limit that was the bottleneck
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if (limit < previous) {
+            decreases++;
+        } else if (limit > previous) {
+            increases++;
+        }
+        samplesSinceAdjust = 0;
+        peakInFlight = 0;
+        return limit != previous;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("adaptive", adaptive);
+        stats.put("limit", limit);
+        stats.put("min", minLimit);
+        stats.put("max", maxLimit);
+        stats.put("samples", samples);
+        stats.put("increases", increases);
+        stats.put("decreases", decreases);
+        stats.put("shortRttMs", Math.round(shortRttMs));
+        stats.put("longRttMs", Math.round(longRttMs));
+        stats.put("cpuLoad", lastCpuLoad);
+        return stats;
+    }
+
+    /**
+     * Host CPU usage between 0 and 1, falling back to the load average per core.
+     */
+    private double cpuLoad() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean hotspot) {
+            double load = hotspot.getCpuLoad();
+            if (load >= 0) {
+                return load;
+            }
+        }
+        double average = os.getSystemLoadAverage();
+        return average < 0 ? 0 : average / os.getAvailableProcessors();
+    }
+}
@@ -4,9 +4,21 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface AtsScoreService {
     Map<String, Object> getAtsScore(MultipartFile resumeFile) throws IOException;
 
     Map<String, Object> getAtsScore(MultipartFile resumeFile, String jobDescription) throws IOException;
+
+    /**
+     * Same as {@link #getAtsScore(MultipartFile, String)}, without holding the
+     * caller's thread while Gemini responds. The PDF is read before this
+     * returns, so the upload need not outlive the call.
+     *
+     * @throws IOException if the PDF or the prompt cannot be read; analysis
+     *                     failures complete the future exceptionally
+     */
+    CompletableFuture<Map<String, Object>> getAtsScoreAsync(MultipartFile resumeFile, String jobDescription)
+            throws IOException;
 }
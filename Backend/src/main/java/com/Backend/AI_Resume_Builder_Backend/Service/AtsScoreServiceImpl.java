@@ -10,8 +10,12 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +45,19 @@ public class AtsScoreServiceImpl implements AtsScoreService {
 
     @Override
     public Map<String, Object> getAtsScore(MultipartFile resumeFile, String jobDescription) throws IOException {
+        try {
+            return getAtsScoreAsync(resumeFile, jobDescription).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getAtsScoreAsync(MultipartFile resumeFile, String jobDescription)
+            throws IOException {
         String resumeText = extractTextFromPdf(resumeFile);
         String promptTemplate = resumeService.loadPromptFromFile("ats_prompt.txt");
 
@@ -59,40 +76,55 @@ public class AtsScoreServiceImpl implements AtsScoreService {
         }
 
         String prompt = resumeService.putValueToTemplate(promptTemplate, values);
+        return analyze(prompt, 1, null);
+    }
 
-        // Retry up to MAX_RETRIES times with exponential backoff
-        Map<String, Object> result = null;
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
+    /**
+     * One analysis attempt; retries up to MAX_RETRIES times with exponential
+     * backoff while the response is empty, fails or lacks required keys.
+     *
+     * @param lastResult the most recent parsed (but incomplete) result, if any
+     */
+    private CompletableFuture<Map<String, Object>> analyze(String prompt, int attempt,
+            Map<String, Object> lastResult) {
+        return geminiService.generateContentAsync(prompt).handle((responseOpt, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                log.warn("ATS analysis attempt {} failed: {}", attempt,
+                        cause instanceof TimeoutException ? "timed out" : cause.getMessage());
+                return lastResult;
+            }
+            if (responseOpt.isEmpty()) {
+                log.warn("ATS analysis attempt {} returned empty response, retrying...", attempt);
+                return lastResult;
+            }
             try {
-                Optional<String> responseOpt = geminiService.generateContent(prompt);
-                if (responseOpt.isEmpty()) {
-                    log.warn("ATS analysis attempt {} returned empty response, retrying...", attempt);
-                    sleepWithBackoff(attempt);
-                    continue;
+                Map<String, Object> parsed = resumeService.parseMultipleResponses(responseOpt.get());
+                if (parsed != null && !isValidAtsResponse(parsed)) {
+                    // Log which keys are missing
+                    log.warn("ATS response missing keys {} on attempt {}, retrying...", getMissingKeys(parsed), attempt);
                 }
-
-                String response = responseOpt.get();
-                result = resumeService.parseMultipleResponses(response);
-
-                if (isValidAtsResponse(result)) {
-                    log.info("ATS analysis succeeded on attempt {}", attempt);
-                    logSafeAtsMetadata(result);
-                    return result;
-                }
-
-                // Log which keys are missing
-                List<String> missingKeys = getMissingKeys(result);
-                log.warn("ATS response missing keys {} on attempt {}, retrying...", missingKeys, attempt);
-
+                return parsed;
             } catch (Exception e) {
                 log.warn("ATS analysis attempt {} failed: {}", attempt, e.getMessage());
+                return lastResult;
+            }
+        }).thenCompose(result -> {
+            if (isValidAtsResponse(result)) {
+                log.info("ATS analysis succeeded on attempt {}", attempt);
+                logSafeAtsMetadata(result);
+                return CompletableFuture.completedFuture(result);
             }
-
             if (attempt < MAX_RETRIES) {
-                sleepWithBackoff(attempt);
+                Executor backoff = CompletableFuture.delayedExecutor(backoffMillis(attempt), TimeUnit.MILLISECONDS);
+                return CompletableFuture.supplyAsync(() -> result, backoff)
+                        .thenCompose(last -> analyze(prompt, attempt + 1, last));
             }
-        }
+            return CompletableFuture.completedFuture(finish(result));
+        });
+    }
 
+    private Map<String, Object> finish(Map<String, Object> result) {
         // Return last result even if imperfect, with a warning flag
         if (result != null) {
             List<String> missingKeys = getMissingKeys(result);
@@ -103,18 +135,15 @@ public class AtsScoreServiceImpl implements AtsScoreService {
             }
             return result;
         }
-        throw new IOException("Failed to get valid ATS analysis after " + MAX_RETRIES + " attempts");
+        throw new CompletionException(
+                new IOException("Failed to get valid ATS analysis after " + MAX_RETRIES + " attempts"));
     }
 
-    private void sleepWithBackoff(int attempt) {
-        try {
-            // Exponential backoff: 1s, 2s, 4s... + random jitter (0-500ms)
-            long delay = BASE_DELAY_MS * (1L << (attempt - 1));
-            long jitter = ThreadLocalRandom.current().nextLong(500);
-            Thread.sleep(delay + jitter);
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-        }
+    private long backoffMillis(int attempt) {
+        // Exponential backoff: 1s, 2s, 4s... + random jitter (0-500ms)
+        long delay = BASE_DELAY_MS * (1L << (attempt - 1));
+        long jitter = ThreadLocalRandom.current().nextLong(500);
+        return delay + jitter;
     }
 
     private void logSafeAtsMetadata(Map<String, Object> result) {
@@ -0,0 +1,117 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe LRU map of byte[] values bounded by the total number of bytes
+ * held rather than by entry count. Used for compiled PDFs and rendered
+ * previews, where a handful of large entries matter more than many small ones.
+ */
+public class ByteBoundedLruCache<K> {
+
+    private final long maxBytes;
+    private final LinkedHashMap<K, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ByteBoundedLruCache(long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    public synchronized byte[] get(K key) {
+        byte[] value = entries.get(key);
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Insert a value, evicting least recently used entries until the cache fits.
+     * Values larger than the whole budget are not cached at all.
+     */
+    public synchronized void put(K key, byte[] value) {
+        if (value == null || value.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(key, value);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += value.length;
+
+        Iterator<Map.Entry<K, byte[]>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<K, byte[]> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            currentBytes -= eldest.getValue().length;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Insert a value unless the key is already cached, in which case the entry
+     * only becomes most recently used. Neither case counts as a hit or miss.
+     *
+     * @return whether the value was inserted
+     */
+    public synchronized boolean putIfAbsent(K key, byte[] value) {
+        if (entries.get(key) != null) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized void remove(K key) {
+        byte[] previous = entries.remove(key);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", currentBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+}
@@ -0,0 +1,16 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a compile was cancelled because a newer compile of the same
+ * editor session replaced it.
+ */
+public class CompileCancelledException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CompileCancelledException(String message) {
+        super(message);
+    }
+}
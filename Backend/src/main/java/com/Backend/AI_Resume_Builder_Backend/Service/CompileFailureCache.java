@@ -0,0 +1,81 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived memory of sources the compiler rejected, keyed like
+ * {@link CompiledPdfCache}. Submitting the same broken document again within
+ * the TTL returns its diagnostics without starting a compiler. Only document
+ * errors are remembered; timeouts and busy servers are not.
+ */
+@Component
+public class CompileFailureCache {
+
+    @Value("${latex.compile.failure-cache-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${latex.compile.failure-cache-max-entries:500}")
+    private int maxEntries;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+
+    private record Entry(String log, java.util.List<LatexDiagnostic> diagnostics, long expiresAt) {
+    }
+
+    /**
+     * @return a fresh exception equal to the remembered failure, or
+     *         {@code null} if the key has none (or it expired)
+     */
+    public LatexCompileException get(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+        }
+        hits.incrementAndGet();
+        return new LatexCompileException(entry.log, entry.diagnostics);
+    }
+
+    public void put(String key, LatexCompileException failure) {
+        if (ttlSeconds <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            entries.put(key, new Entry(failure.getLog(), failure.getDiagnostics(), now + ttlSeconds * 1000));
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext() && entries.size() > Math.max(1, maxEntries)) {
+                it.next();
+                it.remove();
+            }
+        }
+        stored.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hits.get());
+        stats.put("stored", stored.get());
+        return stats;
+    }
+}
@@ -0,0 +1,50 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+/**
+ * Per-request settings for {@link LatexCompileService#compileToPdf(String, CompileOptions)}.
+ */
+public class CompileOptions {
+
+    private String templateType; // template the source was generated from, if known
+    private String userKey; // user the compile is charged to for fair sharing; null = anonymous
+    private CompilePriority priority; // scheduling lane; null = DOWNLOAD
+    private String sessionId; // editor session; a newer INTERACTIVE compile of it supersedes this one
+
+    public CompileOptions() {}
+
+    public static CompileOptions defaults() {
+        return new CompileOptions();
+    }
+
+    public String getTemplateType() { return templateType; }
+    public void setTemplateType(String templateType) { this.templateType = templateType; }
+
+    public String getUserKey() { return userKey; }
+    public void setUserKey(String userKey) { this.userKey = userKey; }
+
+    public CompilePriority getPriority() { return priority; }
+    public void setPriority(CompilePriority priority) { this.priority = priority; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public CompileOptions templateType(String templateType) {
+        this.templateType = templateType;
+        return this;
+    }
+
+    public CompileOptions userKey(String userKey) {
+        this.userKey = userKey;
+        return this;
+    }
+
+    public CompileOptions priority(CompilePriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public CompileOptions sessionId(String sessionId) {
+        this.sessionId = sessionId;
+        return this;
+    }
+}
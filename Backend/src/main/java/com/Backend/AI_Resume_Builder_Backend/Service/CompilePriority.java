@@ -0,0 +1,39 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+/**
+ * Priority class of a compile. Each class has its own reserved slots and
+ * timeouts in {@link FairShareCompileScheduler}; free slots go to the classes
+ * in declaration order.
+ */
+public enum CompilePriority {
+    /** Live preview while typing; superseded by the next compile of the same session. */
+    INTERACTIVE,
+    /** A PDF the user is waiting to download. */
+    DOWNLOAD,
+    /** Background work such as queued jobs and multi-template exports. */
+    BATCH;
+
+    /**
+     * Parse a request value, falling back to {@code defaultValue} when it is
+     * missing or unknown.
+     */
+    public static CompilePriority parse(Object value, CompilePriority defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return valueOf(value.toString().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Lane for a request to an endpoint that runs in {@code lane}. The client
+     * may ask for a lower lane for its own compile, but never a higher one.
+     */
+    public static CompilePriority forRequest(Object value, CompilePriority lane) {
+        CompilePriority requested = parse(value, lane);
+        return requested.compareTo(lane) > 0 ? requested : lane;
+    }
+}
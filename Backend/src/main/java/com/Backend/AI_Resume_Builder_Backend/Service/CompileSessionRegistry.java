@@ -0,0 +1,215 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live-preview compile sessions.
+ *
+ * Each editor session gets its own workspace that survives between compiles, so
+ * {@code .aux}, {@code .out} and {@code .toc} from the previous run are still
+ * there and an unchanged document needs a single pass. Sessions that sit idle
+ * are removed by a periodic sweep, and the least recently used one is evicted
+ * when the session limit is reached.
+ */
+@Component
+public class CompileSessionRegistry implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CompileSessionRegistry.class);
+
+    @Value("${latex.session.idle-timeout-seconds:600}")
+    private long idleTimeoutSeconds;
+
+    @Value("${latex.session.max-sessions:200}")
+    private int maxSessions;
+
+    @Autowired
+    private CompileWorkspacePool workspacePool;
+
+    private final ConcurrentHashMap<String, CompileSession> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong singlePass = new AtomicLong();
+    private final AtomicLong multiPass = new AtomicLong();
+
+    /**
+     * Key of a session: session ids are chosen by the client, so they are only
+     * unique per user. Ids cannot contain '/', which keeps the key unambiguous.
+     *
+     * @param owner user the session belongs to; {@code null} for anonymous
+     */
+    public static String scopedId(String owner, String id) {
+        return (owner == null ? "" : owner) + "/" + id;
+    }
+
+    /**
+     * Workspace and bookkeeping of one editor session. Callers hold
+     * {@link #lock()} while compiling in it.
+     */
+    public static class CompileSession {
+        private final String owner;
+        private final String id;
+        private final Path dir;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile boolean closed;
+        private int compiles;
+
+        CompileSession(String owner, String id, Path dir) {
+            this.owner = owner;
+            this.id = id;
+            this.dir = dir;
+        }
+
+        public String getOwner() { return owner; }
+        public String getId() { return id; }
+        public Path getDir() { return dir; }
+        public ReentrantLock lock() { return lock; }
+        public boolean isClosed() { return closed; }
+        public int getCompiles() { return compiles; }
+
+        void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (CompileSession session : sessions.values()) {
+            close(session.owner, session.id);
+        }
+    }
+
+    /**
+     * Return the user's session with this id, opening a new one if needed. The
+     * returned session may be closed concurrently; callers check
+     * {@link CompileSession#isClosed()} after taking its lock.
+     *
+     * @param owner user the session belongs to; {@code null} for anonymous
+     */
+    public CompileSession open(String owner, String id) throws IOException {
+        String key = scopedId(owner, id);
+        CompileSession session = sessions.get(key);
+        if (session == null) {
+            if (sessions.size() >= maxSessions) {
+                evictLeastRecentlyUsed();
+            }
+            CompileSession created = new CompileSession(owner, id, workspacePool.createDedicated());
+            session = sessions.putIfAbsent(key, created);
+            if (session == null) {
+                session = created;
+                opened.incrementAndGet();
+            } else {
+                workspacePool.discard(created.dir);
+            }
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * Record a finished compile in a session.
+     *
+     * @param passes how many compiler passes it took
+     */
+    public void recordCompile(CompileSession session, int passes) {
+        session.compiles++;
+        session.touch();
+        (passes > 1 ? multiPass : singlePass).incrementAndGet();
+    }
+
+    /**
+     * Close one of the user's sessions and delete its workspace, waiting for a
+     * running compile in it to finish first. Another user's session with the
+     * same id is left alone.
+     *
+     * @return whether the user had such a session
+     */
+    public boolean close(String owner, String id) {
+        CompileSession session = sessions.remove(scopedId(owner, id));
+        if (session == null) {
+            return false;
+        }
+        session.lock.lock();
+        try {
+            session.closed = true;
+            workspacePool.discard(session.dir);
+        } finally {
+            session.lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Close sessions that have not compiled within the idle timeout. Sessions
+     * in the middle of a compile are left for the next sweep.
+     */
+    @Scheduled(initialDelayString = "${latex.session.sweep-interval-ms:60000}",
+            fixedDelayString = "${latex.session.sweep-interval-ms:60000}")
+    public void expireIdle() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        int count = 0;
+        for (CompileSession session : sessions.values()) {
+            if (session.lastUsed < cutoff && closeIfIdle(session)) {
+                count++;
+            }
+        }
+        if (count > 0) {
+            expired.addAndGet(count);
+            log.debug("Expired {} idle LaTeX compile sessions", count);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("active", sessions.size());
+        stats.put("maxSessions", maxSessions);
+        stats.put("opened", opened.get());
+        stats.put("expired", expired.get());
+        stats.put("singlePassCompiles", singlePass.get());
+        stats.put("multiPassCompiles", multiPass.get());
+        return stats;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        sessions.values().stream()
+                .filter(s -> !s.lock.isLocked())
+                .min((a, b) -> Long.compare(a.lastUsed, b.lastUsed))
+                .ifPresent(s -> {
+                    if (closeIfIdle(s)) {
+                        expired.incrementAndGet();
+                    }
+                });
+    }
+
+    private boolean closeIfIdle(CompileSession session) {
+        if (!session.lock.tryLock()) {
+            return false;
+        }
+        try {
+            if (!sessions.remove(scopedId(session.owner, session.id), session)) {
+                return false;
+            }
+            session.closed = true;
+            workspacePool.discard(session.dir);
+            return true;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Pool of reusable compile directories.
+ *
+ * Instead of creating and recursively deleting a temp directory per compile, a
+ * workspace is handed out, wiped with a single directory listing when it comes
+ * back, and kept for the next compile. The root can point at a tmpfs such as
+ * {@code /dev/shm} to keep compile I/O in RAM. Workspace names carry the owning
+ * JVM's pid, which lets the sweeper remove directories left behind by a JVM
+ * that crashed.
+ */
+@Component
+public class CompileWorkspacePool implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CompileWorkspacePool.class);
+
+    private static final String PREFIX = "latex_compile_";
+    private static final Pattern OWNED_NAME = Pattern.compile(PREFIX + "(\\d+)_\\d+");
+
+    @Value("${latex.workspace.root:}")
+    private String workspaceRoot;
+
+    @Value("${latex.workspace.pool-size:8}")
+    private int poolSize;
+
+    @Value("${latex.workspace.orphan-max-age-minutes:30}")
+    private long orphanMaxAgeMinutes;
+
+    private Path root;
+    private final long pid = ProcessHandle.current().pid();
+    private final AtomicInteger counter = new AtomicInteger();
+    private BlockingQueue<Path> idle;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong orphansRemoved = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        root = (workspaceRoot == null || workspaceRoot.isBlank())
+                ? Path.of(System.getProperty("java.io.tmpdir"))
+                : Path.of(workspaceRoot.trim());
+        Files.createDirectories(root);
+        idle = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    @Override
+    public void destroy() {
+        Path dir;
+        while ((dir = idle.poll()) != null) {
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * Take an empty workspace, creating one if the pool is drained.
+     */
+    public Path acquire() throws IOException {
+        Path dir = idle.poll();
+        if (dir != null && Files.isDirectory(dir)) {
+            reused.incrementAndGet();
+            return dir;
+        }
+        created.incrementAndGet();
+        return Files.createDirectories(root.resolve(PREFIX + pid + "_" + counter.incrementAndGet()));
+    }
+
+    /**
+     * Create a workspace outside the pool for a caller that keeps its contents
+     * between compiles. It is still named after this JVM, so the sweeper cleans
+     * it up after a crash; hand it back with {@link #discard(Path)}.
+     */
+    public Path createDedicated() throws IOException {
+        created.incrementAndGet();
+        return Files.createDirectories(root.resolve(PREFIX + pid + "_" + counter.incrementAndGet()));
+    }
+
+    /**
+     * Delete a workspace obtained from {@link #createDedicated()}.
+     */
+    public void discard(Path dir) {
+        if (dir != null) {
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * Wipe a workspace and return it to the pool; surplus or unwipeable
+     * workspaces are deleted instead.
+     */
+    public void release(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        if (!wipe(dir) || !idle.offer(dir)) {
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * Remove {@code latex_compile_*} directories that no live JVM owns. Pooled
+     * workspaces of a dead pid are removed right away; anything else (including
+     * plain temp directories from older versions) only once it is old enough.
+     */
+    @Scheduled(initialDelayString = "${latex.workspace.sweep-initial-delay-ms:30000}",
+            fixedDelayString = "${latex.workspace.sweep-interval-ms:600000}")
+    public void sweepOrphans() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(orphanMaxAgeMinutes);
+        List<Path> orphans = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root, PREFIX + "*")) {
+            for (Path entry : entries) {
+                if (!Files.isDirectory(entry)) {
+                    continue;
+                }
+                Matcher m = OWNED_NAME.matcher(entry.getFileName().toString());
+                if (m.matches()) {
+                    long owner = Long.parseLong(m.group(1));
+                    if (owner == pid || ProcessHandle.of(owner).map(ProcessHandle::isAlive).orElse(false)) {
+                        continue;
+                    }
+                    orphans.add(entry);
+                } else if (Files.getLastModifiedTime(entry).toMillis() < cutoff) {
+                    orphans.add(entry);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Workspace sweep of {} failed: {}", root, e.getMessage());
+            return;
+        }
+        for (Path orphan : orphans) {
+            deleteRecursively(orphan);
+            orphansRemoved.incrementAndGet();
+        }
+        if (!orphans.isEmpty()) {
+            log.info("Removed {} orphaned LaTeX workspaces from {}", orphans.size(), root);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("root", root.toString());
+        stats.put("idle", idle.size());
+        stats.put("poolSize", poolSize);
+        stats.put("created", created.get());
+        stats.put("reused", reused.get());
+        stats.put("orphansRemoved", orphansRemoved.get());
+        return stats;
+    }
+
+    /**
+     * Delete the contents of a workspace. Compilers write flat output, so this
+     * is normally one directory listing plus a handful of unlinks.
+     */
+    private boolean wipe(Path dir) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                if (Files.isDirectory(entry)) {
+                    deleteRecursively(entry);
+                } else {
+                    Files.deleteIfExists(entry);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteRecursively(Path dir) {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted((a, b) -> b.compareTo(a))
+                    .forEach(p -> {
+                        try {
+                            Files.deleteIfExists(p);
+                        } catch (IOException ignored) {
+                        }
+                    });
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier cache of compiled PDFs.
+ *
+ * Entries are keyed by a SHA-256 of the normalized LaTeX source, the compiler
+ * mode and the template, so an identical document is served without spawning a
+ * compiler. The first tier is an in-memory LRU bounded by bytes; the second is
+ * a directory of {@code <key>.pdf} files that survives restarts.
+ */
+@Component
+public class CompiledPdfCache implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CompiledPdfCache.class);
+
+    @Value("${latex.cache.memory-max-bytes:67108864}")
+    private long memoryMaxBytes;
+
+    @Value("${latex.cache.disk.enabled:true}")
+    private boolean diskEnabled;
+
+    @Value("${latex.cache.disk.dir:}")
+    private String diskDir;
+
+    @Value("${latex.cache.disk.max-bytes:536870912}")
+    private long diskMaxBytes;
+
+    private ByteBoundedLruCache<String> memory;
+    private Path diskRoot;
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        this.memory = new ByteBoundedLruCache<>(memoryMaxBytes);
+        if (!diskEnabled) {
+            return;
+        }
+        try {
+            diskRoot = (diskDir == null || diskDir.isBlank())
+                    ? Path.of(System.getProperty("java.io.tmpdir"), "latex_pdf_cache")
+                    : Path.of(diskDir.trim());
+            Files.createDirectories(diskRoot);
+            try (Stream<Path> files = Files.list(diskRoot)) {
+                diskBytes.set(files.filter(p -> p.toString().endsWith(".pdf"))
+                        .mapToLong(CompiledPdfCache::sizeOf).sum());
+            }
+        } catch (IOException e) {
+            log.warn("PDF disk cache disabled, directory unavailable: {}", e.getMessage());
+            diskRoot = null;
+        }
+    }
+
+    /**
+     * Build the cache key for a compile. Line endings and trailing whitespace are
+     * normalized first because TeX ignores them, so they should not defeat the
+     * cache.
+     */
+    public String key(String latexCode, String compilerMode, String templateType) {
+        MessageDigest digest = sha256();
+        digest.update(normalize(latexCode).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(compilerMode).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(templateType).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public byte[] get(String key) {
+        byte[] pdf = memory.get(key);
+        if (pdf != null) {
+            memoryHits.incrementAndGet();
+            return pdf;
+        }
+        if (diskRoot != null) {
+            Path file = diskRoot.resolve(key + ".pdf");
+            try {
+                pdf = Files.readAllBytes(file);
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                memory.put(key, pdf);
+                diskHits.incrementAndGet();
+                return pdf;
+            } catch (NoSuchFileException ignored) {
+                // fall through to miss
+            } catch (IOException e) {
+                log.debug("PDF disk cache read failed for {}: {}", key, e.getMessage());
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, byte[] pdf) {
+        if (pdf == null || pdf.length == 0) {
+            return;
+        }
+        memory.put(key, pdf);
+        if (diskRoot == null || pdf.length > diskMaxBytes) {
+            return;
+        }
+        Path target = diskRoot.resolve(key + ".pdf");
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Path tmp = Files.createTempFile(diskRoot, key, ".tmp");
+            Files.write(tmp, pdf);
+            long total;
+            synchronized (this) {
+                // a concurrent put of the same key may have written it since the check above
+                long replaced = sizeOf(target);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                total = diskBytes.addAndGet(pdf.length - replaced);
+            }
+            if (total > diskMaxBytes) {
+                trimDisk();
+            }
+        } catch (IOException e) {
+            log.debug("PDF disk cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long memHits = memoryHits.get();
+        long dskHits = diskHits.get();
+        long miss = misses.get();
+        long lookups = memHits + dskHits + miss;
+        stats.put("hits", memHits + dskHits);
+        stats.put("memoryHits", memHits);
+        stats.put("diskHits", dskHits);
+        stats.put("misses", miss);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) (memHits + dskHits) / lookups);
+        stats.put("evictions", memory.getEvictions() + diskEvictions.get());
+        stats.put("memoryEntries", memory.size());
+        stats.put("memoryBytes", memory.getCurrentBytes());
+        stats.put("memoryMaxBytes", memoryMaxBytes);
+        stats.put("diskEnabled", diskRoot != null);
+        stats.put("diskBytes", diskBytes.get());
+        stats.put("diskMaxBytes", diskMaxBytes);
+        return stats;
+    }
+
+    public static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(sha256().digest(data));
+    }
+
+    /**
+     * Drop least recently used disk entries until usage is back under 90% of the
+     * budget.
+     */
+    private synchronized void trimDisk() {
+        if (diskBytes.get() <= diskMaxBytes) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(diskRoot)) {
+            stream.filter(p -> p.toString().endsWith(".pdf")).forEach(files::add);
+        } catch (IOException e) {
+            return;
+        }
+        files.sort((a, b) -> Long.compare(lastModified(a), lastModified(b)));
+        long target = (long) (diskMaxBytes * 0.9);
+        long total = files.stream().mapToLong(CompiledPdfCache::sizeOf).sum();
+        for (Path file : files) {
+            if (total <= target) {
+                break;
+            }
+            long size = sizeOf(file);
+            try {
+                if (Files.deleteIfExists(file)) {
+                    total -= size;
+                    diskEvictions.incrementAndGet();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+        diskBytes.set(total);
+    }
+
+    private static String normalize(String source) {
+        if (source == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(source.length());
+        int lineEnd = 0; // length of sb up to the last non-blank character on the current line
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\r') {
+                if (i + 1 < source.length() && source.charAt(i + 1) == '\n') {
+                    continue;
+                }
+                c = '\n';
+            }
+            if (c == '\n') {
+                sb.setLength(lineEnd);
+                sb.append('\n');
+                lineEnd = sb.length();
+            } else {
+                sb.append(c);
+                if (c != ' ' && c != '\t') {
+                    lineEnd = sb.length();
+                }
+            }
+        }
+        sb.setLength(lineEnd);
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == '\n') {
+            end--;
+        }
+        sb.setLength(end);
+        return sb.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
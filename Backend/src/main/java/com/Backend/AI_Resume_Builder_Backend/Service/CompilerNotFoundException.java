@@ -0,0 +1,23 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a LaTeX compiler executable cannot be started at all, as opposed
+ * to a compiler that ran and rejected the document.
+ */
+public class CompilerNotFoundException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String compiler;
+
+    public CompilerNotFoundException(String compiler, String message, Throwable cause) {
+        super(message, cause);
+        this.compiler = compiler;
+    }
+
+    public String getCompiler() {
+        return compiler;
+    }
+}
@@ -0,0 +1,264 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs external TeX processes under supervision.
+ *
+ * Output is drained on a virtual thread into a bounded ring buffer, so a chatty
+ * compiler can neither block on a full pipe nor grow memory without limit. A
+ * watchdog kills the whole process tree when the deadline passes, and while the
+ * process runs it is sampled for CPU time and resident memory.
+ */
+@Component
+public class CompilerProcessRunner implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CompilerProcessRunner.class);
+
+    @Value("${latex.compile.output-buffer-bytes:65536}")
+    private int outputBufferBytes;
+
+    @Value("${latex.compile.sample-interval-ms:100}")
+    private long sampleIntervalMs;
+
+    private final ScheduledExecutorService watchdog = Executors.newScheduledThreadPool(2, r -> {
+        Thread t = new Thread(r, "latex-process-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalCpuMs = new AtomicLong();
+    private final AtomicLong totalWallMs = new AtomicLong();
+    private final AtomicLong maxPeakRssKb = new AtomicLong();
+    private volatile ProcessResult lastResult;
+
+    /**
+     * Outcome of one supervised process run.
+     */
+    public static class ProcessResult {
+        private final int exitCode;
+        private final String output;
+        private final boolean timedOut;
+        private final long wallMs;
+        private final long cpuMs;
+        private final long peakRssKb;
+
+        ProcessResult(int exitCode, String output, boolean timedOut, long wallMs, long cpuMs, long peakRssKb) {
+            this.exitCode = exitCode;
+            this.output = output;
+            this.timedOut = timedOut;
+            this.wallMs = wallMs;
+            this.cpuMs = cpuMs;
+            this.peakRssKb = peakRssKb;
+        }
+
+        public int getExitCode() { return exitCode; }
+        public String getOutput() { return output; }
+        public boolean isTimedOut() { return timedOut; }
+        public long getWallMs() { return wallMs; }
+        public long getCpuMs() { return cpuMs; }
+        public long getPeakRssKb() { return peakRssKb; }
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Start a process and wait for it, killing its whole tree at the deadline.
+     *
+     * @throws IOException          if the executable cannot be started
+     * @throws InterruptedException if the caller is interrupted; the process tree
+     *                              is killed first
+     */
+    public ProcessResult run(List<String> cmd, Path workDir, Map<String, String> env, Duration timeout)
+            throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.directory(workDir.toFile());
+        pb.redirectErrorStream(true);
+        pb.environment().putAll(env);
+
+        long start = System.nanoTime();
+        Process process = pb.start();
+
+        RingBuffer output = new RingBuffer(outputBufferBytes);
+        Thread pump = Thread.ofVirtual().name("latex-output-" + process.pid()).start(() -> {
+            try (InputStream is = process.getInputStream()) {
+                byte[] buf = new byte[8192];
+                int n;
+                while ((n = is.read(buf)) != -1) {
+                    output.write(buf, n);
+                }
+            } catch (IOException ignored) {
+                // stream closed because the process was killed
+            }
+        });
+
+        Usage usage = new Usage();
+        ScheduledFuture<?> sampler = watchdog.scheduleAtFixedRate(() -> usage.sample(process),
+                0, Math.max(10, sampleIntervalMs), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+            if (process.isAlive()) {
+                usage.timedOut = true;
+                killTree(process);
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            killTree(process);
+            throw e;
+        } finally {
+            deadline.cancel(false);
+            sampler.cancel(false);
+        }
+        // Grandchildren that inherited the pipe could keep it open; don't wait on them forever
+        pump.join(Duration.ofSeconds(1));
+
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ProcessResult result = new ProcessResult(usage.timedOut ? -1 : process.exitValue(), output.toString(),
+                usage.timedOut, wallMs, usage.cpuMs, usage.peakRssKb);
+        record(result);
+        log.debug("{} finished in {} ms (cpu {} ms, peak rss {} KB, exit {})", cmd.get(0), wallMs,
+                result.cpuMs, result.peakRssKb, result.exitCode);
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = runs.get();
+        stats.put("runs", count);
+        stats.put("timeouts", timeouts.get());
+        stats.put("avgWallMs", count == 0 ? 0 : totalWallMs.get() / count);
+        stats.put("avgCpuMs", count == 0 ? 0 : totalCpuMs.get() / count);
+        stats.put("maxPeakRssKb", maxPeakRssKb.get());
+        ProcessResult last = lastResult;
+        if (last != null) {
+            stats.put("last", Map.of("wallMs", last.wallMs, "cpuMs", last.cpuMs,
+                    "peakRssKb", last.peakRssKb, "exitCode", last.exitCode));
+        }
+        return stats;
+    }
+
+    /**
+     * Kill a process and every descendant. Descendants are collected first since
+     * they are re-parented once the root dies.
+     */
+    public static void killTree(Process process) {
+        List<ProcessHandle> descendants = new ArrayList<>();
+        process.descendants().forEach(descendants::add);
+        process.destroyForcibly();
+        descendants.forEach(ProcessHandle::destroyForcibly);
+    }
+
+    private void record(ProcessResult result) {
+        runs.incrementAndGet();
+        if (result.timedOut) {
+            timeouts.incrementAndGet();
+        }
+        totalWallMs.addAndGet(result.wallMs);
+        totalCpuMs.addAndGet(result.cpuMs);
+        maxPeakRssKb.accumulateAndGet(result.peakRssKb, Math::max);
+        lastResult = result;
+    }
+
+    /**
+     * CPU and memory samples for one process tree. CPU time is cumulative, so the
+     * latest sample is kept; resident memory keeps the maximum seen.
+     */
+    private static class Usage {
+        volatile boolean timedOut;
+        volatile long cpuMs;
+        volatile long peakRssKb;
+
+        void sample(Process process) {
+            if (!process.isAlive()) {
+                return;
+            }
+            List<ProcessHandle> tree = new ArrayList<>();
+            tree.add(process.toHandle());
+            process.descendants().forEach(tree::add);
+
+            long cpu = 0;
+            long rss = 0;
+            for (ProcessHandle handle : tree) {
+                cpu += handle.info().totalCpuDuration().map(Duration::toMillis).orElse(0L);
+                rss += readRssKb(handle.pid());
+            }
+            cpuMs = Math.max(cpuMs, cpu);
+            peakRssKb = Math.max(peakRssKb, rss);
+        }
+
+        private static long readRssKb(long pid) {
+            Path status = Path.of("/proc", String.valueOf(pid), "status");
+            try {
+                for (String line : Files.readAllLines(status)) {
+                    // VmHWM is the peak resident set size of the process so far
+                    if (line.startsWith("VmHWM:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    }
+                }
+            } catch (IOException | NumberFormatException ignored) {
+                // not on Linux, or the process already exited
+            }
+            return 0L;
+        }
+    }
+
+    /**
+     * Keeps only the last {@code capacity} bytes written; the end of a TeX log is
+     * where the error is.
+     */
+    private static class RingBuffer {
+        private final byte[] data;
+        private long written;
+
+        RingBuffer(int capacity) {
+            this.data = new byte[Math.max(1024, capacity)];
+        }
+
+        synchronized void write(byte[] buf, int len) {
+            for (int i = 0; i < len; i++) {
+                data[(int) ((written + i) % data.length)] = buf[i];
+            }
+            written += len;
+        }
+
+        @Override
+        public synchronized String toString() {
+            if (written <= data.length) {
+                return new String(data, 0, (int) written, StandardCharsets.UTF_8);
+            }
+            int head = (int) (written % data.length);
+            byte[] ordered = new byte[data.length];
+            System.arraycopy(data, head, ordered, 0, data.length - head);
+            System.arraycopy(data, 0, ordered, data.length - head, head);
+            return "[... " + (written - data.length) + " bytes truncated ...]\n"
+                    + new String(ordered, StandardCharsets.UTF_8);
+        }
+    }
+}
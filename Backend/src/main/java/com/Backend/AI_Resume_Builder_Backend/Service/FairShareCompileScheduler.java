@@ -0,0 +1,444 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out compile slots by priority class and fairly between users.
+ *
+ * Each {@link CompilePriority} is a lane with a number of reserved slots that
+ * only it may use; the remaining shared slots go to the lanes in priority
+ * order. Within a lane every user (JWT subject) has a queue of its own, and
+ * slots are dealt out with deficit round robin across the queues that have
+ * waiters. A user with many pending recompiles therefore only gets its turn
+ * like everybody else, while a user alone on the server can still use every
+ * shared slot. Requests without a user share one anonymous queue per lane
+ * whose weight is configurable.
+ *
+ * The total number of slots is not fixed: it follows
+ * {@link AdaptiveCompileLimit}, which every released slot reports its hold
+ * time to.
+ */
+@Component
+public class FairShareCompileScheduler implements InitializingBean {
+
+    public static final String ANONYMOUS = "anonymous";
+
+    @Value("${latex.scheduler.user-weight:1.0}")
+    private double userWeight;
+
+    @Value("${latex.scheduler.anonymous-weight:2.0}")
+    private double anonymousWeight;
+
+    @Value("${latex.lanes.interactive.reserved:1}")
+    private int interactiveReserved;
+
+    @Value("${latex.lanes.interactive.queue-timeout-seconds:10}")
+    private long interactiveQueueTimeout;
+
+    @Value("${latex.lanes.interactive.compile-timeout-seconds:20}")
+    private long interactiveCompileTimeout;
+
+    @Value("${latex.lanes.download.reserved:1}")
+    private int downloadReserved;
+
+    @Value("${latex.lanes.download.queue-timeout-seconds:30}")
+    private long downloadQueueTimeout;
+
+    @Value("${latex.lanes.download.compile-timeout-seconds:${latex.compile.timeoutSeconds:40}}")
+    private long downloadCompileTimeout;
+
+    @Value("${latex.lanes.batch.reserved:0}")
+    private int batchReserved;
+
+    @Value("${latex.lanes.batch.queue-timeout-seconds:120}")
+    private long batchQueueTimeout;
+
+    @Value("${latex.lanes.batch.compile-timeout-seconds:90}")
+    private long batchCompileTimeout;
+
+    @Autowired
+    private AdaptiveCompileLimit limit;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Map<CompilePriority, Lane> lanes = new EnumMap<>(CompilePriority.class);
+    private int inUse;
+
+    private final AtomicLong granted = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+
+    /**
+     * A granted compile slot; closing it hands the slot to the next waiter.
+     */
+    public class Permit implements AutoCloseable {
+        private final Flow flow;
+        private final long grantedAt = System.nanoTime();
+        // slots in use when this one was granted, itself included
+        private final int inFlightAtGrant = inUse;
+        private boolean released;
+        // a slot passed on unused says nothing about compile latency
+        private boolean unused;
+
+        private Permit(Flow flow) {
+            this.flow = flow;
+        }
+
+        public String getUserKey() {
+            return flow.key;
+        }
+
+        public CompilePriority getPriority() {
+            return flow.lane.priority;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                inUse--;
+                flow.lane.running--;
+                flow.running--;
+                forgetIfIdle(flow);
+                if (!unused) {
+                    limit.onSample(System.nanoTime() - grantedAt, inFlightAtGrant);
+                }
+                dispatch();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static class Lane {
+        final CompilePriority priority;
+        final int reserved;
+        final Duration queueTimeout;
+        final Duration compileTimeout;
+        final Map<String, Flow> flows = new HashMap<>();
+        // Flows with waiters, in round-robin order
+        final Deque<Flow> active = new ArrayDeque<>();
+        int running;
+
+        Lane(CompilePriority priority, int reserved, long queueTimeoutSeconds, long compileTimeoutSeconds) {
+            this.priority = priority;
+            this.reserved = Math.max(0, reserved);
+            this.queueTimeout = Duration.ofSeconds(queueTimeoutSeconds);
+            this.compileTimeout = Duration.ofSeconds(compileTimeoutSeconds);
+        }
+    }
+
+    private static class Flow {
+        final Lane lane;
+        final String key;
+        final double weight;
+        final Deque<Waiter> waiters = new ArrayDeque<>();
+        double deficit;
+        int running;
+
+        Flow(Lane lane, String key, double weight) {
+            this.lane = lane;
+            this.key = key;
+            this.weight = Math.max(0.1, weight);
+        }
+    }
+
+    private static class Waiter {
+        final Condition ready;
+        boolean granted;
+
+        Waiter(Condition ready) {
+            this.ready = ready;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        lanes.put(CompilePriority.INTERACTIVE, new Lane(CompilePriority.INTERACTIVE, interactiveReserved,
+                interactiveQueueTimeout, interactiveCompileTimeout));
+        lanes.put(CompilePriority.DOWNLOAD, new Lane(CompilePriority.DOWNLOAD, downloadReserved,
+                downloadQueueTimeout, downloadCompileTimeout));
+        lanes.put(CompilePriority.BATCH, new Lane(CompilePriority.BATCH, batchReserved,
+                batchQueueTimeout, batchCompileTimeout));
+
+        Gauge.builder("latex.compile.limit", limit, AdaptiveCompileLimit::getLimit)
+                .description("Current number of compiles allowed to run at once")
+                .register(meterRegistry);
+        Gauge.builder("latex.compile.inflight", this, FairShareCompileScheduler::getInUse)
+                .description("Compile slots currently held")
+                .register(meterRegistry);
+        Gauge.builder("latex.compile.queued", this, FairShareCompileScheduler::getQueued)
+                .description("Compiles waiting for a slot")
+                .register(meterRegistry);
+        FunctionCounter.builder("latex.compile.rejections", timedOut, AtomicLong::get)
+                .description("Compiles that gave up waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wait for a compile slot in the given user's queue of a lane, for at most
+     * the lane's queue timeout.
+     *
+     * @param userKey  user the compile is charged to; {@code null} or blank
+     *                 means anonymous
+     * @param priority lane to queue in; {@code null} means
+     *                 {@link CompilePriority#DOWNLOAD}
+     * @return the permit, or {@code null} if none was granted before the timeout
+     */
+    public Permit acquire(String userKey, CompilePriority priority) throws InterruptedException {
+        Lane lane = lane(priority);
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            Flow flow = flow(lane, userKey);
+            Waiter waiter = new Waiter(lock.newCondition());
+            if (flow.waiters.isEmpty()) {
+                lane.active.addLast(flow);
+            }
+            flow.waiters.addLast(waiter);
+            dispatch();
+
+            long nanos = lane.queueTimeout.toNanos();
+            try {
+                while (!waiter.granted) {
+                    if (nanos <= 0) {
+                        withdraw(flow, waiter);
+                        timedOut.incrementAndGet();
+                        return null;
+                    }
+                    nanos = waiter.ready.awaitNanos(nanos);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // the slot was handed over just as we were interrupted; pass it on
+                    Permit permit = new Permit(flow);
+                    permit.unused = true;
+                    permit.close();
+                } else {
+                    withdraw(flow, waiter);
+                }
+                throw e;
+            }
+            granted.incrementAndGet();
+            totalWaitMs.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return new Permit(flow);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a slot only if one is free for the lane and nobody is waiting for it.
+     *
+     * @return the permit, or {@code null} if the caller would have to queue
+     */
+    public Permit tryAcquire(String userKey, CompilePriority priority) {
+        Lane lane = lane(priority);
+        lock.lock();
+        try {
+            if (!admits(lane) || lanes.values().stream().anyMatch(l -> !l.active.isEmpty())) {
+                return null;
+            }
+            Flow flow = flow(lane, userKey);
+            flow.running++;
+            lane.running++;
+            inUse++;
+            granted.incrementAndGet();
+            return new Permit(flow);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * How long a compile in this lane may run.
+     */
+    public Duration compileTimeout(CompilePriority priority) {
+        return lane(priority).compileTimeout;
+    }
+
+    /**
+     * Number of slots currently held.
+     */
+    public int getInUse() {
+        lock.lock();
+        try {
+            return inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Current total number of slots.
+     */
+    public int getCapacity() {
+        return limit.getLimit();
+    }
+
+    /**
+     * Number of compiles waiting for a slot, over all lanes.
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            int queued = 0;
+            for (Lane lane : lanes.values()) {
+                for (Flow flow : lane.active) {
+                    queued += flow.waiters.size();
+                }
+            }
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Object> laneStats = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            int queued = 0;
+            for (Lane lane : lanes.values()) {
+                Map<String, Object> users = new LinkedHashMap<>();
+                int laneQueued = 0;
+                for (Flow flow : lane.flows.values()) {
+                    Map<String, Object> u = new HashMap<>();
+                    u.put("queued", flow.waiters.size());
+                    u.put("running", flow.running);
+                    u.put("weight", flow.weight);
+                    users.put(flow.key, u);
+                    laneQueued += flow.waiters.size();
+                }
+                Map<String, Object> l = new HashMap<>();
+                l.put("reserved", lane.reserved);
+                l.put("running", lane.running);
+                l.put("queued", laneQueued);
+                l.put("queueTimeoutSeconds", lane.queueTimeout.toSeconds());
+                l.put("compileTimeoutSeconds", lane.compileTimeout.toSeconds());
+                l.put("users", users);
+                laneStats.put(lane.priority.name(), l);
+                queued += laneQueued;
+            }
+            stats.put("inUse", inUse);
+            stats.put("queued", queued);
+        } finally {
+            lock.unlock();
+        }
+        long count = granted.get();
+        stats.put("capacity", limit.getLimit());
+        stats.put("limit", limit.getStats());
+        stats.put("lanes", laneStats);
+        stats.put("granted", count);
+        stats.put("timedOut", timedOut.get());
+        stats.put("avgWaitMs", count == 0 ? 0 : totalWaitMs.get() / count);
+        return stats;
+    }
+
+    private Lane lane(CompilePriority priority) {
+        return lanes.get(priority == null ? CompilePriority.DOWNLOAD : priority);
+    }
+
+    private Flow flow(Lane lane, String userKey) {
+        String key = (userKey == null || userKey.isBlank()) ? ANONYMOUS : userKey;
+        return lane.flows.computeIfAbsent(key,
+                k -> new Flow(lane, k, ANONYMOUS.equals(k) ? anonymousWeight : userWeight));
+    }
+
+    /**
+     * Whether the lane may take one more slot: either one of its reserved
+     * slots is free, or a shared slot is. Must be called with the lock held.
+     */
+    private boolean admits(Lane lane) {
+        int capacity = limit.getLimit();
+        if (inUse >= capacity) {
+            return false;
+        }
+        if (lane.running < lane.reserved) {
+            return true;
+        }
+        int reservedTotal = 0;
+        int sharedInUse = inUse;
+        for (Lane l : lanes.values()) {
+            reservedTotal += l.reserved;
+            sharedInUse -= Math.min(l.running, l.reserved);
+        }
+        return sharedInUse < capacity - reservedTotal;
+    }
+
+    /**
+     * Grant free slots, lane by lane in priority order. Within a lane this is
+     * deficit round robin: the flow at the head earns its weight in credit and
+     * is served while it has at least one compile's worth, then goes to the
+     * back. Must be called with the lock held.
+     */
+    private void dispatch() {
+        for (Lane lane : lanes.values()) {
+            while (!lane.active.isEmpty() && admits(lane)) {
+                Flow flow = lane.active.peekFirst();
+                if (flow.deficit < 1) {
+                    flow.deficit += flow.weight;
+                    if (flow.deficit < 1) {
+                        lane.active.addLast(lane.active.pollFirst());
+                        continue;
+                    }
+                }
+                Waiter waiter = flow.waiters.pollFirst();
+                waiter.granted = true;
+                waiter.ready.signal();
+                flow.deficit -= 1;
+                flow.running++;
+                lane.running++;
+                inUse++;
+
+                if (flow.waiters.isEmpty()) {
+                    // an emptied queue does not bank credit for later
+                    flow.deficit = 0;
+                    lane.active.pollFirst();
+                } else if (flow.deficit < 1) {
+                    lane.active.addLast(lane.active.pollFirst());
+                }
+            }
+        }
+    }
+
+    private void withdraw(Flow flow, Waiter waiter) {
+        flow.waiters.remove(waiter);
+        if (flow.waiters.isEmpty()) {
+            flow.deficit = 0;
+            flow.lane.active.remove(flow);
+        }
+        forgetIfIdle(flow);
+    }
+
+    private void forgetIfIdle(Flow flow) {
+        if (flow.running == 0 && flow.waiters.isEmpty()) {
+            flow.lane.flows.remove(flow.key, flow);
+        }
+    }
+}
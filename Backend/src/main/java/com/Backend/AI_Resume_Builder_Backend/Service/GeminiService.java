@@ -1,5 +1,6 @@
 package com.Backend.AI_Resume_Builder_Backend.Service;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
@@ -8,12 +9,37 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Vertex AI Gemini client.
+ *
+ * <p>
+ * Calls run on virtual threads, so a caller waiting on
+ * {@link #generateContentAsync} holds no platform thread while the model
+ * responds. At most {@code gemini.max-in-flight} calls are sent at once; the
+ * rest wait for a slot. Each call has a deadline that covers both the wait and
+ * the request, and completing or cancelling the returned future early
+ * interrupts the call, which aborts the HTTP request. {@link #generateContent}
+ * goes through the same path and blocks on the result.
+ */
 @Service
-public class GeminiService {
+public class GeminiService implements DisposableBean {
     private static final Logger log = LoggerFactory.getLogger(GeminiService.class);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
@@ -21,11 +47,24 @@ public class GeminiService {
     private final RestClient restClient;
     private final String vertexUrl;
 
+    private final int maxInFlight;
+    private final Duration defaultTimeout;
+    private final Semaphore permits;
+    private final ExecutorService calls = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
     public GeminiService(
             @Value("${gemini.api.key:}") String apiKey,
             @Value("${vertex.project.id:}") String projectId,
             @Value("${vertex.location:us-central1}") String location,
             @Value("${vertex.model:gemini-2.0-flash}") String model,
+            @Value("${gemini.max-in-flight:64}") int maxInFlight,
+            @Value("${gemini.timeout-seconds:90}") long timeoutSeconds,
             RestClient.Builder restClientBuilder) {
 
         if (apiKey == null || apiKey.trim().isEmpty()) {
@@ -48,6 +87,10 @@ public class GeminiService {
         this.vertexUrl = baseUrl + ":generateContent";
         this.restClient = restClientBuilder.baseUrl(this.vertexUrl).build();
 
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.defaultTimeout = Duration.ofSeconds(Math.max(1, timeoutSeconds));
+        this.permits = new Semaphore(this.maxInFlight, true);
+
         // Log config at startup (key masked for security)
         String masked = this.apiKey.length() > 10
                 ? this.apiKey.substring(0, 8) + "..." + this.apiKey.substring(this.apiKey.length() - 4)
@@ -55,7 +98,126 @@ public class GeminiService {
         log.info("GeminiService initialized with Vertex AI — URL: {} | Key: {}", this.vertexUrl, masked);
     }
 
+    /**
+     * Generate content and wait for it, with the default deadline.
+     *
+     * @throws RuntimeException if the call fails, or does not finish before
+     *                          the deadline
+     */
     public Optional<String> generateContent(String prompt) {
+        CompletableFuture<Optional<String>> result = generateContentAsync(prompt);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Vertex AI", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new RuntimeException("Vertex AI call timed out after " + defaultTimeout.toSeconds() + "s",
+                        e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Generate content with the default deadline
+     * ({@code gemini.timeout-seconds}).
+     */
+    public CompletableFuture<Optional<String>> generateContentAsync(String prompt) {
+        return generateContentAsync(prompt, defaultTimeout);
+    }
+
+    /**
+     * Generate content without blocking the caller.
+     *
+     * @param timeout deadline for the whole call, including any wait for an
+     *                in-flight slot
+     * @return completes with the model's text, empty if the response had none,
+     *         or exceptionally with a {@link TimeoutException} once the
+     *         deadline passes. Cancelling it, or the deadline passing, aborts
+     *         the request.
+     */
+    public CompletableFuture<Optional<String>> generateContentAsync(String prompt, Duration timeout) {
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Future<?> call;
+        try {
+            call = calls.submit(() -> run(prompt, deadline, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new IllegalStateException("GeminiService is shut down", e));
+            return result;
+        }
+        result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((text, e) -> {
+            if (e instanceof TimeoutException) {
+                timedOut.incrementAndGet();
+            } else if (e instanceof CancellationException) {
+                cancelled.incrementAndGet();
+            }
+            if (e != null) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private void run(String prompt, long deadline, CompletableFuture<Optional<String>> result) {
+        Optional<String> text;
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                result.completeExceptionally(new TimeoutException("No Vertex AI call slot became free"));
+                return;
+            }
+        } catch (InterruptedException e) {
+            // cancelled or timed out while waiting for a slot; the future is already done
+            return;
+        }
+        if (result.isDone()) {
+            permits.release();
+            return;
+        }
+        try {
+            started.incrementAndGet();
+            text = call(prompt);
+        } catch (Throwable e) {
+            permits.release();
+            if (result.completeExceptionally(e)) {
+                failed.incrementAndGet();
+            }
+            return;
+        }
+        // free the slot before completing, so work chained on the result can use it
+        permits.release();
+        if (result.complete(text)) {
+            succeeded.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("inFlight", maxInFlight - permits.availablePermits());
+        stats.put("waiting", permits.getQueueLength());
+        stats.put("timeoutSeconds", defaultTimeout.toSeconds());
+        stats.put("started", started.get());
+        stats.put("succeeded", succeeded.get());
+        stats.put("failed", failed.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("cancelled", cancelled.get());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        calls.shutdownNow();
+    }
+
+    private Optional<String> call(String prompt) {
         String requestBody;
         try {
             Map<String, Object> request = Map.of(
@@ -89,7 +251,10 @@ public class GeminiService {
             throw new RuntimeException(
                     "Vertex AI server error (" + e.getStatusCode() + "): " + e.getResponseBodyAsString(), e);
         } catch (Exception e) {
-            log.error("Vertex AI call failed: {}", e.getMessage(), e);
+            // an interrupted call was aborted by cancellation or its deadline; nothing to report
+            if (!Thread.currentThread().isInterrupted()) {
+                log.error("Vertex AI call failed: {}", e.getMessage(), e);
+            }
             throw e;
         }
 
@@ -0,0 +1,131 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Renders one resume with several templates at once.
+ *
+ * Each template is generated and compiled on its own virtual thread. The
+ * compiles go through the normal scheduler under the caller's user key, so a
+ * batch competes for slots like the same number of separate requests would,
+ * and the cache still applies per template. A template that fails does not
+ * affect the others.
+ */
+@Service
+public class LatexBatchCompileService {
+
+    @Autowired
+    private LatexService latexService;
+
+    @Autowired
+    private LatexCompileService latexCompileService;
+
+    /**
+     * Outcome of one template in a batch: either a PDF or an error message.
+     */
+    public static class TemplateResult {
+        private final String templateType;
+        private final byte[] pdf;
+        private final String error;
+        private final long ms;
+
+        TemplateResult(String templateType, byte[] pdf, String error, long ms) {
+            this.templateType = templateType;
+            this.pdf = pdf;
+            this.error = error;
+            this.ms = ms;
+        }
+
+        public String getTemplateType() { return templateType; }
+        public byte[] getPdf() { return pdf; }
+        public String getError() { return error; }
+        public long getMs() { return ms; }
+        public boolean isSuccess() { return pdf != null; }
+    }
+
+    /**
+     * Generate and compile {@code resumeData} with every template in
+     * {@code templateTypes}.
+     *
+     * @param options user and priority applied to every compile; the template
+     *                type is set per template
+     * @return results in the order of {@code templateTypes}
+     */
+    public List<TemplateResult> compileTemplates(ResumeModel resumeData, List<String> templateTypes,
+            CompileOptions options) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<TemplateResult>> futures = new ArrayList<>();
+            for (String templateType : templateTypes) {
+                futures.add(executor.submit(compileOne(resumeData, templateType, options)));
+            }
+            List<TemplateResult> results = new ArrayList<>();
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        results.add(futures.get(i).get());
+                    } catch (ExecutionException e) {
+                        results.add(new TemplateResult(templateTypes.get(i), null, e.getCause().getMessage(), 0));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // get() has cleared the interrupt, so close() would wait for every
+                // compile; interrupt them instead, which kills their compilers
+                executor.shutdownNow();
+                throw e;
+            }
+            return results;
+        }
+    }
+
+    /**
+     * JSON-friendly summary of a batch without the PDF bytes.
+     */
+    public static Map<String, Object> summarize(List<TemplateResult> results) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (TemplateResult r : results) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("success", r.isSuccess());
+            entry.put("ms", r.ms);
+            if (r.isSuccess()) {
+                entry.put("file", r.templateType + ".pdf");
+                entry.put("pdfBytes", r.pdf.length);
+            } else {
+                entry.put("error", r.error);
+            }
+            out.put(r.templateType, entry);
+        }
+        return out;
+    }
+
+    private Callable<TemplateResult> compileOne(ResumeModel resumeData, String templateType,
+            CompileOptions options) {
+        return () -> {
+            long start = System.currentTimeMillis();
+            try {
+                String latexCode = latexService.generateLatexCode(resumeData, templateType);
+                CompileOptions perTemplate = CompileOptions.defaults()
+                        .templateType(templateType)
+                        .userKey(options.getUserKey())
+                        .priority(options.getPriority());
+                byte[] pdf = latexCompileService.compileToPdf(latexCode, perTemplate);
+                return new TemplateResult(templateType, pdf, null, System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                return new TemplateResult(templateType, null, e.getMessage(), System.currentTimeMillis() - start);
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Thrown when the compiler ran but rejected the document. Carries the
+ * diagnostics parsed from its log, so callers can point at the offending
+ * lines instead of showing the raw log.
+ */
+public class LatexCompileException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String log;
+    // not serializable; parsed again from the log after deserialization
+    private final transient List<LatexDiagnostic> diagnostics;
+
+    public LatexCompileException(String log, List<LatexDiagnostic> diagnostics) {
+        super(summarize(log, diagnostics));
+        this.log = log;
+        this.diagnostics = List.copyOf(diagnostics);
+    }
+
+    /**
+     * Build the exception for a failed run from the compiler's output.
+     */
+    public static LatexCompileException fromLog(String log) {
+        return new LatexCompileException(log, LatexLogParser.parse(log));
+    }
+
+    public String getLog() {
+        return log;
+    }
+
+    public List<LatexDiagnostic> getDiagnostics() {
+        return diagnostics != null ? diagnostics : LatexLogParser.parse(log);
+    }
+
+    private static String summarize(String log, List<LatexDiagnostic> diagnostics) {
+        for (LatexDiagnostic d : diagnostics) {
+            if (d.isError()) {
+                return "LaTeX compilation failed: " + d;
+            }
+        }
+        // nothing recognisable; keep the whole log in the message as before
+        return "LaTeX compilation failed:\n" + (log == null ? "" : log);
+    }
+}
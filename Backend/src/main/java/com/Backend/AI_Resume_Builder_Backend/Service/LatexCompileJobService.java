@@ -0,0 +1,256 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous compile jobs.
+ *
+ * A job is accepted into a bounded queue and compiled by a small worker pool,
+ * so the HTTP thread that submitted it returns immediately. A job belongs to
+ * the user that submitted it: completion is pushed to that user's
+ * {@code /user/queue/latex/jobs}, and only they can poll it. Anonymous jobs
+ * can only be polled. Finished jobs are kept for a retention window and then
+ * dropped.
+ */
+@Service
+public class LatexCompileJobService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LatexCompileJobService.class);
+
+    public static final String RESULT_DESTINATION = "/queue/latex/jobs";
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    @Value("${latex.jobs.workers:4}")
+    private int workers;
+
+    @Value("${latex.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${latex.jobs.retention-seconds:600}")
+    private long retentionSeconds;
+
+    @Autowired
+    private LatexCompileService latexCompileService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<String, CompileJob> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+    private final AtomicLong totalRunMs = new AtomicLong();
+
+    public static class CompileJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String latexCode;
+        private final CompileOptions options;
+        private final long submittedAt = System.currentTimeMillis();
+        private volatile int queueDepthAtSubmit;
+        private volatile Status status = Status.QUEUED;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile byte[] pdf;
+        private volatile String error;
+        private volatile List<LatexDiagnostic> diagnostics;
+
+        CompileJob(String latexCode, CompileOptions options) {
+            this.latexCode = latexCode;
+            this.options = options;
+        }
+
+        public String getId() { return id; }
+        public Status getStatus() { return status; }
+        public byte[] getPdf() { return pdf; }
+        public String getError() { return error; }
+
+        /**
+         * @param userKey caller's user; {@code null} for anonymous
+         */
+        public boolean isOwnedBy(String userKey) {
+            return Objects.equals(options.getUserKey(), userKey);
+        }
+
+        public long getWaitMs() {
+            long start = startedAt > 0 ? startedAt : System.currentTimeMillis();
+            return start - submittedAt;
+        }
+
+        public long getRunMs() {
+            if (startedAt == 0)
+                return 0;
+            long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            return end - startedAt;
+        }
+
+        boolean isExpired(long retentionMillis) {
+            return finishedAt > 0 && System.currentTimeMillis() - finishedAt > retentionMillis;
+        }
+
+        /**
+         * JSON-friendly view of the job without the PDF bytes.
+         */
+        public Map<String, Object> toSummary() {
+            Map<String, Object> out = new HashMap<>();
+            out.put("jobId", id);
+            out.put("status", status.name());
+            out.put("submittedAt", submittedAt);
+            out.put("queueDepthAtSubmit", queueDepthAtSubmit);
+            out.put("waitMs", getWaitMs());
+            out.put("runMs", getRunMs());
+            if (pdf != null) {
+                out.put("pdfBytes", pdf.length);
+            }
+            if (error != null) {
+                out.put("error", error);
+            }
+            if (diagnostics != null) {
+                out.put("diagnostics", diagnostics);
+            }
+            return out;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "latex-job-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue a compile and return its job handle immediately.
+     *
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public CompileJob submit(String latexCode, CompileOptions options) {
+        CompileJob job = new CompileJob(latexCode, options);
+        job.queueDepthAtSubmit = executor.getQueue().size();
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejected.incrementAndGet();
+            throw e;
+        }
+        submitted.incrementAndGet();
+        return job;
+    }
+
+    public CompileJob getJob(String id) {
+        CompileJob job = id == null ? null : jobs.get(id);
+        // expired but not yet purged
+        if (job != null && job.isExpired(TimeUnit.SECONDS.toMillis(retentionSeconds))) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Drop finished jobs, and their PDFs, once they are past the retention
+     * period.
+     */
+    @Scheduled(initialDelayString = "${latex.jobs.sweep-interval-ms:60000}",
+            fixedDelayString = "${latex.jobs.sweep-interval-ms:60000}")
+    public void purgeExpired() {
+        long retentionMillis = TimeUnit.SECONDS.toMillis(retentionSeconds);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isExpired(retentionMillis));
+        int count = before - jobs.size();
+        if (count > 0) {
+            expired.addAndGet(count);
+            log.debug("Purged {} expired compile jobs", count);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long done = succeeded.get() + failed.get();
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("workers", workers);
+        stats.put("submitted", submitted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("succeeded", succeeded.get());
+        stats.put("failed", failed.get());
+        stats.put("retained", jobs.size());
+        stats.put("expired", expired.get());
+        stats.put("avgWaitMs", done == 0 ? 0 : totalWaitMs.get() / done);
+        stats.put("avgRunMs", done == 0 ? 0 : totalRunMs.get() / done);
+        return stats;
+    }
+
+    private void run(CompileJob job) {
+        job.startedAt = System.currentTimeMillis();
+        job.status = Status.RUNNING;
+        try {
+            job.pdf = latexCompileService.compileToPdf(job.latexCode, job.options);
+            job.status = Status.SUCCEEDED;
+            succeeded.incrementAndGet();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.error = e.getMessage();
+            if (e instanceof LatexCompileException failure) {
+                job.diagnostics = failure.getDiagnostics();
+            }
+            job.status = Status.FAILED;
+            failed.incrementAndGet();
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+            totalWaitMs.addAndGet(job.getWaitMs());
+            totalRunMs.addAndGet(job.getRunMs());
+        }
+
+        String userKey = job.options.getUserKey();
+        if (userKey == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(userKey, RESULT_DESTINATION, job.toSummary());
+        } catch (Exception e) {
+            log.debug("Failed to publish completion of compile job {}: {}", job.id, e.getMessage());
+        }
+    }
+}
@@ -12,6 +12,39 @@ public interface LatexCompileService {
      */
     byte[] compileToPdf(String latexCode) throws IOException, InterruptedException;
 
+    /**
+     * Compile LaTeX source code to PDF bytes with per-request options.
+     * 
+     * @param latexCode Full LaTeX source code
+     * @param options   Template and scheduling hints for this compile
+     * @return PDF bytes
+     */
+    byte[] compileToPdf(String latexCode, CompileOptions options) throws IOException, InterruptedException;
+
+    /**
+     * Compile in the live-preview workspace of an editor session. Auxiliary
+     * files of the session's previous compile are kept, so a document whose
+     * references did not change compiles in a single pass.
+     * 
+     * @param sessionId Editor session the compile belongs to; scoped to the
+     *                  user in {@link CompileOptions#getUserKey()}
+     * @param latexCode Full LaTeX source code
+     * @param options   Template and scheduling hints for this compile
+     * @return PDF bytes
+     */
+    byte[] compileInSession(String sessionId, String latexCode, CompileOptions options)
+            throws IOException, InterruptedException;
+
+    /**
+     * Drop one of a user's editor sessions and its workspace. Sessions are
+     * scoped to the user in {@link CompileOptions#getUserKey()}, so another
+     * user's session with the same id is not affected.
+     * 
+     * @param userKey   user the session belongs to; {@code null} for anonymous
+     * @return whether the user had such a session
+     */
+    boolean closeSession(String userKey, String sessionId);
+
     /**
      * Check availability of configured LaTeX compiler(s) and return diagnostic
      * info.
@@ -25,4 +58,15 @@ public interface LatexCompileService {
      * Get current number of compilations in progress or queued.
      */
     int getQueueUsage();
+
+    /**
+     * Get hit/miss/eviction counters of the compiled-PDF cache, plus how many
+     * requests were served by waiting on an identical compile already running.
+     */
+    java.util.Map<String, Object> getCacheStats();
+
+    /**
+     * Get slot usage and per-user queue depth of the compile scheduler.
+     */
+    java.util.Map<String, Object> getSchedulerStats();
 }
@@ -1,6 +1,9 @@
 package com.Backend.AI_Resume_Builder_Backend.Service;
 
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
@@ -8,12 +11,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
-import org.springframework.beans.factory.InitializingBean;
 
 @Service
-public class LatexCompileServiceImpl implements LatexCompileService, InitializingBean {
+public class LatexCompileServiceImpl implements LatexCompileService {
 
     @Value("${latex.compiler:auto}")
     private String compilerMode; // auto | tectonic | pdflatex
@@ -21,169 +21,581 @@ public class LatexCompileServiceImpl implements LatexCompileService, Initializin
     @Value("${latex.compiler.path:}")
     private String compilerPath; // optional absolute path to compiler executable
 
-    @Value("${latex.compile.timeoutSeconds:40}")
-    private int timeoutSeconds;
+    @Value("${latex.compiler.warm-compile:true}")
+    private boolean warmCompileEnabled;
 
-    @Value("${latex.compile.max-concurrent:5}")
-    private int maxConcurrent;
+    @Autowired
+    private CompiledPdfCache pdfCache;
 
-    private Semaphore compileSemaphore;
+    @Autowired
+    private LatexFormatCache formatCache;
 
-    @Override
-    public void afterPropertiesSet() {
-        this.compileSemaphore = new Semaphore(maxConcurrent, true);
+    @Autowired
+    private CompilerProcessRunner processRunner;
+
+    @Autowired
+    private CompileWorkspacePool workspacePool;
+
+    @Autowired
+    private LatexCompilerProbe compilerProbe;
+
+    @Autowired
+    private CompileSessionRegistry sessionRegistry;
+
+    @Autowired
+    private FairShareCompileScheduler compileScheduler;
+
+    @Autowired
+    private PdfPostProcessor postProcessor;
+
+    @Autowired
+    private CompileFailureCache failureCache;
+
+    // Template versions are part of the cache keys, so a hot-swapped template
+    // never serves PDFs compiled for its previous version
+    @Autowired
+    private LatexTemplateRegistry templateRegistry;
+
+    // Only present with latex.farm.enabled=true
+    @Autowired(required = false)
+    private RedisCompileFarm compileFarm;
+
+    private static final String WARM_COMPILE_USER = "system:health-probe";
+
+    private static final String WARM_DOCUMENT = "\\documentclass{article}\\begin{document}OK\\end{document}";
+
+    private static final List<String> AUX_FILES = List.of("resume.aux", "resume.out", "resume.toc");
+
+    // Running INTERACTIVE compiles by user and session id, so a newer one can cancel them
+    private final java.util.concurrent.ConcurrentHashMap<String, CompileTicket> interactiveCompiles =
+            new java.util.concurrent.ConcurrentHashMap<>();
+    private final java.util.concurrent.atomic.AtomicLong supersededCompiles = new java.util.concurrent.atomic.AtomicLong();
+
+    // Compiles in progress by cache key; identical concurrent requests wait on the same result
+    private final java.util.concurrent.ConcurrentHashMap<String, java.util.concurrent.CompletableFuture<byte[]>> inFlight =
+            new java.util.concurrent.ConcurrentHashMap<>();
+    private final java.util.concurrent.atomic.AtomicLong coalescedCompiles = new java.util.concurrent.atomic.AtomicLong();
+
+    // Last compiler health snapshot, replaced wholesale by refreshCompilerStatus()
+    private volatile java.util.Map<String, Object> statusSnapshot = java.util.Map.of("ready", false, "probing", true);
+
+    @PostConstruct
+    void startCompileFarm() {
+        if (compileFarm != null) {
+            // farm jobs are compiled here the normal way, never sent back to the farm
+            compileFarm.startWorkers((code, options) -> compileStateless(code, options, false));
+        }
     }
 
     @Override
     public byte[] compileToPdf(String latexCode) throws IOException, InterruptedException {
-        Path tempDir = Files.createTempDirectory("latex_compile_");
-        Path texFile = tempDir.resolve("resume.tex");
-        Path pdfFile = tempDir.resolve("resume.pdf");
+        return compileToPdf(latexCode, CompileOptions.defaults());
+    }
 
-        // Write LaTeX file
-        Files.write(texFile, latexCode.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING);
+    @Override
+    public byte[] compileToPdf(String latexCode, CompileOptions options) throws IOException, InterruptedException {
+        CompileOptions opts = options == null ? CompileOptions.defaults() : options;
+        byte[] pdf = supersedable(opts, () -> singleFlight(latexCode, opts, () -> compileStateless(latexCode, opts, true)));
+        return postProcessor.process(pdf, opts.getPriority());
+    }
 
-        // Check semaphore
-        boolean acquired = false;
+    private byte[] compileStateless(String latexCode, CompileOptions options, boolean allowFarm)
+            throws IOException, InterruptedException {
+        String mode = (compilerMode == null || compilerMode.isBlank()) ? "auto" : compilerMode.trim().toLowerCase();
+        java.time.Duration timeout = compileScheduler.compileTimeout(options.getPriority());
+
+        // Identical sources are served from cache without taking a permit
+        String cacheKey = pdfCache.key(latexCode, mode, templateRegistry.versionedName(options.getTemplateType()));
+        byte[] cached = pdfCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        // With the compile farm on, the lane's compiles run on whichever node has capacity
+        if (allowFarm && compileFarm != null && compileFarm.handles(options.getPriority())) {
+            byte[] pdf = compileFarm.compile(latexCode, options);
+            pdfCache.put(cacheKey, pdf);
+            return pdf;
+        }
+
+        // Wait for a slot in this user's fair-share queue of the compile's lane
+        FairShareCompileScheduler.Permit permit = null;
+        Path tempDir = null;
         try {
-            acquired = compileSemaphore.tryAcquire(30, TimeUnit.SECONDS);
-            if (!acquired) {
-                cleanup(tempDir);
+            permit = compileScheduler.acquire(options.getUserKey(), options.getPriority());
+            if (permit == null) {
                 throw new IOException(
                         "Server is currently busy compiling other resumes. Please try again in a moment.");
             }
 
-            // Determine candidate compilers
-            String mode = (compilerMode == null || compilerMode.isBlank()) ? "auto" : compilerMode.trim().toLowerCase();
-            List<List<String>> candidates = new ArrayList<>();
-
-            if ("pdflatex".equals(mode)) {
-                candidates.add(buildPdflatexCommand(tempDir, texFile));
-            } else if ("tectonic".equals(mode)) {
-                candidates.add(buildTectonicCommand(tempDir, texFile));
-            } else { // auto
-                candidates.add(buildTectonicCommand(tempDir, texFile));
-                candidates.add(buildPdflatexCommand(tempDir, texFile));
-            }
+            tempDir = workspacePool.acquire();
+            Path texFile = tempDir.resolve("resume.tex");
+            Path pdfFile = tempDir.resolve("resume.pdf");
+
+            // Write LaTeX file
+            writeSource(texFile, latexCode);
 
+            // Sources that still start with a template's preamble can use its
+            // precompiled format; anything else compiles the normal way
+            LatexFormatCache.TemplateFormat format = "tectonic".equals(mode) ? null : formatCache.match(latexCode);
+
+            // Only compilers known to be installed are tried. A compiler that is missing
+            // falls through to the next one; a document error is final, since the other
+            // compiler would reject the same document.
             IOException lastError = null;
-            for (List<String> cmd : candidates) {
+            for (String compiler : compilerProbe.usableCompilers()) {
                 try {
-                    byte[] pdf = runCompiler(cmd, tempDir, pdfFile);
-                    cleanup(tempDir);
+                    if (LatexCompilerProbe.PDFLATEX.equals(compiler) && format != null) {
+                        Path fmtTexFile = tempDir.resolve("resume_fmt.tex");
+                        try (Writer writer = Files.newBufferedWriter(fmtTexFile, StandardCharsets.UTF_8)) {
+                            formatCache.writeWithFormat(latexCode, format, writer);
+                        }
+                        try {
+                            byte[] pdf = runCompiler(compiler, buildPdflatexFormatCommand(tempDir, fmtTexFile, format),
+                                    tempDir, pdfFile, formatCache.environment(), timeout);
+                            formatCache.recordResult(format, true);
+                            pdfCache.put(cacheKey, pdf);
+                            return pdf;
+                        } catch (LatexCompileException ex) {
+                            // document errors are final; only a broken format is retried without it
+                            if (!LatexFormatCache.isFormatFailure(ex)) {
+                                throw ex;
+                            }
+                            formatCache.recordResult(format, false);
+                        }
+                    }
+
+                    List<String> cmd = LatexCompilerProbe.TECTONIC.equals(compiler)
+                            ? buildTectonicCommand(tempDir, texFile)
+                            : buildPdflatexCommand(tempDir, texFile);
+                    byte[] pdf = runCompiler(compiler, cmd, tempDir, pdfFile, java.util.Map.of(), timeout);
+                    pdfCache.put(cacheKey, pdf);
                     return pdf;
-                } catch (IOException ex) {
+                } catch (CompilerNotFoundException ex) {
+                    compilerProbe.markMissing(compiler, ex.getCause() == null ? ex.getMessage()
+                            : ex.getCause().getMessage());
                     lastError = ex;
                     // try next candidate
                 }
             }
 
-            cleanup(tempDir);
             if (lastError != null)
                 throw lastError;
             throw new IOException("LaTeX compilation failed with all available compilers");
         } finally {
-            if (acquired) {
-                compileSemaphore.release();
+            workspacePool.release(tempDir);
+            if (permit != null) {
+                permit.close();
             }
         }
     }
 
     @Override
-    public int getQueueUsage() {
-        if (compileSemaphore == null)
-            return 0;
-        return maxConcurrent - compileSemaphore.availablePermits();
+    public byte[] compileInSession(String sessionId, String latexCode, CompileOptions options)
+            throws IOException, InterruptedException {
+        CompileOptions opts = options == null ? CompileOptions.defaults() : options;
+        if (opts.getPriority() == null) {
+            opts.priority(CompilePriority.INTERACTIVE);
+        }
+        opts.sessionId(sessionId);
+        byte[] pdf = supersedable(opts,
+                () -> singleFlight(latexCode, opts, () -> compileSession(sessionId, latexCode, opts)));
+        return postProcessor.process(pdf, opts.getPriority());
     }
 
-    @Override
-    public java.util.Map<String, Object> getCompilerStatus() {
-        java.util.Map<String, Object> out = new java.util.HashMap<>();
+    private byte[] compileSession(String sessionId, String latexCode, CompileOptions options)
+            throws IOException, InterruptedException {
         String mode = (compilerMode == null || compilerMode.isBlank()) ? "auto" : compilerMode.trim().toLowerCase();
-        out.put("mode", mode);
-        out.put("configuredPath", compilerPath == null ? "" : compilerPath);
+        java.time.Duration timeout = compileScheduler.compileTimeout(options.getPriority());
 
-        java.util.List<java.util.Map<String, Object>> details = new java.util.ArrayList<>();
-        java.util.List<java.util.List<String>> candidates = new java.util.ArrayList<>();
-        Path dummyDir;
+        String cacheKey = pdfCache.key(latexCode, mode, templateRegistry.versionedName(options.getTemplateType()));
+        byte[] cached = pdfCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        // A session can be expired between lookup and lock; open a fresh one then
+        CompileSessionRegistry.CompileSession session;
+        while (true) {
+            session = sessionRegistry.open(options.getUserKey(), sessionId);
+            session.lock().lockInterruptibly();
+            if (!session.isClosed()) {
+                break;
+            }
+            session.lock().unlock();
+        }
+
+        FairShareCompileScheduler.Permit permit = null;
         try {
-            dummyDir = Files.createTempDirectory("latex_check_");
-        } catch (IOException e) {
-            dummyDir = Path.of(System.getProperty("java.io.tmpdir", "."));
+            permit = compileScheduler.acquire(options.getUserKey(), options.getPriority());
+            if (permit == null) {
+                throw new IOException(
+                        "Server is currently busy compiling other resumes. Please try again in a moment.");
+            }
+
+            Path dir = session.getDir();
+            Path texFile = dir.resolve("resume.tex");
+            Path pdfFile = dir.resolve("resume.pdf");
+            writeSource(texFile, latexCode);
+            Files.deleteIfExists(pdfFile);
+
+            LatexFormatCache.TemplateFormat format = "tectonic".equals(mode) ? null : formatCache.match(latexCode);
+
+            IOException lastError = null;
+            for (String compiler : compilerProbe.usableCompilers()) {
+                try {
+                    byte[] pdf;
+                    if (LatexCompilerProbe.TECTONIC.equals(compiler)) {
+                        // tectonic reruns the engine itself until the aux files settle
+                        pdf = runCompiler(compiler, buildTectonicCommand(dir, texFile), dir, pdfFile, java.util.Map.of(),
+                                timeout);
+                        sessionRegistry.recordCompile(session, 1);
+                    } else {
+                        pdf = null;
+                        if (format != null) {
+                            Path fmtTexFile = dir.resolve("resume_fmt.tex");
+                            try (Writer writer = Files.newBufferedWriter(fmtTexFile, StandardCharsets.UTF_8)) {
+                                formatCache.writeWithFormat(latexCode, format, writer);
+                            }
+                            try {
+                                pdf = runPdflatexPasses(session, buildPdflatexFormatCommand(dir, fmtTexFile, format),
+                                        pdfFile, formatCache.environment(), timeout);
+                                formatCache.recordResult(format, true);
+                            } catch (LatexCompileException ex) {
+                                if (!LatexFormatCache.isFormatFailure(ex)) {
+                                    throw ex;
+                                }
+                                formatCache.recordResult(format, false);
+                            }
+                        }
+                        if (pdf == null) {
+                            pdf = runPdflatexPasses(session, buildPdflatexCommand(dir, texFile), pdfFile,
+                                    java.util.Map.of(), timeout);
+                        }
+                    }
+                    pdfCache.put(cacheKey, pdf);
+                    return pdf;
+                } catch (CompilerNotFoundException ex) {
+                    compilerProbe.markMissing(compiler, ex.getCause() == null ? ex.getMessage()
+                            : ex.getCause().getMessage());
+                    lastError = ex;
+                }
+            }
+
+            if (lastError != null)
+                throw lastError;
+            throw new IOException("LaTeX compilation failed with all available compilers");
+        } finally {
+            if (permit != null) {
+                permit.close();
+            }
+            session.lock().unlock();
+        }
+    }
+
+    /**
+     * Run a compile that a newer INTERACTIVE compile of the same user's session
+     * may supersede. The superseded compile's thread is interrupted, which
+     * withdraws it from the scheduler queue or kills its compiler process, and
+     * it ends with a {@link CompileCancelledException}.
+     */
+    private byte[] supersedable(CompileOptions options, CompileCall call) throws IOException, InterruptedException {
+        String sessionId = options.getSessionId();
+        if (options.getPriority() != CompilePriority.INTERACTIVE || sessionId == null) {
+            return call.run();
+        }
+        String key = CompileSessionRegistry.scopedId(options.getUserKey(), sessionId);
+        CompileTicket ticket = new CompileTicket();
+        CompileTicket previous = interactiveCompiles.put(key, ticket);
+        if (previous != null && previous.cancel()) {
+            supersededCompiles.incrementAndGet();
         }
-        Path dummyTex = dummyDir.resolve("check.tex");
         try {
-            Files.writeString(dummyTex, "\\documentclass{article}\\begin{document}OK\\end{document}");
-        } catch (Exception ignored) {
+            return call.run();
+        } catch (InterruptedException | IOException e) {
+            // an interrupt during file I/O surfaces as ClosedByInterruptException
+            if (ticket.cancelled) {
+                throw new CompileCancelledException("Superseded by a newer compile of session " + sessionId);
+            }
+            throw e;
+        } finally {
+            interactiveCompiles.remove(key, ticket);
+            if (ticket.finish()) {
+                // swallow an interrupt that arrived after the compile had ended
+                Thread.interrupted();
+            }
         }
+    }
 
-        if ("pdflatex".equals(mode)) {
-            candidates.add(buildPdflatexCommand(dummyDir, dummyTex));
-        } else if ("tectonic".equals(mode)) {
-            candidates.add(buildTectonicCommand(dummyDir, dummyTex));
-        } else { // auto
-            candidates.add(buildTectonicCommand(dummyDir, dummyTex));
-            candidates.add(buildPdflatexCommand(dummyDir, dummyTex));
+    /**
+     * Run a compile unless an identical one (same cache key) is already in
+     * progress, in which case wait for that one and return its bytes. The
+     * waiter takes no scheduler slot. If the compile it waited for was
+     * cancelled, the waiter tries again rather than inheriting the
+     * cancellation. A source that failed recently fails again straight from
+     * the failure cache.
+     */
+    private byte[] singleFlight(String latexCode, CompileOptions options, CompileCall call)
+            throws IOException, InterruptedException {
+        String mode = (compilerMode == null || compilerMode.isBlank()) ? "auto" : compilerMode.trim().toLowerCase();
+        String key = pdfCache.key(latexCode, mode, templateRegistry.versionedName(options.getTemplateType()));
+        LatexCompileException knownFailure = failureCache.get(key);
+        if (knownFailure != null) {
+            throw knownFailure;
         }
+        while (true) {
+            java.util.concurrent.CompletableFuture<byte[]> flight = new java.util.concurrent.CompletableFuture<>();
+            java.util.concurrent.CompletableFuture<byte[]> leader = inFlight.putIfAbsent(key, flight);
+            if (leader == null) {
+                try {
+                    byte[] pdf = call.run();
+                    flight.complete(pdf);
+                    return pdf;
+                } catch (IOException | InterruptedException | RuntimeException e) {
+                    if (e instanceof LatexCompileException failure) {
+                        failureCache.put(key, failure);
+                    }
+                    flight.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(key, flight);
+                }
+            }
 
-        boolean any = false;
-        for (java.util.List<String> cmd : candidates) {
-            java.util.Map<String, Object> d = new java.util.HashMap<>();
-            d.put("command", String.join(" ", cmd));
-            String exe = cmd.isEmpty() ? "" : cmd.get(0);
-            // Try `--version` for detection; tectonic/pdflatex both support it
-            java.util.List<String> probe = new java.util.ArrayList<>();
-            probe.add(exe);
-            probe.add("--version");
             try {
-                Process p = new ProcessBuilder(probe).redirectErrorStream(true).start();
-                java.io.ByteArrayOutputStream outBuf = new java.io.ByteArrayOutputStream();
-                try (InputStream is = p.getInputStream()) {
-                    is.transferTo(outBuf);
+                byte[] pdf = leader.get();
+                coalescedCompiles.incrementAndGet();
+                return pdf;
+            } catch (java.util.concurrent.ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof InterruptedException || cause instanceof CompileCancelledException
+                        || cause instanceof java.nio.channels.ClosedByInterruptException) {
+                    continue;
                 }
-                boolean finished = p.waitFor(5, java.util.concurrent.TimeUnit.SECONDS);
-                if (!finished) {
-                    p.destroyForcibly();
-                    throw new IOException("timeout");
+                coalescedCompiles.incrementAndGet();
+                if (cause instanceof IOException io) {
+                    throw io;
                 }
-                int code = p.exitValue();
-                String ver = outBuf.toString(java.nio.charset.StandardCharsets.UTF_8);
-                boolean ok = code == 0 && (ver.toLowerCase().contains("tectonic")
-                        || ver.toLowerCase().contains("pdftex") || ver.toLowerCase().contains("miktex"));
-                d.put("available", ok);
-                d.put("version", ver.trim());
-                any = any || ok;
-            } catch (Exception e) {
-                d.put("available", false);
-                d.put("error", e.getMessage());
+                throw new IOException(cause.getMessage(), cause);
+            }
+        }
+    }
+
+    /**
+     * Write a source file through a buffered encoder instead of encoding the
+     * whole document into one byte array first.
+     */
+    private static void writeSource(Path file, String latexCode) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(latexCode);
+        }
+    }
+
+    private interface CompileCall {
+        byte[] run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * The running INTERACTIVE compile of a session.
+     */
+    private static class CompileTicket {
+        private final Thread thread = Thread.currentThread();
+        private boolean done;
+        private volatile boolean cancelled;
+
+        synchronized boolean cancel() {
+            if (done) {
+                return false;
             }
+            cancelled = true;
+            thread.interrupt();
+            return true;
+        }
+
+        /**
+         * Mark the compile finished; no interrupt can arrive afterwards.
+         *
+         * @return whether it was cancelled
+         */
+        synchronized boolean finish() {
+            done = true;
+            return cancelled;
+        }
+    }
+
+    @Override
+    public boolean closeSession(String userKey, String sessionId) {
+        return sessionRegistry.close(userKey, sessionId);
+    }
+
+    /**
+     * Run pdflatex in a session workspace, with a second pass only when the
+     * first one changed the auxiliary files left by the previous compile.
+     */
+    private byte[] runPdflatexPasses(CompileSessionRegistry.CompileSession session, List<String> cmd, Path pdfFile,
+            java.util.Map<String, String> env, java.time.Duration timeout) throws IOException, InterruptedException {
+        Path dir = session.getDir();
+        String before = auxFingerprint(dir);
+        byte[] pdf = runCompiler(LatexCompilerProbe.PDFLATEX, cmd, dir, pdfFile, env, timeout);
+        int passes = 1;
+        if (!auxFingerprint(dir).equals(before)) {
+            pdf = runCompiler(LatexCompilerProbe.PDFLATEX, cmd, dir, pdfFile, env, timeout);
+            passes = 2;
+        }
+        sessionRegistry.recordCompile(session, passes);
+        return pdf;
+    }
+
+    /**
+     * Hash of the files whose change means references need another pass.
+     */
+    private static String auxFingerprint(Path dir) throws IOException {
+        java.io.ByteArrayOutputStream buf = new java.io.ByteArrayOutputStream();
+        for (String name : AUX_FILES) {
+            Path file = dir.resolve(name);
+            if (Files.exists(file)) {
+                buf.write(Files.readAllBytes(file));
+            }
+            buf.write(0);
+        }
+        return CompiledPdfCache.sha256Hex(buf.toByteArray());
+    }
+
+    @Override
+    public int getQueueUsage() {
+        return compileScheduler.getInUse();
+    }
+
+    @Override
+    public java.util.Map<String, Object> getCacheStats() {
+        java.util.Map<String, Object> stats = pdfCache.getStats();
+        stats.put("inFlight", inFlight.size());
+        stats.put("coalesced", coalescedCompiles.get());
+        stats.put("failures", failureCache.getStats());
+        return stats;
+    }
+
+    @Override
+    public java.util.Map<String, Object> getSchedulerStats() {
+        java.util.Map<String, Object> stats = compileScheduler.getStats();
+        stats.put("superseded", supersededCompiles.get());
+        if (compileFarm != null) {
+            stats.put("farm", compileFarm.getStats());
+        }
+        return stats;
+    }
+
+    @Override
+    public java.util.Map<String, Object> getCompilerStatus() {
+        // Health checks only read the last snapshot; no processes are spawned here
+        java.util.Map<String, Object> out = new java.util.HashMap<>(statusSnapshot);
+        out.put("formats", formatCache.getStatus());
+        out.put("templates", templateRegistry.getStatus());
+        out.put("processes", processRunner.getStats());
+        out.put("workspaces", workspacePool.getStats());
+        out.put("sessions", sessionRegistry.getStats());
+        out.put("compilers", compilerProbe.getStatus());
+        out.put("routing", compilerProbe.usableCompilers());
+        return out;
+    }
+
+    /**
+     * Re-probe the installed compilers and compile a tiny document with the
+     * preferred one, then publish the result as the health snapshot.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${latex.compiler.probe-interval-ms:300000}")
+    public void refreshCompilerStatus() {
+        long start = System.currentTimeMillis();
+        compilerProbe.probe();
+
+        java.util.List<java.util.Map<String, Object>> details = new java.util.ArrayList<>();
+        boolean any = false;
+        for (String name : compilerProbe.configuredCompilers()) {
+            LatexCompilerProbe.CompilerInfo info = compilerProbe.getCompilers().get(name);
+            if (info == null) {
+                continue;
+            }
+            java.util.Map<String, Object> d = new java.util.HashMap<>();
+            d.put("name", info.getName());
+            d.put("command", info.getExecutable());
+            d.put("available", info.isAvailable());
+            if (info.getVersion() != null) {
+                d.put("version", info.getVersion());
+            }
+            if (info.getError() != null) {
+                d.put("error", info.getError());
+            }
+            any = any || info.isAvailable();
             details.add(d);
         }
 
-        out.put("ready", any);
+        java.util.Map<String, Object> warm = warmCompileEnabled && any ? warmCompile() : null;
+
+        java.util.Map<String, Object> out = new java.util.HashMap<>();
+        out.put("mode", (compilerMode == null || compilerMode.isBlank()) ? "auto" : compilerMode.trim().toLowerCase());
+        out.put("configuredPath", compilerPath == null ? "" : compilerPath);
         out.put("candidates", details);
+        if (warm != null) {
+            out.put("warmCompile", warm);
+            // A busy server skips the warm compile; don't report that as unhealthy
+            out.put("ready", !Boolean.FALSE.equals(warm.get("ok")));
+        } else {
+            out.put("ready", any);
+        }
+        out.put("probedAt", start);
+        out.put("probeLatencyMs", System.currentTimeMillis() - start);
+        statusSnapshot = java.util.Collections.unmodifiableMap(out);
+    }
 
-        // cleanup
+    /**
+     * Compile {@link #WARM_DOCUMENT} with the first usable compiler. Skipped when
+     * every compile permit is taken, so the probe never queues behind users.
+     */
+    private java.util.Map<String, Object> warmCompile() {
+        java.util.Map<String, Object> warm = new java.util.HashMap<>();
+        FairShareCompileScheduler.Permit permit = compileScheduler.tryAcquire(WARM_COMPILE_USER, CompilePriority.BATCH);
+        if (permit == null) {
+            warm.put("skipped", "busy");
+            return warm;
+        }
+        String compiler = compilerProbe.usableCompilers().get(0);
+        warm.put("compiler", compiler);
+        long start = System.currentTimeMillis();
+        Path tempDir = null;
         try {
-            Files.deleteIfExists(dummyTex);
-            Files.deleteIfExists(dummyDir);
-        } catch (Exception ignored) {
+            tempDir = workspacePool.acquire();
+            Path texFile = tempDir.resolve("resume.tex");
+            Files.writeString(texFile, WARM_DOCUMENT, StandardCharsets.UTF_8);
+            List<String> cmd = LatexCompilerProbe.TECTONIC.equals(compiler)
+                    ? buildTectonicCommand(tempDir, texFile)
+                    : buildPdflatexCommand(tempDir, texFile);
+            runCompiler(compiler, cmd, tempDir, tempDir.resolve("resume.pdf"), java.util.Map.of(),
+                    compileScheduler.compileTimeout(CompilePriority.BATCH));
+            warm.put("ok", true);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            warm.put("ok", false);
+            warm.put("error", e.getMessage());
+        } finally {
+            workspacePool.release(tempDir);
+            permit.close();
         }
-        return out;
+        warm.put("ms", System.currentTimeMillis() - start);
+        return warm;
     }
 
-    private byte[] runCompiler(List<String> cmd, Path workDir, Path pdfFile) throws IOException, InterruptedException {
-        ProcessBuilder pb = new ProcessBuilder(cmd);
-        pb.directory(workDir.toFile());
-        pb.redirectErrorStream(true);
+    private byte[] runCompiler(String compiler, List<String> cmd, Path workDir, Path pdfFile,
+            java.util.Map<String, String> env, java.time.Duration timeout) throws IOException, InterruptedException {
+        java.util.Map<String, String> processEnv = new java.util.HashMap<>(env);
         // Set environment to speed up MiKTeX package checks
-        pb.environment().put("MIKTEX_AUTOINSTALL", "yes");
-        pb.environment().put("MIKTEX_TRACE", "error");
+        processEnv.put("MIKTEX_AUTOINSTALL", "yes");
+        processEnv.put("MIKTEX_TRACE", "error");
 
-        Process process;
+        CompilerProcessRunner.ProcessResult result;
         try {
-            process = pb.start();
+            result = processRunner.run(cmd, workDir, processEnv, timeout);
         } catch (IOException e) {
             // Likely the binary is not found on PATH or the configured path is invalid.
             String exe = cmd.isEmpty() ? "<unknown>" : cmd.get(0);
@@ -207,23 +619,16 @@ public class LatexCompileServiceImpl implements LatexCompileService, Initializin
             }
             hint.append("Current mode: '").append(compilerMode).append("'\n");
             hint.append("Configured path: '").append(compilerPath == null ? "" : compilerPath).append("'\n");
-            throw new IOException(hint.toString(), e);
-        }
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        try (InputStream is = process.getInputStream()) {
-            is.transferTo(output);
+            throw new CompilerNotFoundException(compiler, hint.toString(), e);
         }
 
-        boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
-        if (!finished) {
-            process.destroyForcibly();
-            throw new IOException("LaTeX compilation timed out after " + timeoutSeconds + "s");
+        if (result.isTimedOut()) {
+            throw new IOException("LaTeX compilation timed out after " + timeout.toSeconds() + "s");
         }
 
-        int exit = process.exitValue();
+        int exit = result.getExitCode();
         if (Files.notExists(pdfFile) || exit != 0) {
-            String log = output.toString(StandardCharsets.UTF_8);
-            throw new IOException("Compiler: " + String.join(" ", cmd) + " failed (exit=" + exit + "):\n" + log);
+            throw LatexCompileException.fromLog(result.getOutput());
         }
 
         return Files.readAllBytes(pdfFile);
@@ -231,10 +636,24 @@ public class LatexCompileServiceImpl implements LatexCompileService, Initializin
 
     private List<String> buildPdflatexCommand(Path tempDir, Path texFile) {
         List<String> cmd = new ArrayList<>();
-        String exe = compilerPath != null && !compilerPath.isBlank() ? compilerPath : "pdflatex";
-        cmd.add(exe);
+        cmd.add(compilerProbe.executable(LatexCompilerProbe.PDFLATEX));
         cmd.add("-interaction=nonstopmode");
         cmd.add("-halt-on-error");
+        cmd.add("-file-line-error");
+        cmd.add("-output-directory");
+        cmd.add(tempDir.toString());
+        cmd.add(texFile.getFileName().toString());
+        return cmd;
+    }
+
+    private List<String> buildPdflatexFormatCommand(Path tempDir, Path texFile, LatexFormatCache.TemplateFormat format) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(compilerProbe.executable(LatexCompilerProbe.PDFLATEX));
+        cmd.add(formatCache.formatArgument(format));
+        cmd.add("-jobname=resume");
+        cmd.add("-interaction=nonstopmode");
+        cmd.add("-halt-on-error");
+        cmd.add("-file-line-error");
         cmd.add("-output-directory");
         cmd.add(tempDir.toString());
         cmd.add(texFile.getFileName().toString());
@@ -243,27 +662,10 @@ public class LatexCompileServiceImpl implements LatexCompileService, Initializin
 
     private List<String> buildTectonicCommand(Path tempDir, Path texFile) {
         List<String> cmd = new ArrayList<>();
-        String exe = compilerPath != null && !compilerPath.isBlank() ? compilerPath : "tectonic";
-        cmd.add(exe);
+        cmd.add(compilerProbe.executable(LatexCompilerProbe.TECTONIC));
         cmd.add("-o");
         cmd.add(tempDir.toString());
         cmd.add(texFile.toString());
         return cmd;
     }
-
-    private void cleanup(Path tempDir) {
-        try {
-            if (tempDir != null && Files.exists(tempDir)) {
-                Files.walk(tempDir)
-                        .sorted((a, b) -> b.compareTo(a))
-                        .forEach(p -> {
-                            try {
-                                Files.deleteIfExists(p);
-                            } catch (IOException ignored) {
-                            }
-                        });
-            }
-        } catch (IOException ignored) {
-        }
-    }
 }
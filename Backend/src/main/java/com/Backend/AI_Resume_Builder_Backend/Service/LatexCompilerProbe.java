@@ -0,0 +1,205 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which LaTeX compilers are installed.
+ *
+ * Compilers are probed with {@code --version} at startup and periodically
+ * afterwards (see {@link LatexCompileServiceImpl#refreshCompilerStatus()}), so
+ * compiles go straight to a compiler that works instead of paying for a failed
+ * process spawn on every request. A compiler that fails to start during a
+ * compile is marked missing until the next probe.
+ */
+@Component
+public class LatexCompilerProbe implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LatexCompilerProbe.class);
+
+    public static final String TECTONIC = "tectonic";
+    public static final String PDFLATEX = "pdflatex";
+
+    @Value("${latex.compiler:auto}")
+    private String compilerMode;
+
+    @Value("${latex.compiler.path:}")
+    private String compilerPath;
+
+    @Autowired
+    private CompilerProcessRunner processRunner;
+
+    private final Map<String, CompilerInfo> compilers = new ConcurrentHashMap<>();
+
+    /**
+     * Last known state of one compiler.
+     */
+    public static class CompilerInfo {
+        private final String name;
+        private final String executable;
+        private volatile boolean available;
+        private volatile String version;
+        private volatile String error;
+        private volatile long checkedAt;
+
+        CompilerInfo(String name, String executable) {
+            this.name = name;
+            this.executable = executable;
+        }
+
+        public String getName() { return name; }
+        public String getExecutable() { return executable; }
+        public boolean isAvailable() { return available; }
+        public String getVersion() { return version; }
+        public String getError() { return error; }
+        public long getCheckedAt() { return checkedAt; }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String name : configuredCompilers()) {
+            compilers.put(name, new CompilerInfo(name, executable(name)));
+        }
+        probe();
+    }
+
+    public String getMode() {
+        return (compilerMode == null || compilerMode.isBlank()) ? "auto" : compilerMode.trim().toLowerCase();
+    }
+
+    /**
+     * Compilers allowed by {@code latex.compiler}, in preference order.
+     */
+    public List<String> configuredCompilers() {
+        String mode = getMode();
+        if (PDFLATEX.equals(mode)) {
+            return List.of(PDFLATEX);
+        } else if (TECTONIC.equals(mode)) {
+            return List.of(TECTONIC);
+        }
+        return List.of(TECTONIC, PDFLATEX);
+    }
+
+    /**
+     * Compilers to try for a compile, in preference order. Falls back to the
+     * full configured list when none is known to work, so the caller still gets
+     * the "compiler not found" diagnostics.
+     */
+    public List<String> usableCompilers() {
+        List<String> usable = new ArrayList<>();
+        for (String name : configuredCompilers()) {
+            CompilerInfo info = compilers.get(name);
+            if (info != null && info.available) {
+                usable.add(name);
+            }
+        }
+        return usable.isEmpty() ? configuredCompilers() : usable;
+    }
+
+    /**
+     * Record that a compiler could not be started; it is skipped until the next
+     * probe finds it again.
+     */
+    public void markMissing(String name, String error) {
+        CompilerInfo info = compilers.get(name);
+        if (info != null && info.available) {
+            info.available = false;
+            info.error = error;
+            log.warn("LaTeX compiler '{}' could not be started and is disabled until the next probe", name);
+        }
+    }
+
+    /**
+     * The executable to run for a compiler: {@code latex.compiler.path} if it
+     * belongs to that compiler, otherwise the compiler's name on PATH.
+     */
+    public String executable(String name) {
+        return pathBelongsTo(name) ? compilerPath.trim() : name;
+    }
+
+    /**
+     * {@code latex.compiler.path} names a single executable. With a fixed mode
+     * it is that mode's compiler; in auto mode its file name decides, so a
+     * pdflatex path does not also stand in for tectonic.
+     */
+    private boolean pathBelongsTo(String name) {
+        if (compilerPath == null || compilerPath.isBlank()) {
+            return false;
+        }
+        String mode = getMode();
+        if (!"auto".equals(mode)) {
+            return name.equals(mode);
+        }
+        String path = compilerPath.trim();
+        String file = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1).toLowerCase();
+        return TECTONIC.equals(name) == file.contains(TECTONIC);
+    }
+
+    public Map<String, CompilerInfo> getCompilers() {
+        return compilers;
+    }
+
+    /**
+     * Re-check every configured compiler with {@code --version}. Runs once at
+     * startup; afterwards the compile service's health refresh drives it.
+     */
+    public void probe() {
+        Path workDir = Path.of(System.getProperty("java.io.tmpdir", "."));
+        for (CompilerInfo info : compilers.values()) {
+            List<String> cmd = List.of(info.executable, "--version");
+            try {
+                CompilerProcessRunner.ProcessResult r = processRunner.run(cmd, workDir, Map.of(),
+                        Duration.ofSeconds(5));
+                if (r.isTimedOut()) {
+                    throw new java.io.IOException("timeout");
+                }
+                String ver = r.getOutput();
+                String lower = ver.toLowerCase();
+                // the output must name the compiler asked for, not just some TeX engine
+                boolean recognized = TECTONIC.equals(info.name) ? lower.contains("tectonic")
+                        : lower.contains("pdftex") || lower.contains("miktex");
+                info.available = r.getExitCode() == 0 && recognized;
+                info.version = ver.trim();
+                info.error = info.available ? null : "unrecognized --version output";
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                info.available = false;
+                info.version = null;
+                info.error = e.getMessage();
+            }
+            info.checkedAt = System.currentTimeMillis();
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> out = new HashMap<>();
+        for (CompilerInfo info : compilers.values()) {
+            Map<String, Object> d = new HashMap<>();
+            d.put("available", info.available);
+            d.put("executable", info.executable);
+            d.put("checkedAt", info.checkedAt);
+            if (info.version != null) {
+                d.put("version", info.version);
+            }
+            if (info.error != null) {
+                d.put("error", info.error);
+            }
+            out.put(info.name, d);
+        }
+        return out;
+    }
+}
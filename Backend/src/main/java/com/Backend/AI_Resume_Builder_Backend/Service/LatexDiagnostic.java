@@ -0,0 +1,40 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+/**
+ * One error or warning found in a compiler log, in a shape the editor can
+ * show next to the offending line.
+ */
+public class LatexDiagnostic {
+
+    private final String severity; // error | warning
+    private final String type; // e.g. undefined-control-sequence, missing-file, latex-warning
+    private final String file; // source file as the compiler named it; null if unknown
+    private final Integer line; // 1-based; null if the log gives none
+    private final String message;
+    private final String context; // the "l.<n> ..." excerpt TeX prints under an error
+
+    public LatexDiagnostic(String severity, String type, String file, Integer line, String message, String context) {
+        this.severity = severity;
+        this.type = type;
+        this.file = file;
+        this.line = line;
+        this.message = message;
+        this.context = context;
+    }
+
+    public String getSeverity() { return severity; }
+    public String getType() { return type; }
+    public String getFile() { return file; }
+    public Integer getLine() { return line; }
+    public String getMessage() { return message; }
+    public String getContext() { return context; }
+
+    public boolean isError() {
+        return "error".equals(severity);
+    }
+
+    @Override
+    public String toString() {
+        return (line == null ? "" : "line " + line + ": ") + message;
+    }
+}
@@ -0,0 +1,103 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Escapes text for LaTeX in one pass over the input, using a lookup table
+ * indexed by character. Runs of ordinary characters are copied to the output
+ * as they are, so escaping into a writer allocates nothing.
+ *
+ * The replacements match the chained {@code String.replace} calls this
+ * replaced, including {@code \} becoming {@code \textbackslash\{\}} (the
+ * braces were escaped by the later passes).
+ */
+public final class LatexEscaper {
+
+    private static final String[] REPLACEMENTS = new String[128];
+
+    static {
+        REPLACEMENTS['\\'] = "\\textbackslash\\{\\}";
+        REPLACEMENTS['&'] = "\\&";
+        REPLACEMENTS['%'] = "\\%";
+        REPLACEMENTS['$'] = "\\$";
+        REPLACEMENTS['#'] = "\\#";
+        REPLACEMENTS['_'] = "\\_";
+        REPLACEMENTS['{'] = "\\{";
+        REPLACEMENTS['}'] = "\\}";
+        REPLACEMENTS['~'] = "\\textasciitilde{}";
+        REPLACEMENTS['^'] = "\\textasciicircum{}";
+    }
+
+    private LatexEscaper() {
+    }
+
+    /**
+     * @return the escaped text; {@code text} itself when nothing needs
+     *         escaping, and {@code ""} for {@code null}
+     */
+    public static String escape(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        int first = firstSpecial(text);
+        if (first < 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        escape(text, out);
+        return out.toString();
+    }
+
+    /**
+     * Append the escaped form of {@code text} to {@code out}.
+     */
+    public static void escape(CharSequence text, StringBuilder out) {
+        try {
+            escape(text, (Appendable) out);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the escaped form of {@code text} to {@code out}.
+     */
+    public static void escape(CharSequence text, Appendable out) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int first = firstSpecial(text);
+        if (first < 0) {
+            out.append(text);
+            return;
+        }
+        escape(text, first, out);
+    }
+
+    private static void escape(CharSequence text, int first, Appendable out) throws IOException {
+        int length = text.length();
+        out.append(text, 0, first);
+        int runStart = first;
+        for (int i = first; i < length; i++) {
+            char c = text.charAt(i);
+            String replacement = c < REPLACEMENTS.length ? REPLACEMENTS[c] : null;
+            if (replacement != null) {
+                out.append(text, runStart, i).append(replacement);
+                runStart = i + 1;
+            }
+        }
+        out.append(text, runStart, length);
+    }
+
+    private static int firstSpecial(CharSequence text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c < REPLACEMENTS.length && REPLACEMENTS[c] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,321 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled pdflatex formats for the static preamble of each template.
+ *
+ * At startup the part of every registered template's preamble that contains no
+ * placeholders is dumped into a format file with {@code pdflatex -ini} and
+ * mylatexformat. A document whose source still starts with that exact prefix is
+ * then compiled against the format with {@code \endofdump} inserted after the
+ * prefix, so pdflatex skips re-reading the packages. Any other source, such as
+ * one with a user-edited preamble, compiles the normal way. So does output of
+ * a template hot-swapped later with a different preamble, until the next
+ * restart builds its format.
+ */
+@Component
+public class LatexFormatCache implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LatexFormatCache.class);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{[#/]?\\s*[A-Za-z0-9_]+\\s*\\}\\}");
+    private static final String BEGIN_DOCUMENT = "\\begin{document}";
+    private static final String STUB_BODY = BEGIN_DOCUMENT + "\nx\n\\end{document}\n";
+
+    @Value("${latex.format.enabled:true}")
+    private boolean enabled;
+
+    @Value("${latex.format.dir:}")
+    private String formatDir;
+
+    @Value("${latex.format.build-timeout-seconds:120}")
+    private int buildTimeoutSeconds;
+
+    @Value("${latex.compiler:auto}")
+    private String compilerMode;
+
+    @Autowired
+    private CompilerProcessRunner processRunner;
+
+    @Autowired
+    private LatexCompilerProbe compilerProbe;
+
+    @Autowired
+    private LatexTemplateRegistry templateRegistry;
+
+    private Path formatRoot;
+    private final Map<String, TemplateFormat> formats = new ConcurrentHashMap<>();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * A format built from one template's static preamble prefix.
+     */
+    public static class TemplateFormat {
+        private final String templateType;
+        private final String name;
+        private final String prefix;
+        private volatile boolean ready;
+        private volatile String error;
+        private volatile long buildMs;
+        private volatile long coldStubMs;
+        private volatile long formatStubMs;
+        private final AtomicLong uses = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        TemplateFormat(String templateType, String prefix) {
+            this.templateType = templateType;
+            this.name = "resume_" + templateType;
+            this.prefix = prefix;
+        }
+
+        public String getTemplateType() { return templateType; }
+        public String getName() { return name; }
+        public boolean isReady() { return ready; }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        String mode = (compilerMode == null || compilerMode.isBlank()) ? "auto" : compilerMode.trim().toLowerCase();
+        if (!enabled || "tectonic".equals(mode)) {
+            return;
+        }
+        try {
+            formatRoot = (formatDir == null || formatDir.isBlank())
+                    ? Path.of(System.getProperty("java.io.tmpdir"), "latex_formats")
+                    : Path.of(formatDir.trim());
+            Files.createDirectories(formatRoot);
+        } catch (IOException e) {
+            log.warn("Precompiled LaTeX formats disabled, directory unavailable: {}", e.getMessage());
+            formatRoot = null;
+            return;
+        }
+        // Building formats takes a few seconds per template; keep it off the startup path
+        Thread builder = new Thread(this::buildAll, "latex-format-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Find a ready format whose static prefix the given source starts with.
+     *
+     * @return the matching format, or null when the source must compile normally
+     */
+    public TemplateFormat match(String latexCode) {
+        if (formatRoot == null || latexCode == null) {
+            return null;
+        }
+        for (TemplateFormat format : formats.values()) {
+            if (format.ready && latexCode.startsWith(format.prefix)) {
+                return format;
+            }
+        }
+        if (!formats.isEmpty()) {
+            fallbacks.incrementAndGet();
+        }
+        return null;
+    }
+
+    /**
+     * Write a matching source so the preamble part stored in the format is
+     * skipped when compiling with it.
+     */
+    public void writeWithFormat(String latexCode, TemplateFormat format, Appendable out) throws IOException {
+        out.append(format.prefix).append("\\endofdump\n").append(latexCode, format.prefix.length(), latexCode.length());
+    }
+
+    /**
+     * Command-line switch that selects the format.
+     */
+    public String formatArgument(TemplateFormat format) {
+        return "-fmt=" + format.name;
+    }
+
+    /**
+     * Environment needed for pdflatex to locate our format files; the trailing
+     * separator keeps the default search path.
+     */
+    public Map<String, String> environment() {
+        if (formatRoot == null) {
+            return Map.of();
+        }
+        return Map.of("TEXFORMATS", formatRoot.toAbsolutePath() + File.pathSeparator);
+    }
+
+    /**
+     * Whether a compile against a format failed because of the format itself
+     * (missing, unreadable or built by another engine version) rather than
+     * the document. Only those are worth retrying without the format.
+     */
+    public static boolean isFormatFailure(LatexCompileException e) {
+        String log = e.getLog();
+        if (log == null) {
+            return false;
+        }
+        for (String line : log.split("\\R")) {
+            if (line.contains("can't find the format") || line.contains("Fatal format file error")
+                    || (line.startsWith("---! ") && line.contains(".fmt"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void recordResult(TemplateFormat format, boolean success) {
+        if (success) {
+            format.uses.incrementAndGet();
+        } else {
+            format.failures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Per-template format state and measured speedup for the compiler status map.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> out = new HashMap<>();
+        out.put("enabled", formatRoot != null);
+        out.put("fallbacks", fallbacks.get());
+        Map<String, Object> templates = new LinkedHashMap<>();
+        for (TemplateFormat format : formats.values()) {
+            Map<String, Object> t = new HashMap<>();
+            t.put("ready", format.ready);
+            t.put("uses", format.uses.get());
+            t.put("failures", format.failures.get());
+            if (format.error != null) {
+                t.put("error", format.error);
+            }
+            if (format.ready) {
+                t.put("buildMs", format.buildMs);
+                t.put("coldCompileMs", format.coldStubMs);
+                t.put("formatCompileMs", format.formatStubMs);
+                t.put("speedup", format.formatStubMs > 0
+                        ? Math.round(100.0 * format.coldStubMs / format.formatStubMs) / 100.0
+                        : 0.0);
+            }
+            templates.put(format.templateType, t);
+        }
+        out.put("templates", templates);
+        return out;
+    }
+
+    private void buildAll() {
+        for (LatexTemplateRegistry.Entry template : templateRegistry.getTemplates().values()) {
+            String prefix = staticPrefix(template.source());
+            if (prefix == null) {
+                continue;
+            }
+            TemplateFormat format = new TemplateFormat(template.type(), prefix);
+            formats.put(template.type(), format);
+            build(format);
+        }
+    }
+
+    private void build(TemplateFormat format) {
+        Path dir = formatRoot;
+        try {
+            Path preamble = dir.resolve(format.name + "_preamble.tex");
+            Files.writeString(preamble, format.prefix + "\\endofdump\n" + STUB_BODY);
+
+            long start = System.nanoTime();
+            List<String> ini = new ArrayList<>();
+            ini.add(pdflatexExecutable());
+            ini.add("-ini");
+            ini.add("-interaction=nonstopmode");
+            ini.add("-jobname=" + format.name);
+            ini.add("&pdflatex");
+            ini.add("mylatexformat.ltx");
+            ini.add(preamble.getFileName().toString());
+            run(ini, dir, Map.of());
+            if (Files.notExists(dir.resolve(format.name + ".fmt"))) {
+                throw new IOException("format file was not produced");
+            }
+            format.buildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Measure the stub document with and without the format
+            Path cold = dir.resolve(format.name + "_cold.tex");
+            Files.writeString(cold, format.prefix + STUB_BODY);
+            format.coldStubMs = timeCompile(List.of(pdflatexExecutable(), "-interaction=nonstopmode",
+                    "-halt-on-error", cold.getFileName().toString()), dir, Map.of());
+            format.formatStubMs = timeCompile(List.of(pdflatexExecutable(), formatArgument(format),
+                    "-interaction=nonstopmode", "-halt-on-error", preamble.getFileName().toString()), dir,
+                    environment());
+
+            format.ready = true;
+            log.info("Precompiled LaTeX format for '{}' in {} ms (stub compile {} ms -> {} ms)",
+                    format.templateType, format.buildMs, format.coldStubMs, format.formatStubMs);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            format.error = e.getMessage();
+            log.info("Precompiled LaTeX format for '{}' unavailable: {}", format.templateType, e.getMessage());
+        }
+    }
+
+    private long timeCompile(List<String> cmd, Path dir, Map<String, String> env)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        run(cmd, dir, env);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void run(List<String> cmd, Path dir, Map<String, String> env) throws IOException, InterruptedException {
+        CompilerProcessRunner.ProcessResult result = processRunner.run(cmd, dir, env,
+                Duration.ofSeconds(buildTimeoutSeconds));
+        if (result.isTimedOut()) {
+            throw new IOException("timed out after " + buildTimeoutSeconds + "s");
+        }
+        if (result.getExitCode() != 0) {
+            String out = result.getOutput();
+            throw new IOException("exit=" + result.getExitCode() + ": "
+                    + out.substring(Math.max(0, out.length() - 500)));
+        }
+    }
+
+    private String pdflatexExecutable() {
+        return compilerProbe.executable(LatexCompilerProbe.PDFLATEX);
+    }
+
+    /**
+     * The part of the preamble before the first placeholder (or before
+     * {@code \begin{document}}), cut at a line boundary.
+     */
+    static String staticPrefix(String template) {
+        int begin = template.indexOf(BEGIN_DOCUMENT);
+        if (begin < 0) {
+            return null;
+        }
+        int end = begin;
+        Matcher m = PLACEHOLDER.matcher(template);
+        if (m.find() && m.start() < end) {
+            end = m.start();
+        }
+        int lineStart = template.lastIndexOf('\n', end - 1) + 1;
+        if (lineStart <= 0) {
+            return null;
+        }
+        return template.substring(0, lineStart);
+    }
+}
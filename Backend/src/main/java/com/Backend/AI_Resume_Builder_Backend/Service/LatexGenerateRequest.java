@@ -0,0 +1,12 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Body of {@code /api/latex/generate} and {@code /api/latex/generate-and-compile}.
+ * {@code sessionId} and {@code priority} are only read by the latter.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LatexGenerateRequest(ResumeModel resumeData, String templateType, String sessionId,
+        String priority) {
+}
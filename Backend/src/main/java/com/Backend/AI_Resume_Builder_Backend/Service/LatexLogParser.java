@@ -0,0 +1,173 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts errors and warnings from pdflatex and tectonic output.
+ *
+ * Understands TeX's classic {@code ! message} errors with the {@code l.<n>}
+ * line that follows them, the {@code file:line: message} form printed with
+ * {@code -file-line-error} (and by tectonic, prefixed with {@code error:}),
+ * and LaTeX, package and class warnings including their continuation lines.
+ * Overfull/underfull box notes are left out; they are not something the
+ * editor should flag.
+ */
+public final class LatexLogParser {
+
+    static final int MAX_DIAGNOSTICS = 50;
+
+    // TeX wraps log lines at this width (max_print_line)
+    private static final int LOG_LINE_WIDTH = 79;
+
+    private static final Pattern FILE_LINE_ERROR = Pattern.compile(
+            "^(?:(error|warning): )?((?:\\./)?[^\\s:]+\\.(?:tex|sty|cls|bbl|aux|def|cfg|clo)):(\\d+): (.*)$");
+    private static final Pattern TEX_ERROR = Pattern.compile("^! (.*)$");
+    private static final Pattern TECTONIC_ERROR = Pattern.compile("^error: (.*)$");
+    private static final Pattern LINE_MARKER = Pattern.compile("^l\\.(\\d+)(?: (.*))?$");
+    private static final Pattern WARNING = Pattern.compile("^(LaTeX|Package (\\S+)|Class (\\S+)) Warning: (.*)$");
+    private static final Pattern INPUT_LINE = Pattern.compile("on input line (\\d+)");
+    private static final Pattern UNDEFINED_REFERENCE = Pattern.compile("^(Reference|Citation) .* undefined");
+
+    private LatexLogParser() {
+    }
+
+    public static List<LatexDiagnostic> parse(String log) {
+        List<LatexDiagnostic> out = new ArrayList<>();
+        if (log == null || log.isEmpty()) {
+            return out;
+        }
+        String[] lines = log.split("\\r?\\n");
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < lines.length && out.size() < MAX_DIAGNOSTICS; i++) {
+            String line = lines[i];
+            Matcher m;
+            if ((m = FILE_LINE_ERROR.matcher(line)).matches()) {
+                String severity = "warning".equals(m.group(1)) ? "warning" : "error";
+                String message = m.group(4).trim();
+                if (message.startsWith("Overfull") || message.startsWith("Underfull")) {
+                    continue;
+                }
+                String context = severity.equals("error") ? context(lines, i + 1) : null;
+                add(out, seen, new LatexDiagnostic(severity, classify(message, severity), stripDot(m.group(2)),
+                        Integer.parseInt(m.group(3)), message, context));
+            } else if ((m = TEX_ERROR.matcher(line)).matches()) {
+                String message = m.group(1).trim();
+                if (isConsequence(message)) {
+                    continue;
+                }
+                Integer lineNumber = null;
+                String context = context(lines, i + 1);
+                if (context != null) {
+                    Matcher marker = LINE_MARKER.matcher(context.lines().findFirst().orElse(""));
+                    if (marker.matches()) {
+                        lineNumber = Integer.parseInt(marker.group(1));
+                    }
+                }
+                add(out, seen, new LatexDiagnostic("error", classify(message, "error"), null, lineNumber, message,
+                        context));
+            } else if ((m = TECTONIC_ERROR.matcher(line)).matches()) {
+                String message = m.group(1).trim();
+                if (!isConsequence(message)) {
+                    add(out, seen, new LatexDiagnostic("error", classify(message, "error"), null, null, message, null));
+                }
+            } else if ((m = WARNING.matcher(line)).matches()) {
+                String source = m.group(2) != null ? m.group(2) : m.group(3);
+                StringBuilder message = new StringBuilder(m.group(4).trim());
+                String previous = line;
+                // Package warnings continue on lines starting with "(name)"; others are wrapped log lines
+                while (i + 1 < lines.length && !lines[i + 1].isBlank()) {
+                    String next = lines[i + 1];
+                    if (source != null && next.startsWith("(" + source + ")")) {
+                        message.append(' ').append(next.substring(source.length() + 2).trim());
+                    } else if (previous.length() >= LOG_LINE_WIDTH) {
+                        // a wrapped line continues without a separator
+                        message.append(next);
+                    } else {
+                        break;
+                    }
+                    previous = next;
+                    i++;
+                }
+                String text = message.toString();
+                if (text.startsWith("There were undefined references") || text.startsWith("Label(s) may have changed")) {
+                    continue;
+                }
+                Matcher inputLine = INPUT_LINE.matcher(text);
+                Integer lineNumber = inputLine.find() ? Integer.parseInt(inputLine.group(1)) : null;
+                String type = UNDEFINED_REFERENCE.matcher(text).find() ? "undefined-reference"
+                        : m.group(2) != null ? "package-warning"
+                        : m.group(3) != null ? "class-warning" : "latex-warning";
+                add(out, seen, new LatexDiagnostic("warning", type, null, lineNumber, text, null));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * The {@code l.<n>} excerpt after an error: the marker line and the line
+     * holding the rest of the input, if it appears before the next error.
+     */
+    private static String context(String[] lines, int from) {
+        for (int j = from; j < Math.min(lines.length, from + 12); j++) {
+            boolean nextError = lines[j].startsWith("! ") && !isConsequence(lines[j].substring(2).trim());
+            if (nextError || FILE_LINE_ERROR.matcher(lines[j]).matches()) {
+                return null;
+            }
+            if (LINE_MARKER.matcher(lines[j]).matches()) {
+                String rest = j + 1 < lines.length ? lines[j + 1] : "";
+                return rest.isBlank() ? lines[j] : lines[j] + "\n" + rest;
+            }
+        }
+        return null;
+    }
+
+    private static String classify(String message, String severity) {
+        if ("warning".equals(severity)) {
+            return "latex-warning";
+        }
+        if (message.startsWith("Undefined control sequence")) {
+            return "undefined-control-sequence";
+        }
+        if (message.contains("not found") && (message.contains("File `") || message.contains("file `"))) {
+            return "missing-file";
+        }
+        if (message.startsWith("Missing $ inserted")) {
+            return "missing-math-delimiter";
+        }
+        if (message.startsWith("Runaway argument") || message.startsWith("Paragraph ended before")) {
+            return "runaway-argument";
+        }
+        if (message.startsWith("Package ")) {
+            return "package-error";
+        }
+        if (message.startsWith("LaTeX Error")) {
+            return "latex-error";
+        }
+        return "tex-error";
+    }
+
+    /**
+     * Lines that only report that an earlier error stopped the run.
+     */
+    private static boolean isConsequence(String message) {
+        return message.startsWith("Emergency stop")
+                || message.startsWith("==> Fatal error occurred")
+                || message.startsWith("halted on potentially-recoverable error")
+                || message.startsWith("the TeX engine had an error");
+    }
+
+    private static String stripDot(String file) {
+        return file.startsWith("./") ? file.substring(2) : file;
+    }
+
+    private static void add(List<LatexDiagnostic> out, Set<String> seen, LatexDiagnostic d) {
+        if (seen.add(d.getSeverity() + "|" + d.getLine() + "|" + d.getMessage())) {
+            out.add(d);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rendered text of resume sections (skills, experience, projects, ...),
+ * keyed by template version, section and a hash of the data the section is
+ * rendered from. The editor regenerates the whole document on every form
+ * edit; with this cache only the sections whose data changed are rendered
+ * again.
+ *
+ * Hits and misses are counted per section and exported as
+ * {@code latex.render.section.lookups} and
+ * {@code latex.render.section.hit.ratio}.
+ */
+@Component
+public class LatexSectionCache {
+
+    @Value("${latex.render.section-cache-max-entries:2000}")
+    private int maxEntries;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ConcurrentHashMap<String, SectionStats> sections = new ConcurrentHashMap<>();
+
+    private static class SectionStats {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+
+        double hitRatio() {
+            long h = hits.get();
+            long total = h + misses.get();
+            return total == 0 ? 0 : (double) h / total;
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * @param section section name the lookup is counted under
+     * @return the cached text, or {@code null}
+     */
+    public String get(String key, String section) {
+        String text;
+        synchronized (this) {
+            text = entries.get(key);
+        }
+        SectionStats stats = stats(section);
+        (text != null ? stats.hits : stats.misses).incrementAndGet();
+        return text;
+    }
+
+    public void put(String key, String text) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            entries.put(key, text);
+            Iterator<String> it = entries.values().iterator();
+            while (it.hasNext() && entries.size() > maxEntries) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        Map<String, Object> bySection = new HashMap<>();
+        sections.forEach((name, s) -> {
+            Map<String, Object> section = new HashMap<>();
+            section.put("hits", s.hits.get());
+            section.put("misses", s.misses.get());
+            section.put("hitRatio", s.hitRatio());
+            bySection.put(name, section);
+        });
+        stats.put("sections", bySection);
+        return stats;
+    }
+
+    private SectionStats stats(String section) {
+        SectionStats stats = sections.get(section);
+        if (stats != null) {
+            return stats;
+        }
+        return sections.computeIfAbsent(section, name -> {
+            SectionStats created = new SectionStats();
+            FunctionCounter.builder("latex.render.section.lookups", created.hits, AtomicLong::get)
+                    .description("Section render cache lookups")
+                    .tags("section", name, "result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("latex.render.section.lookups", created.misses, AtomicLong::get)
+                    .description("Section render cache lookups")
+                    .tags("section", name, "result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("latex.render.section.hit.ratio", created, SectionStats::hitRatio)
+                    .description("Share of section renders served from the cache")
+                    .tags("section", name)
+                    .register(meterRegistry);
+            return created;
+        });
+    }
+}
@@ -8,13 +8,46 @@ public interface LatexService {
     /**
      * Generate LaTeX code from resume data
      * 
-     * @param resumeData   The resume data in JSON format
+     * @param resumeData   The resume data in JSON format, converted with
+     *                     {@link ResumeModel#fromMap}
      * @param templateType The template type (modern, professional, ats, creative)
      * @return LaTeX source code as String
      * @throws IOException if template file cannot be read
      */
     String generateLatexCode(Map<String, Object> resumeData, String templateType) throws IOException;
 
+    /**
+     * Generate LaTeX code from resume data straight into a writer or buffer,
+     * without building the document as a String first
+     *
+     * @param resumeData   The resume data in JSON format
+     * @param templateType The template type (modern, professional, ats, creative)
+     * @param out          Where the LaTeX source is written
+     * @throws IOException if template file cannot be read or writing fails
+     */
+    void writeLatexCode(Map<String, Object> resumeData, String templateType, Appendable out) throws IOException;
+
+    /**
+     * Generate LaTeX code from the typed resume model
+     *
+     * @param resume       The resume data, as bound from the request body
+     * @param templateType The template type (modern, professional, ats, creative)
+     * @return LaTeX source code as String
+     * @throws IOException if template file cannot be read
+     */
+    String generateLatexCode(ResumeModel resume, String templateType) throws IOException;
+
+    /**
+     * Generate LaTeX code from the typed resume model straight into a writer
+     * or buffer
+     *
+     * @param resume       The resume data, as bound from the request body
+     * @param templateType The template type (modern, professional, ats, creative)
+     * @param out          Where the LaTeX source is written
+     * @throws IOException if template file cannot be read or writing fails
+     */
+    void writeLatexCode(ResumeModel resume, String templateType, Appendable out) throws IOException;
+
     /**
      * Get list of available LaTeX templates
      * 
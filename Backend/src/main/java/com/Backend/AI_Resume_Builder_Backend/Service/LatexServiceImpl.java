@@ -1,266 +1,331 @@
 package com.Backend.AI_Resume_Builder_Backend.Service;
 
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.function.Function;
 
 @Service
 public class LatexServiceImpl implements LatexService {
 
+    // In the order of the ResumeModel.Skills components
+    private static final List<String> SKILL_PLACEHOLDERS = List.of("SKILL_LANGUAGES", "SKILL_FRAMEWORKS",
+            "SKILL_DATABASES", "SKILL_TOOLS", "SKILL_CLOUD", "SKILL_OTHER");
+
+    // Top-level template sections rendered through the section cache
+    private static final Set<String> CACHED_SECTIONS = Set.of("HAS_SKILLS", "HAS_EXPERIENCE", "HAS_PROJECTS",
+            "HAS_EDUCATION", "HAS_CERTIFICATIONS", "HAS_ACHIEVEMENTS", "HAS_LANGUAGES");
+
+    /**
+     * Parts of the resume, each bound into the template scope on its own: the
+     * model data it reads and the template names it binds. A cached section's
+     * key covers the data of every part it refers to.
+     */
+    private enum ResumePart {
+        HEADER(resume -> List.of(resume.personalInformation(), resume.summary()), "FULL_NAME", "EMAIL", "PHONE_NUMBER", "LOCATION",
+                "LINKEDIN", "GITHUB", "PORTFOLIO", "LINKEDIN_DISPLAY", "GITHUB_DISPLAY", "SUMMARY"),
+        SKILLS(ResumeModel::skills, "HAS_SKILLS", "SKILL_LANGUAGES", "SKILL_FRAMEWORKS", "SKILL_DATABASES",
+                "SKILL_TOOLS", "SKILL_CLOUD", "SKILL_OTHER"),
+        EXPERIENCE(ResumeModel::experience, "HAS_EXPERIENCE", "EXPERIENCE"),
+        PROJECTS(ResumeModel::projects, "HAS_PROJECTS", "PROJECTS"),
+        EDUCATION(ResumeModel::education, "HAS_EDUCATION", "EDUCATION"),
+        CERTIFICATIONS(ResumeModel::certifications, "HAS_CERTIFICATIONS", "CERTIFICATIONS"),
+        ACHIEVEMENTS(ResumeModel::achievements, "HAS_ACHIEVEMENTS", "ACHIEVEMENTS");
+
+        private static final Map<String, ResumePart> BY_NAME = new HashMap<>();
+
+        static {
+            for (ResumePart part : values()) {
+                for (String name : part.names) {
+                    BY_NAME.put(name, part);
+                }
+            }
+        }
+
+        final Function<ResumeModel, Object> data;
+        final Set<String> names;
+
+        ResumePart(Function<ResumeModel, Object> data, String... names) {
+            this.data = data;
+            this.names = Set.of(names);
+        }
+
+        /**
+         * Parts binding any of {@code names}; loop entry names belong to no part.
+         */
+        static EnumSet<ResumePart> owning(Collection<String> names) {
+            EnumSet<ResumePart> parts = EnumSet.noneOf(ResumePart.class);
+            for (String name : names) {
+                ResumePart part = BY_NAME.get(name);
+                if (part != null) {
+                    parts.add(part);
+                }
+            }
+            return parts;
+        }
+    }
+
+    @Autowired
+    private LatexSectionCache sectionCache;
+
+    @Autowired
+    private LatexTemplateRegistry templateRegistry;
+
     @Override
     public String generateLatexCode(Map<String, Object> resumeData, String templateType) throws IOException {
+        return generateLatexCode(ResumeModel.fromMap(resumeData), templateType);
+    }
+
+    @Override
+    public String generateLatexCode(ResumeModel resume, String templateType) throws IOException {
         // Default to professional if template not specified
         if (templateType == null || templateType.trim().isEmpty()) {
             templateType = "professional";
         }
 
-        // Load template
-        String template = loadLatexTemplate(templateType);
-
-        // Populate template with data
-        String latexCode = populateTemplate(template, resumeData, templateType);
-
-        return latexCode;
+        StringBuilder latexCode = new StringBuilder();
+        writeLatexCode(resume, templateType, latexCode);
+        return latexCode.toString();
     }
 
     @Override
     public Map<String, String> getAvailableTemplates() {
-        Map<String, String> templates = new LinkedHashMap<>();
-        templates.put("modern", "Modern CV - Clean and contemporary design with ModernCV package");
-        templates.put("professional", "Professional - Classic two-column layout for all industries");
-        templates.put("ats", "ATS-Optimized - Simple format that passes automated screening");
-        templates.put("creative", "Creative - Bold and unique design for creative professionals");
-        return templates;
+        return templateRegistry.getDescriptions();
     }
 
     @Override
-    public String escapeLatexSpecialChars(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-
-        // Escape LaTeX special characters
-        text = text.replace("\\", "\\textbackslash{}");
-        text = text.replace("&", "\\&");
-        text = text.replace("%", "\\%");
-        text = text.replace("$", "\\$");
-        text = text.replace("#", "\\#");
-        text = text.replace("_", "\\_");
-        text = text.replace("{", "\\{");
-        text = text.replace("}", "\\}");
-        text = text.replace("~", "\\textasciitilde{}");
-        text = text.replace("^", "\\textasciicircum{}");
-
-        return text;
+    public void writeLatexCode(Map<String, Object> resumeData, String templateType, Appendable out)
+            throws IOException {
+        writeLatexCode(ResumeModel.fromMap(resumeData), templateType, out);
     }
 
-    private String loadLatexTemplate(String templateType) throws IOException {
-        String fileName = "latex_templates/" + templateType + "_template.tex";
-        try {
-            ClassPathResource resource = new ClassPathResource(fileName);
-            if (!resource.exists()) {
-                throw new IOException("LaTeX template not found: " + fileName);
+    @Override
+    public void writeLatexCode(ResumeModel resume, String templateType, Appendable out) throws IOException {
+        ResumeModel resumeData = resume != null ? resume : ResumeModel.EMPTY;
+        if (templateType == null || templateType.trim().isEmpty()) {
+            templateType = "professional";
+        }
+        LatexTemplate template = getTemplate(templateType);
+        String type = templateType;
+
+        // Bind up front only what is used outside the cached sections; the rest
+        // is bound when a cached section has to be rendered again
+        LatexTemplate.Scope scope = new LatexTemplate.Scope();
+        Set<String> eager = new HashSet<>(template.getLooseReferences());
+        for (String section : template.getTopLevelSections()) {
+            if (!CACHED_SECTIONS.contains(section)) {
+                eager.addAll(template.getSectionReferences(section));
             }
+        }
+        EnumSet<ResumePart> bound = EnumSet.noneOf(ResumePart.class);
+        bindParts(scope, ResumePart.owning(eager), bound, resumeData, type);
 
-            try (InputStream inputStream = resource.getInputStream()) {
-                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        template.render(scope, out, (section, occurrence, renderer) -> {
+            if (!CACHED_SECTIONS.contains(section)) {
+                return renderer.render();
             }
-        } catch (Exception e) {
-            throw new IOException("Failed to load LaTeX template: " + fileName, e);
-        }
+            EnumSet<ResumePart> parts = ResumePart.owning(template.getSectionReferences(section));
+            if (!sectionCache.isEnabled()) {
+                bindParts(scope, parts, bound, resumeData, type);
+                return renderer.render();
+            }
+            String key = sectionKey(template, section, occurrence, parts, resumeData);
+            String text = sectionCache.get(key, section);
+            if (text == null) {
+                bindParts(scope, parts, bound, resumeData, type);
+                text = renderer.render();
+                sectionCache.put(key, text);
+            }
+            return text;
+        });
     }
 
-    private String populateTemplate(String template, Map<String, Object> resumeData, String templateType) {
-        // Extract personal information
-        Map<String, Object> personalInfo = getMapValue(resumeData, "personalInformation");
-
-        // Replace simple placeholders
-        template = replacePlaceholder(template, "FULL_NAME",
-                getStringValue(personalInfo, "fullName"));
-        template = replacePlaceholder(template, "EMAIL",
-                getStringValue(personalInfo, "email"));
-        template = replacePlaceholder(template, "PHONE_NUMBER",
-                getStringValue(personalInfo, "phoneNumber"));
-        template = replacePlaceholder(template, "LOCATION",
-                getStringValue(personalInfo, "location"));
-
-        // Handle optional links
-        // Optional sections in header/footer links
-        template = handleOptionalSection(template, "LINKEDIN",
-                getStringValue(personalInfo, "linkedIn"));
-        template = handleOptionalSection(template, "GITHUB",
-                getStringValue(personalInfo, "gitHub"));
-        template = handleOptionalSection(template, "PORTFOLIO",
-                getStringValue(personalInfo, "portfolio"));
-        template = handleOptionalSection(template, "EMAIL",
-                getStringValue(personalInfo, "email"));
-        template = handleOptionalSection(template, "PHONE_NUMBER",
-                getStringValue(personalInfo, "phoneNumber"));
-
-        // LinkedIn and GitHub display (without https://)
-        String linkedin = getStringValue(personalInfo, "linkedIn");
-        String github = getStringValue(personalInfo, "gitHub");
-        String linkedinDisplay = linkedin.replace("https://", "").replace("http://", "");
-        String githubDisplay = github.replace("https://", "").replace("http://", "");
-        template = replacePlaceholder(template, "LINKEDIN_DISPLAY",
-                escapeLatexSpecialChars(linkedinDisplay));
-        template = replacePlaceholder(template, "GITHUB_DISPLAY",
-                escapeLatexSpecialChars(githubDisplay));
-
-        // Summary
-        template = handleOptionalSection(template, "SUMMARY",
-                getStringValue(resumeData, "summary"));
-
-        // Skills
-        template = handleSkillsSection(template, resumeData);
-
-        // Experience
-        template = handleExperienceSection(template, resumeData);
-
-        // Projects
-        template = handleProjectsSection(template, resumeData, templateType);
-
-        // Education
-        template = handleEducationSection(template, resumeData);
-
-        // Certifications
-        template = handleCertificationsSection(template, resumeData);
-
-        // Achievements
-        template = handleAchievementsSection(template, resumeData);
-
-        // Languages
-        template = handleLanguagesSection(template, resumeData);
+    @Override
+    public String escapeLatexSpecialChars(String text) {
+        return LatexEscaper.escape(text);
+    }
 
-        // As a final safety step, strip any leftover Mustache-like tags so LaTeX never
-        // sees
-        // raw markers like {{#EMAIL}} or {{UNRESOLVED}} which can introduce # into TeX.
-        return sanitizeTemplateArtifacts(template);
+    private LatexTemplate getTemplate(String templateType) throws IOException {
+        LatexTemplateRegistry.Entry entry = templateRegistry.get(templateType);
+        if (entry == null) {
+            throw new IOException("LaTeX template not found: " + templateType);
+        }
+        return entry.template();
     }
 
     /**
-     * Remove any leftover Mustache-like artifacts to avoid LaTeX errors if a
-     * placeholder/section
-     * slips through. This is a defensive cleanup that runs after all normal
-     * replacements.
-     *
-     * Examples removed:
-     * - {{#SECTION}} ... {{/SECTION}}
-     * - {{PLACEHOLDER}}
-     * - {{{PLACEHOLDER}}}
+     * Bind the parts not bound yet. Sections are shown only when they have
+     * content; placeholders without a value render as nothing.
      */
-    private String sanitizeTemplateArtifacts(String template) {
-        if (template == null || template.isEmpty())
-            return template;
-
-        // 1) Remove any remaining section blocks of the form {{#NAME}} ... {{/NAME}}
-        // Use DOTALL-like behavior by matching across newlines with (?s) and reluctant
-        // quantifier
-        // Java does not support inline DOTALL in String#replaceAll, so we use (?s) at
-        // pattern start
-        template = template.replaceAll("(?s)\\{\\{#\\s*([A-Za-z0-9_]+)\\s*\\}\\}.*?\\{\\{/\\s*\\1\\s*\\}\\}", "");
-
-        // 2) Remove any remaining triple-braced placeholders {{{NAME}}}
-        template = template.replaceAll("\\{\\{\\{\\s*[A-Za-z0-9_]+\\s*\\}\\}\\}", "");
-
-        // 3) Remove any remaining double-braced placeholders {{NAME}}
-        template = template.replaceAll("\\{\\{\\s*[A-Za-z0-9_]+\\s*\\}\\}", "");
-
-        return template;
+    private void bindParts(LatexTemplate.Scope scope, Set<ResumePart> parts, Set<ResumePart> bound,
+            ResumeModel resumeData, String templateType) {
+        for (ResumePart part : parts) {
+            if (!bound.add(part)) {
+                continue;
+            }
+            switch (part) {
+                case HEADER -> bindHeader(scope, resumeData);
+                case SKILLS -> bindSkills(scope, resumeData);
+                case EXPERIENCE -> bindExperience(scope, resumeData);
+                case PROJECTS -> bindProjects(scope, resumeData, templateType);
+                case EDUCATION -> bindEducation(scope, resumeData);
+                case CERTIFICATIONS -> bindCertifications(scope, resumeData);
+                case ACHIEVEMENTS -> bindAchievements(scope, resumeData);
+            }
+        }
+        // Languages are not included in the resume: HAS_LANGUAGES is never shown
     }
 
-    private String handleSkillsSection(String template, Map<String, Object> resumeData) {
-        Map<String, Object> skills = getMapValue(resumeData, "skills");
-
-        if (skills == null || skills.isEmpty()) {
-            template = removeSection(template, "HAS_SKILLS");
-            return template;
+    /**
+     * Cache key of a top-level section: the template version, which section,
+     * and a hash of the model data of every part the section refers to.
+     */
+    private static String sectionKey(LatexTemplate template, String section, int occurrence,
+            Set<ResumePart> parts, ResumeModel resumeData) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (ResumePart part : parts) {
+            fingerprint(part.name(), digest);
+            fingerprint(part.data.apply(resumeData), digest);
         }
+        return template.getName() + "@" + template.getVersion() + "/" + section + "#" + occurrence + "/"
+                + HexFormat.of().formatHex(digest.digest());
+    }
 
-        // Check if any skill category has content
-        boolean hasAnySkills = false;
-        List<String> categories = Arrays.asList("languages", "frameworks", "databases", "tools", "cloud", "other");
-        for (String category : categories) {
-            List<String> categorySkills = getStringListValue(skills, category);
-            if (categorySkills != null && !categorySkills.isEmpty()) {
-                hasAnySkills = true;
-                break;
+    // Accessors of each model record, in declaration order
+    private static final ClassValue<Method[]> RECORD_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            Method[] accessors = new Method[components.length];
+            for (int i = 0; i < components.length; i++) {
+                accessors[i] = components[i].getAccessor();
             }
+            return accessors;
         }
+    };
 
-        if (!hasAnySkills) {
-            template = removeSection(template, "HAS_SKILLS");
-            return template;
+    /**
+     * Feed a model value (records, lists and strings) to the digest. Record
+     * components go in declaration order; lists and records are delimited so
+     * different shapes never hash alike.
+     */
+    private static void fingerprint(Object value, MessageDigest digest) {
+        if (value == null) {
+            digest.update((byte) 'n');
+        } else if (value instanceof Record record) {
+            digest.update((byte) 'r');
+            for (Method accessor : RECORD_ACCESSORS.get(record.getClass())) {
+                try {
+                    fingerprint(accessor.invoke(record), digest);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Cannot read " + accessor, e);
+                }
+            }
+            digest.update((byte) 'e');
+        } else if (value instanceof List<?> list) {
+            digest.update((byte) 'l');
+            for (Object item : list) {
+                fingerprint(item, digest);
+            }
+            digest.update((byte) 'e');
+        } else {
+            digest.update((byte) 's');
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            digest.update(new byte[] { (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16),
+                    (byte) (bytes.length >>> 8), (byte) bytes.length });
+            digest.update(bytes);
         }
-
-        template = template.replace("{{#HAS_SKILLS}}", "");
-        template = template.replace("{{/HAS_SKILLS}}", "");
-
-        // Handle each skill category
-        template = handleSkillCategory(template, skills, "languages", "SKILL_LANGUAGES");
-        template = handleSkillCategory(template, skills, "frameworks", "SKILL_FRAMEWORKS");
-        template = handleSkillCategory(template, skills, "databases", "SKILL_DATABASES");
-        template = handleSkillCategory(template, skills, "tools", "SKILL_TOOLS");
-        template = handleSkillCategory(template, skills, "cloud", "SKILL_CLOUD");
-        template = handleSkillCategory(template, skills, "other", "SKILL_OTHER");
-
-        return template;
     }
 
-    private String handleSkillCategory(String template, Map<String, Object> skills, String category,
-            String placeholder) {
-        List<String> categorySkills = getStringListValue(skills, category);
+    private void bindHeader(LatexTemplate.Scope scope, ResumeModel resumeData) {
+        ResumeModel.PersonalInformation personalInfo = resumeData.personalInformation();
 
-        if (categorySkills == null || categorySkills.isEmpty()) {
-            template = removeSection(template, placeholder);
-            return template;
-        }
+        // Simple placeholders. LOCATION is bound here for the whole document,
+        // so experience and education entries show the personal location too.
+        scope.putEscaped("FULL_NAME", personalInfo.fullName());
+        scope.putEscaped("EMAIL", personalInfo.email());
+        scope.putEscaped("PHONE_NUMBER", personalInfo.phoneNumber());
+        scope.putEscaped("LOCATION", personalInfo.location());
 
-        // Join skills with comma and space, then escape for LaTeX
-        String skillsString = escapeLatexSpecialChars(String.join(", ", categorySkills));
+        // Optional sections in header/footer links
+        bindOptionalSection(scope, "LINKEDIN", personalInfo.linkedIn());
+        bindOptionalSection(scope, "GITHUB", personalInfo.gitHub());
+        bindOptionalSection(scope, "PORTFOLIO", personalInfo.portfolio());
+        bindOptionalSection(scope, "EMAIL", personalInfo.email());
+        bindOptionalSection(scope, "PHONE_NUMBER", personalInfo.phoneNumber());
+
+        // LinkedIn and GitHub display (without https://), escaped twice as before
+        String linkedinDisplay = personalInfo.linkedIn().replace("https://", "").replace("http://", "");
+        String githubDisplay = personalInfo.gitHub().replace("https://", "").replace("http://", "");
+        scope.putEscaped("LINKEDIN_DISPLAY", escapeLatexSpecialChars(linkedinDisplay));
+        scope.putEscaped("GITHUB_DISPLAY", escapeLatexSpecialChars(githubDisplay));
 
-        template = template.replace("{{#" + placeholder + "}}", "");
-        template = template.replace("{{/" + placeholder + "}}", "");
-        template = template.replace("{{" + placeholder + "}}", skillsString);
+        // Summary
+        bindOptionalSection(scope, "SUMMARY", resumeData.summary());
+    }
 
-        return template;
+    private void bindOptionalSection(LatexTemplate.Scope scope, String sectionName, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return;
+        }
+        scope.show(sectionName);
+        scope.putEscaped(sectionName, value);
     }
 
-    private String handleExperienceSection(String template, Map<String, Object> resumeData) {
-        List<Map<String, Object>> experiences = getListValue(resumeData, "experience");
+    private void bindSkills(LatexTemplate.Scope scope, ResumeModel resumeData) {
+        ResumeModel.Skills skills = resumeData.skills();
+        List<List<String>> categories = List.of(skills.languages(), skills.frameworks(), skills.databases(),
+                skills.tools(), skills.cloud(), skills.other());
 
-        if (experiences == null || experiences.isEmpty()) {
-            template = removeSection(template, "HAS_EXPERIENCE");
-            return template;
+        // Check if any skill category has content
+        if (categories.stream().allMatch(List::isEmpty)) {
+            return;
         }
 
-        template = template.replace("{{#HAS_EXPERIENCE}}", "");
-        template = template.replace("{{/HAS_EXPERIENCE}}", "");
+        scope.show("HAS_SKILLS");
+        for (int i = 0; i < categories.size(); i++) {
+            List<String> categorySkills = categories.get(i);
+            if (!categorySkills.isEmpty()) {
+                // Join skills with comma and space, then escape for LaTeX
+                String placeholder = SKILL_PLACEHOLDERS.get(i);
+                scope.show(placeholder);
+                scope.putEscaped(placeholder, String.join(", ", categorySkills));
+            }
+        }
+    }
 
-        StringBuilder expContent = new StringBuilder();
-        String expTemplate = extractLoopTemplate(template, "EXPERIENCE");
+    private void bindExperience(LatexTemplate.Scope scope, ResumeModel resumeData) {
+        List<ResumeModel.Experience> experiences = resumeData.experience();
+        if (experiences.isEmpty()) {
+            return;
+        }
 
-        for (Map<String, Object> exp : experiences) {
-            String expEntry = expTemplate;
-            expEntry = expEntry.replace("{{JOB_TITLE}}",
-                    escapeLatexSpecialChars(getStringValue(exp, "jobTitle")));
-            expEntry = expEntry.replace("{{COMPANY}}",
-                    escapeLatexSpecialChars(getStringValue(exp, "company")));
-            expEntry = expEntry.replace("{{LOCATION}}",
-                    escapeLatexSpecialChars(getStringValue(exp, "location")));
-            expEntry = expEntry.replace("{{DURATION}}",
-                    escapeLatexSpecialChars(getStringValue(exp, "duration")));
+        List<LatexTemplate.Scope> entries = new ArrayList<>(experiences.size());
+        for (ResumeModel.Experience exp : experiences) {
+            LatexTemplate.Scope entry = new LatexTemplate.Scope();
+            entry.putEscaped("JOB_TITLE", exp.jobTitle());
+            entry.putEscaped("COMPANY", exp.company());
+            entry.putEscaped("DURATION", exp.duration());
 
             // Handle responsibility - split by bullets or newlines and create multiple
             // \resumeItem entries
-            String responsibility = getStringValue(exp, "responsibility");
+            String responsibility = exp.responsibility();
             StringBuilder responsibilityItems = new StringBuilder();
 
-            if (responsibility != null && !responsibility.trim().isEmpty()) {
+            if (!responsibility.trim().isEmpty()) {
                 // Split by common bullet separators: bullets (•, -, *), newlines, or numbered
                 // points
                 String[] points = responsibility.split("(?m)^\\s*[-•*]\\s*|(?m)^\\s*\\d+\\.\\s*|\\n+");
@@ -268,9 +333,9 @@ public class LatexServiceImpl implements LatexService {
                 for (String point : points) {
                     String trimmedPoint = point.trim();
                     if (!trimmedPoint.isEmpty()) {
-                        responsibilityItems.append("      \\resumeItem{")
-                                .append(escapeLatexSpecialChars(trimmedPoint))
-                                .append("}\n");
+                        responsibilityItems.append("      \\resumeItem{");
+                        LatexEscaper.escape(trimmedPoint, responsibilityItems);
+                        responsibilityItems.append("}\n");
                     }
                 }
             }
@@ -280,44 +345,31 @@ public class LatexServiceImpl implements LatexService {
                 responsibilityItems.append("      \\resumeItem{Responsibility details pending}\n");
             }
 
-            // Replace placeholder with items (don't trim the content as it contains
-            // necessary whitespace)
-            String responsibilityContent = responsibilityItems.toString();
-            // Remove only the trailing newline if present
-            if (responsibilityContent.endsWith("\n")) {
-                responsibilityContent = responsibilityContent.substring(0, responsibilityContent.length() - 1);
-            }
-            expEntry = expEntry.replace("{{RESPONSIBILITY}}", responsibilityContent);
-            expContent.append(expEntry);
+            // Remove only the trailing newline (the rest is necessary whitespace)
+            responsibilityItems.setLength(responsibilityItems.length() - 1);
+            entry.put("RESPONSIBILITY", responsibilityItems.toString());
+            entries.add(entry);
         }
 
-        template = replaceLoop(template, "EXPERIENCE", expContent.toString());
-        return template;
+        scope.show("HAS_EXPERIENCE");
+        scope.loop("EXPERIENCE", entries);
     }
 
-    private String handleProjectsSection(String template, Map<String, Object> resumeData, String templateType) {
-        List<Map<String, Object>> projects = getListValue(resumeData, "projects");
-
-        if (projects == null || projects.isEmpty()) {
-            template = removeSection(template, "HAS_PROJECTS");
-            return template;
+    private void bindProjects(LatexTemplate.Scope scope, ResumeModel resumeData, String templateType) {
+        List<ResumeModel.Project> projects = resumeData.projects();
+        if (projects.isEmpty()) {
+            return;
         }
 
-        template = template.replace("{{#HAS_PROJECTS}}", "");
-        template = template.replace("{{/HAS_PROJECTS}}", "");
-
-        StringBuilder projContent = new StringBuilder();
-        String projTemplate = extractLoopTemplate(template, "PROJECTS");
-
-        for (Map<String, Object> project : projects) {
-            String projEntry = projTemplate;
-            String projectTitle = getStringValue(project, "title");
-            projEntry = projEntry.replace("{{PROJECT_TITLE}}",
-                    escapeLatexSpecialChars(projectTitle));
+        List<LatexTemplate.Scope> entries = new ArrayList<>(projects.size());
+        for (ResumeModel.Project project : projects) {
+            LatexTemplate.Scope entry = new LatexTemplate.Scope();
+            String projectTitle = project.title();
+            entry.putEscaped("PROJECT_TITLE", projectTitle);
 
             // Handle project description - enforce exactly 3 point descriptions (6 lines
             // total)
-            String description = getStringValue(project, "description");
+            String description = project.description();
             String descriptionContent = formatProjectDescription(description, projectTitle, templateType);
 
             // CRITICAL: Ensure description content is never empty
@@ -327,230 +379,76 @@ public class LatexServiceImpl implements LatexService {
                 System.err.println("  Using fallback: " + descriptionContent);
             }
 
-            projEntry = projEntry.replace("{{PROJECT_DESCRIPTION}}", descriptionContent);
+            entry.put("PROJECT_DESCRIPTION", descriptionContent);
 
-            // Handle technologies (could be array or string)
-            Object techObj = project.get("technologiesUsed");
-            String technologies = "";
-            if (techObj instanceof List) {
-                technologies = String.join(", ", (List<String>) techObj);
-            } else if (techObj instanceof String) {
-                technologies = (String) techObj;
-            }
-            projEntry = projEntry.replace("{{TECHNOLOGIES}}",
-                    escapeLatexSpecialChars(technologies));
+            // Technologies (a single string arrives as a one-element list)
+            entry.putEscaped("TECHNOLOGIES", String.join(", ", project.technologiesUsed()));
 
             // Handle GitHub link (optional)
-            String githubLink = getStringValue(project, "githubLink");
-            if (githubLink != null && !githubLink.isEmpty()) {
-                projEntry = projEntry.replace("{{#GITHUB_LINK}}", "");
-                projEntry = projEntry.replace("{{/GITHUB_LINK}}", "");
-                projEntry = projEntry.replace("{{GITHUB_LINK}}",
-                        escapeLatexSpecialChars(githubLink));
-            } else {
-                projEntry = removeSection(projEntry, "GITHUB_LINK");
+            String githubLink = project.githubLink();
+            if (!githubLink.isEmpty()) {
+                entry.show("GITHUB_LINK");
+                entry.putEscaped("GITHUB_LINK", githubLink);
             }
 
-            projContent.append(projEntry);
-        }
-
-        template = replaceLoop(template, "PROJECTS", projContent.toString());
-        return template;
-    }
-
-    private String handleEducationSection(String template, Map<String, Object> resumeData) {
-        List<Map<String, Object>> education = getListValue(resumeData, "education");
-
-        if (education == null || education.isEmpty()) {
-            template = removeSection(template, "HAS_EDUCATION");
-            return template;
+            entries.add(entry);
         }
 
-        template = template.replace("{{#HAS_EDUCATION}}", "");
-        template = template.replace("{{/HAS_EDUCATION}}", "");
-
-        StringBuilder eduContent = new StringBuilder();
-        String eduTemplate = extractLoopTemplate(template, "EDUCATION");
-
-        for (Map<String, Object> edu : education) {
-            String eduEntry = eduTemplate;
-            eduEntry = eduEntry.replace("{{DEGREE}}",
-                    escapeLatexSpecialChars(getStringValue(edu, "degree")));
-            eduEntry = eduEntry.replace("{{UNIVERSITY}}",
-                    escapeLatexSpecialChars(getStringValue(edu, "university")));
-            eduEntry = eduEntry.replace("{{LOCATION}}",
-                    escapeLatexSpecialChars(getStringValue(edu, "location")));
-            eduEntry = eduEntry.replace("{{GRADUATION_YEAR}}",
-                    escapeLatexSpecialChars(getStringValue(edu, "graduationYear")));
-            eduContent.append(eduEntry);
-        }
-
-        template = replaceLoop(template, "EDUCATION", eduContent.toString());
-        return template;
+        scope.show("HAS_PROJECTS");
+        scope.loop("PROJECTS", entries);
     }
 
-    private String handleCertificationsSection(String template, Map<String, Object> resumeData) {
-        List<Map<String, Object>> certifications = getListValue(resumeData, "certifications");
-
-        if (certifications == null || certifications.isEmpty()) {
-            template = removeSection(template, "HAS_CERTIFICATIONS");
-            return template;
+    private void bindEducation(LatexTemplate.Scope scope, ResumeModel resumeData) {
+        List<ResumeModel.Education> education = resumeData.education();
+        if (education.isEmpty()) {
+            return;
         }
 
-        template = template.replace("{{#HAS_CERTIFICATIONS}}", "");
-        template = template.replace("{{/HAS_CERTIFICATIONS}}", "");
-
-        StringBuilder certContent = new StringBuilder();
-        String certTemplate = extractLoopTemplate(template, "CERTIFICATIONS");
-
-        for (Map<String, Object> cert : certifications) {
-            String certEntry = certTemplate;
-            certEntry = certEntry.replace("{{CERT_TITLE}}",
-                    escapeLatexSpecialChars(getStringValue(cert, "title")));
-            certEntry = certEntry.replace("{{ISSUING_ORG}}",
-                    escapeLatexSpecialChars(getStringValue(cert, "issuingOrganization")));
-            certEntry = certEntry.replace("{{CERT_YEAR}}",
-                    escapeLatexSpecialChars(getStringValue(cert, "year")));
-            certContent.append(certEntry);
+        List<LatexTemplate.Scope> entries = new ArrayList<>(education.size());
+        for (ResumeModel.Education edu : education) {
+            entries.add(new LatexTemplate.Scope()
+                    .putEscaped("DEGREE", edu.degree())
+                    .putEscaped("UNIVERSITY", edu.university())
+                    .putEscaped("GRADUATION_YEAR", edu.graduationYear()));
         }
 
-        template = replaceLoop(template, "CERTIFICATIONS", certContent.toString());
-        return template;
+        scope.show("HAS_EDUCATION");
+        scope.loop("EDUCATION", entries);
     }
 
-    private String handleAchievementsSection(String template, Map<String, Object> resumeData) {
-        List<Map<String, Object>> achievements = getListValue(resumeData, "achievements");
-
-        if (achievements == null || achievements.isEmpty()) {
-            template = removeSection(template, "HAS_ACHIEVEMENTS");
-            return template;
+    private void bindCertifications(LatexTemplate.Scope scope, ResumeModel resumeData) {
+        List<ResumeModel.Certification> certifications = resumeData.certifications();
+        if (certifications.isEmpty()) {
+            return;
         }
 
-        template = template.replace("{{#HAS_ACHIEVEMENTS}}", "");
-        template = template.replace("{{/HAS_ACHIEVEMENTS}}", "");
-
-        StringBuilder achContent = new StringBuilder();
-        String achTemplate = extractLoopTemplate(template, "ACHIEVEMENTS");
-
-        for (Map<String, Object> ach : achievements) {
-            String achEntry = achTemplate;
-            achEntry = achEntry.replace("{{ACH_TITLE}}",
-                    escapeLatexSpecialChars(getStringValue(ach, "title")));
-            achEntry = achEntry.replace("{{ACH_YEAR}}",
-                    escapeLatexSpecialChars(getStringValue(ach, "year")));
-            achContent.append(achEntry);
+        List<LatexTemplate.Scope> entries = new ArrayList<>(certifications.size());
+        for (ResumeModel.Certification cert : certifications) {
+            entries.add(new LatexTemplate.Scope()
+                    .putEscaped("CERT_TITLE", cert.title())
+                    .putEscaped("ISSUING_ORG", cert.issuingOrganization())
+                    .putEscaped("CERT_YEAR", cert.year()));
         }
 
-        template = replaceLoop(template, "ACHIEVEMENTS", achContent.toString());
-        return template;
+        scope.show("HAS_CERTIFICATIONS");
+        scope.loop("CERTIFICATIONS", entries);
     }
 
-    private String handleLanguagesSection(String template, Map<String, Object> resumeData) {
-        // Always remove the Languages section - languages are not included in resume
-        template = removeSection(template, "HAS_LANGUAGES");
-        return template;
-    }
-
-    // Helper methods
-    private String replacePlaceholder(String template, String placeholder, String value) {
-        return template.replace("{{" + placeholder + "}}", escapeLatexSpecialChars(value));
-    }
-
-    private String handleOptionalSection(String template, String sectionName, String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return removeSection(template, sectionName);
+    private void bindAchievements(LatexTemplate.Scope scope, ResumeModel resumeData) {
+        List<ResumeModel.Achievement> achievements = resumeData.achievements();
+        if (achievements.isEmpty()) {
+            return;
         }
-        template = template.replace("{{#" + sectionName + "}}", "");
-        template = template.replace("{{/" + sectionName + "}}", "");
-        template = template.replace("{{" + sectionName + "}}", escapeLatexSpecialChars(value));
-        return template;
-    }
-
-    private String removeSection(String template, String sectionName) {
-        String startTag = "{{#" + sectionName + "}}";
-        String endTag = "{{/" + sectionName + "}}";
 
-        int startIndex = template.indexOf(startTag);
-        if (startIndex == -1)
-            return template;
-
-        int endIndex = template.indexOf(endTag);
-        if (endIndex == -1)
-            return template;
-
-        return template.substring(0, startIndex) + template.substring(endIndex + endTag.length());
-    }
-
-    private String extractLoopTemplate(String template, String loopName) {
-        String startTag = "{{#" + loopName + "}}";
-        String endTag = "{{/" + loopName + "}}";
-
-        int startIndex = template.indexOf(startTag);
-        int endIndex = template.indexOf(endTag);
-
-        if (startIndex == -1 || endIndex == -1)
-            return "";
-
-        return template.substring(startIndex + startTag.length(), endIndex);
-    }
-
-    private String replaceLoop(String template, String loopName, String content) {
-        String startTag = "{{#" + loopName + "}}";
-        String endTag = "{{/" + loopName + "}}";
-
-        int startIndex = template.indexOf(startTag);
-        int endIndex = template.indexOf(endTag);
-
-        if (startIndex == -1 || endIndex == -1)
-            return template;
-
-        return template.substring(0, startIndex) + content + template.substring(endIndex + endTag.length());
-    }
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> getMapValue(Map<String, Object> map, String key) {
-        if (map == null)
-            return new HashMap<>();
-        Object value = map.get(key);
-        if (value instanceof Map) {
-            return (Map<String, Object>) value;
-        }
-        return new HashMap<>();
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> getListValue(Map<String, Object> map, String key) {
-        if (map == null)
-            return new ArrayList<>();
-        Object value = map.get(key);
-        if (value instanceof List) {
-            return (List<Map<String, Object>>) value;
-        }
-        return new ArrayList<>();
-    }
-
-    private List<String> getStringListValue(Map<String, Object> map, String key) {
-        if (map == null)
-            return new ArrayList<>();
-        Object value = map.get(key);
-        if (value instanceof List) {
-            List<?> list = (List<?>) value;
-            List<String> stringList = new ArrayList<>();
-            for (Object item : list) {
-                if (item != null) {
-                    stringList.add(item.toString());
-                }
-            }
-            return stringList;
+        List<LatexTemplate.Scope> entries = new ArrayList<>(achievements.size());
+        for (ResumeModel.Achievement ach : achievements) {
+            entries.add(new LatexTemplate.Scope()
+                    .putEscaped("ACH_TITLE", ach.title())
+                    .putEscaped("ACH_YEAR", ach.year()));
         }
-        return new ArrayList<>();
-    }
 
-    private String getStringValue(Map<String, Object> map, String key) {
-        if (map == null)
-            return "";
-        Object value = map.get(key);
-        return value != null ? value.toString() : "";
+        scope.show("HAS_ACHIEVEMENTS");
+        scope.loop("ACHIEVEMENTS", entries);
     }
 
     /**
@@ -0,0 +1,406 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A LaTeX resume template parsed once into an immutable tree of literals,
+ * placeholders and sections, so a resume is rendered in a single pass.
+ *
+ * Tags use the Mustache-like syntax of the bundled templates:
+ * {@code {{NAME}}} is a placeholder, {@code {{{NAME}}}} a placeholder inside a
+ * TeX group, and {@code {{#NAME}} ... {{/NAME}}} a section that is either
+ * dropped, kept once, or repeated once per entry of a loop.
+ *
+ * Rendering follows the rules of the string-replacement engine this replaced,
+ * so documents come out byte for byte the same:
+ * <ul>
+ * <li>a placeholder without a value renders as nothing, and so does the TeX
+ * group around a {@code {{{NAME}}}} one;</li>
+ * <li>a section renders only if its name is a loop or was marked shown;
+ * unknown sections are dropped;</li>
+ * <li>top-level values win over loop entry values of the same name.</li>
+ * </ul>
+ *
+ * Top-level sections can be rendered through a {@link SectionCache}, which
+ * may reuse the text of a section whose inputs did not change.
+ */
+public final class LatexTemplate {
+
+    // Same name syntax the old cleanup regexes accepted, whitespace included
+    private static final Pattern TAG = Pattern.compile("\\{\\{([#/]?)(\\s*)([A-Za-z0-9_]+)(\\s*)\\}\\}");
+    private static final Pattern GROUPED_TAG = Pattern.compile("\\{\\{\\{(\\s*)([A-Za-z0-9_]+)(\\s*)\\}\\}\\}");
+
+    private sealed interface Node permits Text, Placeholder, Section {
+    }
+
+    private record Text(String text) implements Node {
+    }
+
+    /**
+     * @param name    {@code null} for a tag written with inner whitespace, which
+     *                was never substituted and always renders as nothing
+     * @param grouped written as {@code {{{NAME}}}}
+     */
+    private record Placeholder(String name, boolean grouped) implements Node {
+    }
+
+    private record Section(String name, List<Node> children) implements Node {
+    }
+
+    private final String name;
+    private final String version;
+    private final List<Node> nodes;
+    private final int literalLength;
+    private final Map<String, Integer> sectionLiteralLength;
+    // Names used inside each top-level section, and outside all of them
+    private final Map<String, Set<String>> sectionReferences = new HashMap<>();
+    private final Set<String> looseReferences = new HashSet<>();
+
+    private LatexTemplate(String name, String version, List<Node> nodes, Map<String, Integer> sectionLiteralLength) {
+        this.name = name;
+        this.version = version;
+        this.nodes = nodes;
+        this.literalLength = literalLength(nodes);
+        this.sectionLiteralLength = sectionLiteralLength;
+        for (Node node : nodes) {
+            if (node instanceof Section section) {
+                collectReferences(List.of(section),
+                        sectionReferences.computeIfAbsent(section.name(), k -> new HashSet<>()));
+            } else {
+                collectReferences(List.of(node), looseReferences);
+            }
+        }
+    }
+
+    /**
+     * Parse template source.
+     *
+     * @throws IllegalArgumentException if a section is not closed, closed
+     *                                  twice or closed out of order
+     */
+    public static LatexTemplate parse(String name, String source) {
+        List<List<Node>> stack = new ArrayList<>();
+        List<String> open = new ArrayList<>();
+        stack.add(new ArrayList<>());
+        Map<String, Integer> sectionLengths = new HashMap<>();
+
+        Matcher tag = TAG.matcher(source);
+        Matcher grouped = GROUPED_TAG.matcher(source);
+        int textStart = 0;
+        int i = source.indexOf("{{");
+        while (i >= 0) {
+            List<Node> current = stack.get(stack.size() - 1);
+            int end;
+            if (grouped.region(i, source.length()).lookingAt()) {
+                addText(current, source, textStart, i);
+                boolean exact = grouped.group(1).isEmpty() && grouped.group(3).isEmpty();
+                current.add(new Placeholder(exact ? grouped.group(2) : null, true));
+                end = grouped.end();
+            } else if (tag.region(i, source.length()).lookingAt()) {
+                addText(current, source, textStart, i);
+                String kind = tag.group(1);
+                String tagName = tag.group(3);
+                boolean exact = tag.group(2).isEmpty() && tag.group(4).isEmpty();
+                if (kind.isEmpty()) {
+                    current.add(new Placeholder(exact ? tagName : null, false));
+                } else if (!exact) {
+                    throw new IllegalArgumentException(
+                            "Malformed section tag " + tag.group() + " in template " + name);
+                } else if (kind.equals("#")) {
+                    open.add(tagName);
+                    stack.add(new ArrayList<>());
+                } else {
+                    if (open.isEmpty() || !open.get(open.size() - 1).equals(tagName)) {
+                        throw new IllegalArgumentException("Unexpected {{/" + tagName + "}} in template " + name
+                                + (open.isEmpty() ? "" : ", expected {{/" + open.get(open.size() - 1) + "}}"));
+                    }
+                    if (open.subList(0, open.size() - 1).contains(tagName)) {
+                        throw new IllegalArgumentException(
+                                "Section " + tagName + " is nested in itself in template " + name);
+                    }
+                    open.remove(open.size() - 1);
+                    List<Node> children = List.copyOf(stack.remove(stack.size() - 1));
+                    stack.get(stack.size() - 1).add(new Section(tagName, children));
+                    sectionLengths.merge(tagName, literalLength(children), Integer::sum);
+                }
+                end = tag.end();
+            } else {
+                i = source.indexOf("{{", i + 1);
+                continue;
+            }
+            textStart = end;
+            i = source.indexOf("{{", end);
+        }
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Unclosed section {{#" + open.get(open.size() - 1) + "}} in template " + name);
+        }
+        addText(stack.get(0), source, textStart, source.length());
+        return new LatexTemplate(name, hash(source), List.copyOf(stack.get(0)), Map.copyOf(sectionLengths));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Hash of the template source; changes whenever the template does.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Placeholder and section names used inside the top-level sections named
+     * {@code section}, including {@code section} itself.
+     */
+    public Set<String> getSectionReferences(String section) {
+        return Collections.unmodifiableSet(sectionReferences.getOrDefault(section, Set.of()));
+    }
+
+    /**
+     * Names of the top-level sections, each listed once.
+     */
+    public Set<String> getTopLevelSections() {
+        return Collections.unmodifiableSet(sectionReferences.keySet());
+    }
+
+    /**
+     * Placeholder and section names used outside all top-level sections.
+     */
+    public Set<String> getLooseReferences() {
+        return Collections.unmodifiableSet(looseReferences);
+    }
+
+    /**
+     * Render into {@code out}, e.g. a writer on the file the compiler reads.
+     * A {@link StringBuilder} is grown once up front from the template size
+     * and the values in {@code data}.
+     */
+    public void render(Scope data, Appendable out) throws IOException {
+        if (out instanceof StringBuilder builder) {
+            builder.ensureCapacity(builder.length() + estimateLength(data));
+        }
+        render(nodes, data, data, out);
+    }
+
+    public String render(Scope data) {
+        StringBuilder out = new StringBuilder(estimateLength(data));
+        try {
+            render(nodes, data, data, out);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Render into {@code out}, taking the text of every top-level section
+     * from {@code sections}. Values a cached section refers to need only be
+     * in {@code data} by the time the cache asks for the section to be
+     * rendered.
+     */
+    public void render(Scope data, Appendable out, SectionCache sections) throws IOException {
+        if (out instanceof StringBuilder builder) {
+            // sections may not be bound yet; size for the template and what is
+            builder.ensureCapacity(builder.length() + estimateLength(data));
+        }
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (Node node : nodes) {
+            if (node instanceof Section section) {
+                int occurrence = occurrences.merge(section.name(), 1, Integer::sum) - 1;
+                out.append(sections.section(section.name(), occurrence, () -> {
+                    StringBuilder text = new StringBuilder(estimateLength(data, section));
+                    render(List.of(section), data, data, text);
+                    return text.toString();
+                }));
+            } else {
+                render(List.of(node), data, data, out);
+            }
+        }
+    }
+
+    /**
+     * Source of the text of top-level sections.
+     */
+    public interface SectionCache {
+        /**
+         * @param occurrence 0 for the first top-level section of that name
+         * @param renderer   renders the section from the current data
+         */
+        String section(String name, int occurrence, SectionRenderer renderer) throws IOException;
+    }
+
+    public interface SectionRenderer {
+        String render() throws IOException;
+    }
+
+    private void render(List<Node> children, Scope root, Scope scope, Appendable out) throws IOException {
+        for (Node node : children) {
+            switch (node) {
+                case Text text -> out.append(text.text());
+                case Placeholder placeholder -> {
+                    Value value = placeholder.name() == null ? null : root.values.get(placeholder.name());
+                    if (value == null && scope != root) {
+                        value = scope.values.get(placeholder.name());
+                    }
+                    if (value != null) {
+                        if (placeholder.grouped()) {
+                            out.append('{');
+                            value.writeTo(out);
+                            out.append('}');
+                        } else {
+                            value.writeTo(out);
+                        }
+                    }
+                }
+                case Section section -> {
+                    List<Scope> entries = root.loops.get(section.name());
+                    if (entries != null) {
+                        for (Scope entry : entries) {
+                            render(section.children(), root, entry, out);
+                        }
+                    } else if (root.shown.contains(section.name()) || scope.shown.contains(section.name())) {
+                        render(section.children(), root, scope, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private int estimateLength(Scope data, Section section) {
+        long estimate = literalLength(section.children());
+        for (Map.Entry<String, List<Scope>> loop : data.loops.entrySet()) {
+            if (sectionReferences.getOrDefault(section.name(), Set.of()).contains(loop.getKey())) {
+                int body = sectionLiteralLength.getOrDefault(loop.getKey(), 0);
+                for (Scope entry : loop.getValue()) {
+                    estimate += body + entry.valueLength;
+                }
+            }
+        }
+        return (int) Math.min(estimate, Integer.MAX_VALUE - 8);
+    }
+
+    private int estimateLength(Scope data) {
+        long estimate = literalLength + data.valueLength;
+        for (Map.Entry<String, List<Scope>> loop : data.loops.entrySet()) {
+            int body = sectionLiteralLength.getOrDefault(loop.getKey(), 0);
+            for (Scope entry : loop.getValue()) {
+                estimate += body + entry.valueLength;
+            }
+        }
+        return (int) Math.min(estimate, Integer.MAX_VALUE - 8);
+    }
+
+    private static void addText(List<Node> nodes, String source, int from, int to) {
+        if (to > from) {
+            nodes.add(new Text(source.substring(from, to)));
+        }
+    }
+
+    private static void collectReferences(List<Node> nodes, Set<String> names) {
+        for (Node node : nodes) {
+            if (node instanceof Placeholder placeholder && placeholder.name() != null) {
+                names.add(placeholder.name());
+            } else if (node instanceof Section section) {
+                names.add(section.name());
+                collectReferences(section.children(), names);
+            }
+        }
+    }
+
+    private static String hash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static int literalLength(List<Node> nodes) {
+        int length = 0;
+        for (Node node : nodes) {
+            if (node instanceof Text text) {
+                length += text.text().length();
+            } else if (node instanceof Section section) {
+                length += literalLength(section.children());
+            }
+        }
+        return length;
+    }
+
+    private record Value(String text, boolean escape) {
+        void writeTo(Appendable out) throws IOException {
+            if (escape) {
+                LatexEscaper.escape(text, out);
+            } else {
+                out.append(text);
+            }
+        }
+    }
+
+    /**
+     * Values for one render: the top level, or one entry of a loop. A name
+     * without a value renders as nothing; a value of {@code ""} renders an
+     * empty TeX group for {@code {{{NAME}}}}.
+     */
+    public static final class Scope {
+        private final Map<String, Value> values = new HashMap<>();
+        private final Set<String> shown = new HashSet<>();
+        private final Map<String, List<Scope>> loops = new HashMap<>();
+        private long valueLength;
+
+        /**
+         * Bind {@code value} as LaTeX source, inserted as is.
+         */
+        public Scope put(String name, String value) {
+            return bind(name, value, false);
+        }
+
+        /**
+         * Bind plain text, escaped for LaTeX while it is written out.
+         * {@code null} renders like {@code ""}.
+         */
+        public Scope putEscaped(String name, String text) {
+            return bind(name, text == null ? "" : text, true);
+        }
+
+        private Scope bind(String name, String text, boolean escape) {
+            if (text != null) {
+                Value previous = values.put(name, new Value(text, escape));
+                valueLength += text.length() - (previous == null ? 0 : previous.text().length());
+            }
+            return this;
+        }
+
+        public Scope show(String section) {
+            shown.add(section);
+            return this;
+        }
+
+        /**
+         * Repeat the {@code name} section once per entry; with no entries it is
+         * dropped. Only meaningful on the top-level scope.
+         */
+        public Scope loop(String name, List<Scope> entries) {
+            loops.put(name, entries);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The LaTeX templates resumes can be generated with, parsed once and held in
+ * memory.
+ *
+ * Templates are the bundled {@code latex_templates/<type>_template.tex}
+ * files, plus any {@code <type>_template.tex} in {@code latex.templates.dir},
+ * which override bundled ones of the same type. A {@code templates.properties}
+ * next to the templates maps each type to the description shown in the
+ * template list.
+ *
+ * The external directory is watched. A changed template is validated and
+ * parsed off the request path, then swapped in by replacing the whole
+ * snapshot, so a request sees either the old or the new version and never a
+ * half-written one. A template that fails validation is logged and the
+ * previous version kept. Deleting an override falls back to the bundled
+ * template.
+ */
+@Component
+public class LatexTemplateRegistry implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LatexTemplateRegistry.class);
+
+    private static final Pattern TEMPLATE_FILE = Pattern.compile("([a-z0-9][a-z0-9_-]*)_template\\.tex");
+    private static final String DESCRIPTIONS = "templates.properties";
+
+    @Value("${latex.templates.dir:}")
+    private String templatesDir;
+
+    @Value("${latex.templates.watch:true}")
+    private boolean watch;
+
+    // Changes are applied once the directory has been quiet this long, so an
+    // editor's save in several writes is read once, complete
+    @Value("${latex.templates.reload-quiet-ms:300}")
+    private long reloadQuietMs;
+
+    /**
+     * One loaded template.
+     *
+     * @param source the template as written, with its placeholders
+     * @param origin {@code classpath} or the file it was read from
+     */
+    public record Entry(String type, String description, LatexTemplate template, String source, String origin,
+            long loadedAt) {
+
+        /**
+         * Hash of the template source; changes whenever the template does.
+         */
+        public String version() {
+            return template.getVersion();
+        }
+    }
+
+    private final Map<String, Entry> bundled = new HashMap<>();
+    // Replaced as a whole on every change, never modified
+    private volatile Map<String, Entry> templates = Map.of();
+
+    private Path root;
+    private WatchService watchService;
+    private Thread watcher;
+
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Map<String, String> lastErrors = new ConcurrentHashMap<>();
+
+    /**
+     * Load and validate all templates. A broken bundled template fails the
+     * deployment; a broken external one is skipped.
+     */
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        loadBundled();
+        Map<String, Entry> all = new TreeMap<>(bundled);
+
+        if (templatesDir != null && !templatesDir.isBlank()) {
+            root = Path.of(templatesDir.trim()).toAbsolutePath();
+            if (Files.isDirectory(root)) {
+                Properties descriptions = readDescriptions(root.resolve(DESCRIPTIONS));
+                for (String type : listTemplateTypes(root)) {
+                    try {
+                        all.put(type, loadFile(type, descriptions));
+                    } catch (IOException | IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                        lastErrors.put(type, e.getMessage());
+                        log.warn("Skipping LaTeX template '{}' in {}: {}", type, root, e.getMessage());
+                    }
+                }
+                if (watch) {
+                    startWatcher();
+                }
+            } else {
+                log.warn("LaTeX template directory {} does not exist; using bundled templates only", root);
+                root = null;
+            }
+        }
+        templates = Collections.unmodifiableMap(all);
+        log.info("Loaded LaTeX templates {}", templates.keySet());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    /**
+     * @return the template, or {@code null} when there is none of that type
+     */
+    public Entry get(String type) {
+        return type == null ? null : templates.get(type);
+    }
+
+    /**
+     * All templates by type, ordered by type. The map is a snapshot and does
+     * not change.
+     */
+    public Map<String, Entry> getTemplates() {
+        return templates;
+    }
+
+    /**
+     * Template types and their descriptions, ordered by type.
+     */
+    public Map<String, String> getDescriptions() {
+        Map<String, String> descriptions = new LinkedHashMap<>();
+        templates.forEach((type, entry) -> descriptions.put(type, entry.description()));
+        return descriptions;
+    }
+
+    /**
+     * {@code type@version} of a known template, for cache keys that must
+     * change when the template does; other names are returned as they are.
+     */
+    public String versionedName(String type) {
+        Entry entry = get(type);
+        return entry == null ? type : type + "@" + entry.version();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("directory", root == null ? null : root.toString());
+        status.put("watching", watcher != null && watcher.isAlive());
+        status.put("reloads", reloads.get());
+        status.put("rejected", rejected.get());
+        Map<String, Object> byType = new LinkedHashMap<>();
+        templates.forEach((type, entry) -> {
+            Map<String, Object> t = new HashMap<>();
+            t.put("version", entry.version());
+            t.put("origin", entry.origin());
+            t.put("loadedAt", entry.loadedAt());
+            byType.put(type, t);
+        });
+        status.put("templates", byType);
+        if (!lastErrors.isEmpty()) {
+            status.put("errors", new HashMap<>(lastErrors));
+        }
+        return status;
+    }
+
+    private void loadBundled() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Properties descriptions = new Properties();
+        Resource descriptionFile = resolver.getResource("classpath:latex_templates/" + DESCRIPTIONS);
+        if (descriptionFile.exists()) {
+            try (Reader reader = new InputStreamReader(descriptionFile.getInputStream(), StandardCharsets.UTF_8)) {
+                descriptions.load(reader);
+            }
+        }
+        for (Resource resource : resolver.getResources("classpath*:latex_templates/*_template.tex")) {
+            String fileName = resource.getFilename();
+            Matcher m = fileName == null ? null : TEMPLATE_FILE.matcher(fileName);
+            if (m == null || !m.matches()) {
+                continue;
+            }
+            String type = m.group(1);
+            String source;
+            try (InputStream in = resource.getInputStream()) {
+                source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            try {
+                bundled.put(type, compile(type, source, descriptions, "classpath"));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid bundled LaTeX template '" + type + "': " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private Entry loadFile(String type, Properties descriptions) throws IOException {
+        Path file = root.resolve(type + "_template.tex");
+        return compile(type, Files.readString(file, StandardCharsets.UTF_8), descriptions, file.toString());
+    }
+
+    /**
+     * Validate and parse a template.
+     *
+     * @throws IllegalArgumentException if it is not a complete document or its
+     *                                  sections do not nest
+     */
+    private static Entry compile(String type, String source, Properties descriptions, String origin) {
+        if (!source.contains("\\documentclass") || !source.contains("\\begin{document}")
+                || !source.contains("\\end{document}")) {
+            throw new IllegalArgumentException("not a complete LaTeX document (needs \\documentclass, "
+                    + "\\begin{document} and \\end{document})");
+        }
+        LatexTemplate template = LatexTemplate.parse(type, source);
+        String description = descriptions.getProperty(type);
+        if (description == null || description.isBlank()) {
+            description = Character.toUpperCase(type.charAt(0)) + type.substring(1) + " template";
+        }
+        return new Entry(type, description.trim(), template, source, origin, System.currentTimeMillis());
+    }
+
+    private static Properties readDescriptions(Path file) {
+        Properties descriptions = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                descriptions.load(reader);
+            } catch (IOException e) {
+                log.warn("Could not read {}: {}", file, e.getMessage());
+            }
+        }
+        return descriptions;
+    }
+
+    private static Set<String> listTemplateTypes(Path dir) throws IOException {
+        Set<String> types = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*_template.tex")) {
+            for (Path file : files) {
+                Matcher m = TEMPLATE_FILE.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    types.add(m.group(1));
+                }
+            }
+        }
+        return types;
+    }
+
+    private void startWatcher() throws IOException {
+        watchService = root.getFileSystem().newWatchService();
+        root.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        watcher = new Thread(this::watchLoop, "latex-template-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        Set<String> pending = new TreeSet<>();
+        try {
+            while (true) {
+                WatchKey key = pending.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(reloadQuietMs, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    reload(pending);
+                    pending.clear();
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    String fileName = event.context() == null ? null : event.context().toString();
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || DESCRIPTIONS.equals(fileName)) {
+                        // re-read everything the directory provides or provided
+                        pending.addAll(listTemplateTypes(root));
+                        templates.values().stream().filter(e -> !"classpath".equals(e.origin()))
+                                .forEach(e -> pending.add(e.type()));
+                        continue;
+                    }
+                    Matcher m = fileName == null ? null : TEMPLATE_FILE.matcher(fileName);
+                    if (m != null && m.matches()) {
+                        pending.add(m.group(1));
+                    }
+                }
+                if (!key.reset()) {
+                    log.warn("LaTeX template directory {} is no longer accessible; stopped watching", root);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // shutting down
+        } catch (IOException e) {
+            log.warn("Stopped watching LaTeX template directory {}: {}", root, e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read the given types from the directory and publish the result as a
+     * new snapshot.
+     */
+    private synchronized void reload(Collection<String> types) {
+        Map<String, Entry> next = new TreeMap<>(templates);
+        Properties descriptions = readDescriptions(root.resolve(DESCRIPTIONS));
+        boolean changed = false;
+        for (String type : types) {
+            Entry current = next.get(type);
+            if (Files.isRegularFile(root.resolve(type + "_template.tex"))) {
+                Entry loaded;
+                try {
+                    loaded = loadFile(type, descriptions);
+                } catch (IOException | IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                    lastErrors.put(type, e.getMessage());
+                    log.warn("Rejected change to LaTeX template '{}', keeping the previous version: {}", type,
+                            e.getMessage());
+                    continue;
+                }
+                lastErrors.remove(type);
+                if (current != null && current.version().equals(loaded.version())
+                        && current.description().equals(loaded.description())) {
+                    continue;
+                }
+                next.put(type, loaded);
+                log.info("Reloaded LaTeX template '{}' from {} (version {})", type, loaded.origin(),
+                        loaded.version());
+            } else if (current != null && !"classpath".equals(current.origin())) {
+                Entry fallback = bundled.get(type);
+                if (fallback != null) {
+                    next.put(type, fallback);
+                } else {
+                    next.remove(type);
+                }
+                lastErrors.remove(type);
+                log.info("LaTeX template '{}' removed from {}{}", type, root,
+                        fallback != null ? "; using the bundled version" : "");
+            } else {
+                continue;
+            }
+            changed = true;
+        }
+        if (changed) {
+            templates = Collections.unmodifiableMap(next);
+            reloads.incrementAndGet();
+        }
+    }
+}
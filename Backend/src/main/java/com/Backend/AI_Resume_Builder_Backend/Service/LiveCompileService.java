@@ -0,0 +1,234 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Debounced live-preview compiles over STOMP.
+ *
+ * Edits arriving for an editor session restart that session's debounce timer,
+ * so a burst of keystrokes turns into one compile of the last version. A new
+ * edit also cancels the session's compile if one is still queued or running
+ * (its compiler process is killed), because its result would be out of date
+ * anyway. Only the newest result is pushed to the STOMP connection that sent
+ * the edit, on {@code /user/queue/latex/live-compile}: the PDF hash, a
+ * thumbnail URL and, for small documents, the PDF itself.
+ */
+@Service
+public class LiveCompileService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveCompileService.class);
+
+    public static final String RESULT_DESTINATION = "/queue/latex/live-compile";
+
+    @Value("${latex.live.debounce-ms:350}")
+    private long debounceMs;
+
+    @Value("${latex.live.inline-pdf-max-bytes:262144}")
+    private int inlinePdfMaxBytes;
+
+    @Autowired
+    private LatexCompileService latexCompileService;
+
+    @Autowired
+    private PdfThumbnailService thumbnailService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final ScheduledExecutorService timers = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "live-compile-debounce");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService compiles = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Live state by STOMP connection and editor session
+    private final ConcurrentHashMap<String, LiveSession> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong debounced = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong pushed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Latest edit and compile of one editor session on one connection. All
+     * fields are guarded by the instance's monitor.
+     */
+    private static class LiveSession {
+        final String connectionId;
+        final String sessionId;
+        long latest;
+        ScheduledFuture<?> pending;
+        Future<?> running;
+
+        LiveSession(String connectionId, String sessionId) {
+            this.connectionId = connectionId;
+            this.sessionId = sessionId;
+        }
+    }
+
+    /**
+     * Accept an edit. The compile starts once the session has been quiet for
+     * the debounce interval.
+     *
+     * @param connectionId STOMP session the result is pushed to
+     * @param sessionId    editor session, which owns the compile workspace
+     * @param seq          client sequence number echoed in the result; may be
+     *                     {@code null}
+     */
+    public void submit(String connectionId, String sessionId, String latexCode, String templateType, String userKey,
+            Object seq) {
+        received.incrementAndGet();
+        LiveSession live = sessions.computeIfAbsent(connectionId + ":" + sessionId,
+                k -> new LiveSession(connectionId, sessionId));
+        synchronized (live) {
+            long version = ++live.latest;
+            if (live.pending != null && live.pending.cancel(false)) {
+                debounced.incrementAndGet();
+            }
+            if (live.running != null && live.running.cancel(true)) {
+                cancelled.incrementAndGet();
+            }
+            live.running = null;
+            CompileOptions options = CompileOptions.defaults()
+                    .templateType(templateType)
+                    .userKey(userKey)
+                    .priority(CompilePriority.INTERACTIVE);
+            live.pending = timers.schedule(() -> start(live, version, latexCode, options, seq), debounceMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drop everything belonging to a closed STOMP connection.
+     */
+    public void disconnect(String connectionId) {
+        sessions.values().removeIf(live -> {
+            if (!live.connectionId.equals(connectionId)) {
+                return false;
+            }
+            synchronized (live) {
+                if (live.pending != null) {
+                    live.pending.cancel(false);
+                }
+                if (live.running != null) {
+                    live.running.cancel(true);
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Push an error that is not tied to a compile, such as a rejected request.
+     */
+    public void pushError(String connectionId, Object seq, String message) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("status", "error");
+        payload.put("seq", seq);
+        payload.put("error", message);
+        send(connectionId, payload);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("debounceMs", debounceMs);
+        stats.put("received", received.get());
+        stats.put("debounced", debounced.get());
+        stats.put("cancelled", cancelled.get());
+        stats.put("pushed", pushed.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        timers.shutdownNow();
+        compiles.shutdownNow();
+    }
+
+    private void start(LiveSession live, long version, String latexCode, CompileOptions options, Object seq) {
+        synchronized (live) {
+            if (live.latest != version) {
+                return;
+            }
+            live.running = compiles.submit(() -> compile(live, version, latexCode, options, seq));
+        }
+    }
+
+    private void compile(LiveSession live, long version, String latexCode, CompileOptions options, Object seq) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("sessionId", live.sessionId);
+        payload.put("seq", seq);
+        try {
+            byte[] pdf = latexCompileService.compileInSession(live.sessionId, latexCode, options);
+            String hash = thumbnailService.register(pdf);
+            payload.put("status", "ok");
+            payload.put("pdfHash", hash);
+            payload.put("previewUrl", "/api/latex/preview/" + hash + ".png");
+            payload.put("pdfBytes", pdf.length);
+            if (pdf.length <= inlinePdfMaxBytes) {
+                payload.put("pdf", Base64.getEncoder().encodeToString(pdf));
+            }
+        } catch (InterruptedException | CompileCancelledException e) {
+            // a newer edit took over; it will push its own result
+            return;
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            failed.incrementAndGet();
+            payload.put("status", "error");
+            payload.put("error", e.getMessage());
+            if (e instanceof LatexCompileException failure) {
+                payload.put("diagnostics", failure.getDiagnostics());
+            }
+        }
+        payload.put("ms", System.currentTimeMillis() - start);
+
+        synchronized (live) {
+            if (live.latest != version || sessions.get(live.connectionId + ":" + live.sessionId) != live) {
+                return;
+            }
+            live.running = null;
+        }
+        send(live.connectionId, payload);
+        pushed.incrementAndGet();
+    }
+
+    private void send(String connectionId, Map<String, Object> payload) {
+        // Addressed by STOMP session id, so no authenticated principal is needed
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(connectionId);
+        headers.setLeaveMutable(true);
+        try {
+            messagingTemplate.convertAndSendToUser(connectionId, RESULT_DESTINATION, payload,
+                    headers.getMessageHeaders());
+        } catch (RuntimeException e) {
+            log.debug("Could not push live compile result to {}: {}", connectionId, e.getMessage());
+        }
+    }
+}
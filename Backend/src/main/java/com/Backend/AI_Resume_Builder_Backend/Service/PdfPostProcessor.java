@@ -0,0 +1,257 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional size reduction of compiled PDFs.
+ *
+ * Runs after a compile for the priority lanes listed in
+ * {@code latex.postprocess.lanes}: strips producer metadata and the XMP
+ * packet, points duplicate images and forms at a single copy, and
+ * Flate-compresses streams the compiler left uncompressed. The rewritten file
+ * is only used when it is actually smaller. Results are cached by input hash,
+ * so a PDF served from the compile cache is not processed twice.
+ */
+@Component
+public class PdfPostProcessor implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfPostProcessor.class);
+
+    // Info entries describing the toolchain rather than the document
+    private static final List<String> TOOL_INFO_KEYS = List.of("Producer", "Creator", "CreationDate", "ModDate",
+            "Trapped", "PTEX.Fullbanner");
+
+    @Value("${latex.postprocess.lanes:DOWNLOAD,BATCH}")
+    private String lanes;
+
+    @Value("${latex.postprocess.strip-metadata:true}")
+    private boolean stripMetadata;
+
+    @Value("${latex.postprocess.dedupe-resources:true}")
+    private boolean dedupeResources;
+
+    @Value("${latex.postprocess.compress-streams:true}")
+    private boolean compressStreams;
+
+    @Value("${latex.postprocess.cache-bytes:16777216}")
+    private long cacheBytes;
+
+    private final Set<CompilePriority> enabledLanes = EnumSet.noneOf(CompilePriority.class);
+    private ByteBoundedLruCache<String> results;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong totalMs = new AtomicLong();
+    private final AtomicLong duplicatesRemoved = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String lane : lanes.split(",")) {
+            CompilePriority priority = CompilePriority.parse(lane, null);
+            if (priority != null) {
+                enabledLanes.add(priority);
+            }
+        }
+        this.results = new ByteBoundedLruCache<>(cacheBytes);
+    }
+
+    public boolean isEnabledFor(CompilePriority priority) {
+        return enabledLanes.contains(priority == null ? CompilePriority.DOWNLOAD : priority);
+    }
+
+    /**
+     * Post-process a PDF if its lane has the stage enabled.
+     *
+     * @return the smaller rewritten PDF, or {@code pdf} itself
+     */
+    public byte[] process(byte[] pdf, CompilePriority priority) {
+        if (!isEnabledFor(priority)) {
+            return pdf;
+        }
+        String hash = CompiledPdfCache.sha256Hex(pdf);
+        byte[] cached = results.get(hash);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.currentTimeMillis();
+        byte[] out = pdf;
+        try {
+            byte[] rewritten = rewrite(pdf);
+            if (rewritten.length < pdf.length) {
+                out = rewritten;
+                applied.incrementAndGet();
+                bytesSaved.addAndGet(pdf.length - rewritten.length);
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.incrementAndGet();
+            log.debug("PDF post-processing failed, keeping the original: {}", e.getMessage());
+        }
+        runs.incrementAndGet();
+        bytesIn.addAndGet(pdf.length);
+        totalMs.addAndGet(System.currentTimeMillis() - start);
+        results.put(hash, out);
+        return out;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = runs.get();
+        stats.put("lanes", enabledLanes.toString());
+        stats.put("runs", count);
+        stats.put("applied", applied.get());
+        stats.put("failures", failures.get());
+        stats.put("bytesIn", bytesIn.get());
+        stats.put("bytesSaved", bytesSaved.get());
+        stats.put("savedRatio", bytesIn.get() == 0 ? 0.0 : (double) bytesSaved.get() / bytesIn.get());
+        stats.put("avgMs", count == 0 ? 0 : totalMs.get() / count);
+        stats.put("duplicatesRemoved", duplicatesRemoved.get());
+        stats.put("cache", results.getStats());
+        return stats;
+    }
+
+    private byte[] rewrite(byte[] pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            if (document.isEncrypted()) {
+                return pdf;
+            }
+            if (stripMetadata) {
+                stripMetadata(document);
+            }
+            if (dedupeResources) {
+                dedupeXObjects(document);
+            }
+            if (compressStreams) {
+                compressStreams(document);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(pdf.length);
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private void stripMetadata(PDDocument document) {
+        PDDocumentInformation info = document.getDocumentInformation();
+        COSDictionary dict = info.getCOSObject();
+        for (String key : TOOL_INFO_KEYS) {
+            dict.removeItem(COSName.getPDFName(key));
+        }
+        document.getDocumentCatalog().setMetadata(null);
+    }
+
+    /**
+     * Make identical image and form XObjects share one stream. Identity is the
+     * SHA-256 of the encoded bytes plus the stream dictionary.
+     */
+    private void dedupeXObjects(PDDocument document) throws IOException {
+        Map<String, PDXObject> seen = new HashMap<>();
+        for (PDPage page : document.getPages()) {
+            PDResources resources = page.getResources();
+            if (resources == null) {
+                continue;
+            }
+            for (COSName name : resources.getXObjectNames()) {
+                PDXObject xObject = resources.getXObject(name);
+                if (xObject == null) {
+                    continue;
+                }
+                String fingerprint = fingerprint(xObject.getCOSObject());
+                PDXObject first = seen.putIfAbsent(fingerprint, xObject);
+                if (first != null && first.getCOSObject() != xObject.getCOSObject()) {
+                    resources.put(name, first);
+                    duplicatesRemoved.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static String fingerprint(COSStream stream) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (InputStream in = stream.createRawInputStream()) {
+            in.transferTo(buf);
+        }
+        StringBuilder dict = new StringBuilder();
+        describe(stream, dict, 0);
+        buf.write(dict.toString().getBytes(StandardCharsets.UTF_8));
+        return CompiledPdfCache.sha256Hex(buf.toByteArray());
+    }
+
+    /**
+     * Append a representation of {@code value} that does not depend on object
+     * numbers, so two copies of an image with their own soft masks compare
+     * equal. Nested streams contribute the hash of their content.
+     */
+    private static void describe(COSBase value, StringBuilder out, int depth) throws IOException {
+        if (value instanceof COSObject indirect) {
+            value = indirect.getObject();
+        }
+        if (depth > 8) {
+            out.append('?');
+        } else if (value instanceof COSStream nested && depth > 0) {
+            out.append("stream:").append(fingerprint(nested));
+        } else if (value instanceof COSDictionary dict) {
+            out.append("<<");
+            for (Map.Entry<COSName, COSBase> entry : dict.entrySet()) {
+                if (!COSName.LENGTH.equals(entry.getKey())) {
+                    out.append('/').append(entry.getKey().getName()).append(' ');
+                    describe(entry.getValue(), out, depth + 1);
+                }
+            }
+            out.append(">>");
+        } else if (value instanceof COSArray array) {
+            out.append('[');
+            for (COSBase item : array) {
+                describe(item, out, depth + 1);
+                out.append(' ');
+            }
+            out.append(']');
+        } else {
+            out.append(value);
+        }
+    }
+
+    private void compressStreams(PDDocument document) throws IOException {
+        for (COSObject object : document.getDocument().getObjects()) {
+            COSBase base = object.getObject();
+            if (base instanceof COSStream stream && stream.getFilters() == null) {
+                byte[] data;
+                try (InputStream in = stream.createRawInputStream()) {
+                    data = in.readAllBytes();
+                }
+                try (OutputStream out = stream.createOutputStream(COSName.FLATE_DECODE)) {
+                    out.write(data);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PNG thumbnails of compiled PDFs.
+ *
+ * Compiled PDFs are registered under the SHA-256 of their bytes, which the
+ * compile endpoints return in the {@code X-Pdf-Hash} header. A thumbnail of a
+ * page can then be fetched by that hash instead of downloading the whole PDF.
+ * Both the registered PDFs and the rendered images live in byte-bounded LRU
+ * caches, and rendering is limited to a few concurrent pages since it is CPU
+ * and memory heavy.
+ */
+@Service
+public class PdfThumbnailService implements InitializingBean {
+
+    public static final int DEFAULT_DPI = 48;
+    public static final int MIN_DPI = 16;
+    public static final int MAX_DPI = 150;
+
+    private static final int MAX_PAGE_COUNTS = 1024;
+
+    @Value("${latex.preview.pdf-memory-bytes:33554432}")
+    private long pdfMemoryBytes;
+
+    @Value("${latex.preview.image-memory-bytes:16777216}")
+    private long imageMemoryBytes;
+
+    @Value("${latex.preview.max-concurrent-renders:2}")
+    private int maxConcurrentRenders;
+
+    private ByteBoundedLruCache<String> pdfs;
+    private ByteBoundedLruCache<String> images;
+    private Semaphore renderPermits;
+
+    // page counts of rendered PDFs, so out-of-range pages are clamped before the image lookup
+    private final Map<String, Integer> pageCounts = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                    return size() > MAX_PAGE_COUNTS;
+                }
+            });
+
+    private final AtomicLong renders = new AtomicLong();
+    private final AtomicLong totalRenderMs = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        this.pdfs = new ByteBoundedLruCache<>(pdfMemoryBytes);
+        this.images = new ByteBoundedLruCache<>(imageMemoryBytes);
+        this.renderPermits = new Semaphore(Math.max(1, maxConcurrentRenders), true);
+    }
+
+    /**
+     * Remember a compiled PDF so thumbnails of it can be requested later.
+     *
+     * @return the PDF's content hash
+     */
+    public String register(byte[] pdf) {
+        String hash = CompiledPdfCache.sha256Hex(pdf);
+        pdfs.putIfAbsent(hash, pdf);
+        return hash;
+    }
+
+    /**
+     * Render one page of a registered PDF as PNG.
+     *
+     * @param page 1-based page number; clamped to the document
+     * @param dpi  resolution; clamped to {@link #MIN_DPI}..{@link #MAX_DPI}
+     * @return PNG bytes, or {@code null} if no PDF with this hash is known
+     * @throws IOException if the PDF cannot be rendered
+     */
+    public byte[] renderPng(String hash, int page, int dpi) throws IOException, InterruptedException {
+        int clampedDpi = Math.max(MIN_DPI, Math.min(MAX_DPI, dpi));
+        int requestedPage = Math.max(1, page);
+        Integer knownPages = pageCounts.get(hash);
+        if (knownPages != null) {
+            requestedPage = Math.min(requestedPage, knownPages);
+        }
+        byte[] cached = images.get(imageKey(hash, requestedPage, clampedDpi));
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] pdf = pdfs.get(hash);
+        if (pdf == null) {
+            return null;
+        }
+
+        renderPermits.acquire();
+        try {
+            long start = System.currentTimeMillis();
+            byte[] png;
+            String imageKey;
+            try (PDDocument document = PDDocument.load(pdf)) {
+                if (document.getNumberOfPages() == 0) {
+                    throw new IOException("PDF has no pages");
+                }
+                pageCounts.put(hash, document.getNumberOfPages());
+                // pages past the end share the last page's entry
+                int clampedPage = Math.min(requestedPage, document.getNumberOfPages());
+                imageKey = imageKey(hash, clampedPage, clampedDpi);
+                if (clampedPage != requestedPage) {
+                    cached = images.get(imageKey);
+                    if (cached != null) {
+                        return cached;
+                    }
+                }
+                BufferedImage image = new PDFRenderer(document).renderImageWithDPI(clampedPage - 1, clampedDpi,
+                        ImageType.RGB);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(image, "png", out);
+                png = out.toByteArray();
+            }
+            renders.incrementAndGet();
+            totalRenderMs.addAndGet(System.currentTimeMillis() - start);
+            images.put(imageKey, png);
+            return png;
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    private static String imageKey(String hash, int page, int dpi) {
+        return hash + ":" + page + ":" + dpi;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = renders.get();
+        stats.put("pdfs", pdfs.getStats());
+        stats.put("images", images.getStats());
+        stats.put("renders", count);
+        stats.put("avgRenderMs", count == 0 ? 0 : totalRenderMs.get() / count);
+        return stats;
+    }
+}
@@ -0,0 +1,506 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compile farm shared by all backend instances through Redis Streams.
+ *
+ * Only created when {@code latex.farm.enabled=true}; otherwise nothing here
+ * touches Redis. Compiles of the listed lanes are added to a stream instead of
+ * being run locally. Worker threads on every node read the stream in one
+ * consumer group, compile through the node's normal (local) path, push the
+ * result to a per-job list the submitter blocks on, and acknowledge the entry.
+ * A global cap on running farm compiles is kept as expiring leases in a sorted
+ * set, so a crashed node's slots come back by themselves. A worker takes a
+ * lease only once it has read an entry, and drops entries whose submitter has
+ * already stopped waiting. While a worker holds an entry it re-claims it to
+ * itself every few seconds, which keeps the entry's idle time low through the
+ * lease wait, the local queue and the compile. An entry that goes idle for
+ * longer than {@code stuck-after-seconds} therefore belongs to a dead worker;
+ * it is claimed and queued again, up to a maximum number of attempts, while
+ * its submitter is still waiting.
+ */
+@Component
+@ConditionalOnProperty(name = "latex.farm.enabled", havingValue = "true")
+public class RedisCompileFarm implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCompileFarm.class);
+
+    private static final String GROUP = "compilers";
+    private static final byte RESULT_OK = 'O';
+    private static final byte RESULT_ERROR = 'E';
+    // document rejected by the compiler; the body is the compiler log
+    private static final byte RESULT_LATEX_ERROR = 'L';
+
+    // Drop expired leases, then take one if fewer than the cap are held
+    private static final DefaultRedisScript<Long> ACQUIRE_LEASE = new DefaultRedisScript<>(
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1]) "
+                    + "if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[2]) then "
+                    + "redis.call('ZADD', KEYS[1], ARGV[3], ARGV[4]) return 1 end return 0",
+            Long.class);
+
+    /**
+     * Compiles a job on this node, bypassing the farm.
+     */
+    @FunctionalInterface
+    public interface LocalCompiler {
+        byte[] compile(String latexCode, CompileOptions options) throws IOException, InterruptedException;
+    }
+
+    @Value("${latex.farm.key-prefix:latex:farm:}")
+    private String keyPrefix;
+
+    @Value("${latex.farm.lanes:DOWNLOAD,BATCH}")
+    private String lanes;
+
+    @Value("${latex.farm.max-concurrent:10}")
+    private int maxConcurrent;
+
+    @Value("${latex.farm.worker.enabled:true}")
+    private boolean workerEnabled;
+
+    @Value("${latex.farm.worker.threads:2}")
+    private int workerThreads;
+
+    @Value("${latex.farm.wait-timeout-seconds:180}")
+    private long waitTimeoutSeconds;
+
+    @Value("${latex.farm.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${latex.farm.stuck-after-seconds:30}")
+    private long stuckAfterSeconds;
+
+    @Value("${latex.farm.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${latex.farm.result-ttl-seconds:120}")
+    private long resultTtlSeconds;
+
+    @Value("${latex.farm.max-stream-length:10000}")
+    private long maxStreamLength;
+
+    @Value("${latex.farm.node-id:}")
+    private String nodeId;
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    private final Set<CompilePriority> farmedLanes = EnumSet.noneOf(CompilePriority.class);
+    private StringRedisTemplate strings;
+    private RedisTemplate<String, byte[]> bytes;
+    private String streamKey;
+    private String leaseKey;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+    private ScheduledExecutorService heartbeats;
+
+    // entries this node's workers have read and not yet acknowledged, and the consumer holding each
+    private final ConcurrentHashMap<RecordId, String> held = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong remoteFailures = new AtomicLong();
+    private final AtomicLong waitTimeouts = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong capWaits = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (stuckAfterSeconds >= waitTimeoutSeconds) {
+            // a stuck job would only be retried after its submitter gave up
+            throw new IllegalStateException("latex.farm.stuck-after-seconds (" + stuckAfterSeconds
+                    + ") must be below latex.farm.wait-timeout-seconds (" + waitTimeoutSeconds + ")");
+        }
+        for (String lane : lanes.split(",")) {
+            CompilePriority priority = CompilePriority.parse(lane, null);
+            if (priority != null && priority != CompilePriority.INTERACTIVE) {
+                // interactive compiles keep their session workspace on this node
+                farmedLanes.add(priority);
+            }
+        }
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = InetAddress.getLocalHost().getHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        streamKey = keyPrefix + "jobs";
+        leaseKey = keyPrefix + "leases";
+
+        strings = new StringRedisTemplate(connectionFactory);
+        bytes = new RedisTemplate<>();
+        bytes.setConnectionFactory(connectionFactory);
+        bytes.setKeySerializer(RedisSerializer.string());
+        bytes.setValueSerializer(RedisSerializer.byteArray());
+        bytes.afterPropertiesSet();
+    }
+
+    /**
+     * Whether compiles of this lane are sent to the farm.
+     */
+    public boolean handles(CompilePriority priority) {
+        return farmedLanes.contains(priority == null ? CompilePriority.DOWNLOAD : priority);
+    }
+
+    /**
+     * Start this node's workers. Called once the local compile path exists.
+     */
+    public synchronized void startWorkers(LocalCompiler compiler) {
+        if (!workerEnabled || running) {
+            return;
+        }
+        try {
+            strings.execute((RedisCallback<String>) c -> c.streamCommands().xGroupCreate(
+                    streamKey.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0-0"), true));
+        } catch (RuntimeException e) {
+            // BUSYGROUP: another node created it first
+            log.debug("Compile farm group not created: {}", e.getMessage());
+        }
+        running = true;
+        heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "compile-farm-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        long heartbeatMs = Math.max(250, TimeUnit.SECONDS.toMillis(stuckAfterSeconds) / 3);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < Math.max(1, workerThreads); i++) {
+            String consumer = nodeId + "-" + i;
+            Thread worker = Thread.ofPlatform().daemon().name("compile-farm-" + i)
+                    .start(() -> workLoop(consumer, compiler));
+            workers.add(worker);
+        }
+        log.info("Compile farm started on {} with {} workers", nodeId, workers.size());
+    }
+
+    /**
+     * Queue a compile on the farm and wait for its result.
+     *
+     * @throws IOException if the compile failed on the worker or no result
+     *                     arrived in time
+     */
+    public byte[] compile(String latexCode, CompileOptions options) throws IOException, InterruptedException {
+        String jobId = UUID.randomUUID().toString();
+        Map<String, String> job = new HashMap<>();
+        job.put("id", jobId);
+        job.put("code", latexCode);
+        job.put("attempt", "1");
+        if (options.getTemplateType() != null) {
+            job.put("template", options.getTemplateType());
+        }
+        if (options.getUserKey() != null) {
+            job.put("user", options.getUserKey());
+        }
+        if (options.getPriority() != null) {
+            job.put("priority", options.getPriority().name());
+        }
+
+        long start = System.currentTimeMillis();
+        long deadline = start + Duration.ofSeconds(waitTimeoutSeconds).toMillis();
+        // workers drop the job once nobody is waiting for it any more
+        job.put("deadline", String.valueOf(deadline));
+        StreamOperations<String, String, String> stream = strings.opsForStream();
+        stream.add(MapRecord.create(streamKey, job));
+        submitted.incrementAndGet();
+
+        // Poll in short blocks so an interrupt (cancelled compile) is noticed
+        String resultKey = keyPrefix + "result:" + jobId;
+        while (System.currentTimeMillis() < deadline) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Farm compile " + jobId + " cancelled");
+            }
+            byte[] result = bytes.opsForList().leftPop(resultKey, Duration.ofSeconds(1));
+            if (result != null && result.length > 0) {
+                totalWaitMs.addAndGet(System.currentTimeMillis() - start);
+                byte[] body = java.util.Arrays.copyOfRange(result, 1, result.length);
+                if (result[0] == RESULT_OK) {
+                    return body;
+                }
+                remoteFailures.incrementAndGet();
+                if (result[0] == RESULT_LATEX_ERROR) {
+                    throw LatexCompileException.fromLog(new String(body, StandardCharsets.UTF_8));
+                }
+                throw new IOException(new String(body, StandardCharsets.UTF_8));
+            }
+        }
+        waitTimeouts.incrementAndGet();
+        throw new IOException("Server is currently busy compiling other resumes. Please try again in a moment.");
+    }
+
+    /**
+     * Queue again the entries a worker took but never acknowledged, for
+     * example because its node died mid-compile. An entry that has used up its
+     * attempts gets an error result instead.
+     */
+    @Scheduled(initialDelayString = "${latex.farm.reclaim-interval-ms:15000}",
+            fixedDelayString = "${latex.farm.reclaim-interval-ms:15000}")
+    public void reclaimStuckJobs() {
+        if (!running) {
+            return;
+        }
+        try {
+            StreamOperations<String, String, String> stream = strings.opsForStream();
+            Duration stuckAfter = Duration.ofSeconds(stuckAfterSeconds);
+            PendingMessages pending = stream.pending(streamKey, GROUP, Range.unbounded(), 100);
+            for (PendingMessage message : pending) {
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(stuckAfter) < 0) {
+                    continue;
+                }
+                // Claiming resets the idle time, so only one node gets each entry
+                List<MapRecord<String, String, String>> claimed = stream.claim(streamKey, GROUP,
+                        nodeId + "-reclaimer", stuckAfter, message.getId());
+                for (MapRecord<String, String, String> record : claimed) {
+                    Map<String, String> job = new HashMap<>(record.getValue());
+                    int attempt = Integer.parseInt(job.getOrDefault("attempt", "1"));
+                    if (isExpired(job)) {
+                        expired.incrementAndGet();
+                    } else if (attempt >= maxAttempts) {
+                        String error = "Compilation did not finish after " + attempt + " attempts";
+                        pushResult(job.get("id"), RESULT_ERROR, error.getBytes(StandardCharsets.UTF_8));
+                        deadLettered.incrementAndGet();
+                    } else {
+                        job.put("attempt", String.valueOf(attempt + 1));
+                        stream.add(MapRecord.create(streamKey, job));
+                        reclaimed.incrementAndGet();
+                    }
+                    stream.acknowledge(streamKey, GROUP, record.getId());
+                    stream.delete(streamKey, record.getId());
+                }
+            }
+            stream.trim(streamKey, maxStreamLength, true);
+        } catch (RuntimeException e) {
+            log.warn("Compile farm reclaim failed: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = submitted.get();
+        stats.put("nodeId", nodeId);
+        stats.put("lanes", farmedLanes.toString());
+        stats.put("workers", running ? workers.size() : 0);
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("submitted", count);
+        stats.put("remoteFailures", remoteFailures.get());
+        stats.put("waitTimeouts", waitTimeouts.get());
+        stats.put("avgWaitMs", count == 0 ? 0 : totalWaitMs.get() / count);
+        stats.put("processed", processed.get());
+        stats.put("reclaimed", reclaimed.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("capWaits", capWaits.get());
+        stats.put("expired", expired.get());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    private void workLoop(String consumer, LocalCompiler compiler) {
+        StreamOperations<String, String, String> stream = strings.opsForStream();
+        String lease = consumer + ":" + UUID.randomUUID();
+        while (running) {
+            try {
+                List<MapRecord<String, String, String>> records = readNext(stream, consumer);
+                if (records == null) {
+                    continue;
+                }
+                for (MapRecord<String, String, String> record : records) {
+                    held.put(record.getId(), consumer);
+                    try {
+                        // the slot is only taken once there is a job for it
+                        if (!awaitLease(lease, record.getValue())) {
+                            drop(stream, record);
+                            continue;
+                        }
+                        try {
+                            process(stream, record, compiler);
+                        } finally {
+                            strings.opsForZSet().remove(leaseKey, lease);
+                        }
+                    } finally {
+                        // an entry left pending after this goes idle and is reclaimed
+                        held.remove(record.getId());
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Compile farm worker {} error: {}", consumer, e.getMessage());
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // StreamOperations.read takes generic varargs; one offset is passed
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, String, String>> readNext(StreamOperations<String, String, String> stream,
+            String consumer) {
+        return stream.read(Consumer.from(GROUP, consumer),
+                StreamReadOptions.empty().count(1).block(Duration.ofSeconds(2)),
+                StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+    }
+
+    /**
+     * Re-claim every held entry to the consumer holding it. XCLAIM resets the
+     * entry's idle time, so the reclaimer leaves it alone however long the
+     * worker takes.
+     */
+    private void heartbeat() {
+        byte[] key = streamKey.getBytes(StandardCharsets.UTF_8);
+        held.forEach((id, consumer) -> {
+            try {
+                strings.execute((RedisCallback<List<RecordId>>) c -> c.streamCommands().xClaimJustId(key, GROUP,
+                        consumer, XClaimOptions.minIdle(Duration.ZERO).ids(id)));
+            } catch (RuntimeException e) {
+                log.debug("Compile farm heartbeat for {} failed: {}", id, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Wait for a global compile lease for a job this worker has read.
+     *
+     * @return {@code false} if the job expired while waiting
+     * @throws InterruptedException on shutdown; the entry stays pending so
+     *                              another node reclaims it
+     */
+    private boolean awaitLease(String lease, Map<String, String> job) throws InterruptedException {
+        while (true) {
+            if (isExpired(job)) {
+                return false;
+            }
+            if (acquireLease(lease)) {
+                return true;
+            }
+            if (!running) {
+                throw new InterruptedException("Compile farm stopped");
+            }
+            capWaits.incrementAndGet();
+            Thread.sleep(500);
+        }
+    }
+
+    /**
+     * Whether the submitter has stopped waiting for the job's result. Jobs
+     * queued without a deadline never expire.
+     */
+    private static boolean isExpired(Map<String, String> job) {
+        String deadline = job.get("deadline");
+        if (deadline == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(deadline) < System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void drop(StreamOperations<String, String, String> stream, MapRecord<String, String, String> record) {
+        stream.acknowledge(streamKey, GROUP, record.getId());
+        stream.delete(streamKey, record.getId());
+        expired.incrementAndGet();
+    }
+
+    private void process(StreamOperations<String, String, String> stream, MapRecord<String, String, String> record,
+            LocalCompiler compiler) throws InterruptedException {
+        Map<String, String> job = record.getValue();
+        CompileOptions options = CompileOptions.defaults()
+                .templateType(job.get("template"))
+                .userKey(job.get("user"))
+                .priority(CompilePriority.parse(job.get("priority"), CompilePriority.DOWNLOAD));
+        try {
+            pushResult(job.get("id"), RESULT_OK, compiler.compile(job.get("code"), options));
+        } catch (LatexCompileException e) {
+            String compilerLog = e.getLog() == null ? "" : e.getLog();
+            pushResult(job.get("id"), RESULT_LATEX_ERROR, compilerLog.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            String message = e.getMessage() == null ? "LaTeX compilation failed" : e.getMessage();
+            pushResult(job.get("id"), RESULT_ERROR, message.getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            // shutting down: leave the entry pending so another node reclaims it
+            throw e;
+        }
+        stream.acknowledge(streamKey, GROUP, record.getId());
+        stream.delete(streamKey, record.getId());
+        processed.incrementAndGet();
+    }
+
+    private boolean acquireLease(String lease) {
+        long now = System.currentTimeMillis();
+        Long granted = strings.execute(ACQUIRE_LEASE, List.of(leaseKey), String.valueOf(now),
+                String.valueOf(maxConcurrent), String.valueOf(now + Duration.ofSeconds(leaseSeconds).toMillis()),
+                lease);
+        return granted != null && granted == 1L;
+    }
+
+    private void pushResult(String jobId, byte status, byte[] body) {
+        if (jobId == null) {
+            return;
+        }
+        byte[] result = new byte[body.length + 1];
+        result[0] = status;
+        System.arraycopy(body, 0, result, 1, body.length);
+        String resultKey = keyPrefix + "result:" + jobId;
+        bytes.opsForList().rightPush(resultKey, result);
+        bytes.expire(resultKey, Duration.ofSeconds(resultTtlSeconds));
+    }
+}
@@ -0,0 +1,291 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resume data as the LaTeX generator reads it, in the same shape as the
+ * {@code resumeData} JSON the frontend sends, so Jackson binds request bodies
+ * straight into it.
+ *
+ * Immutable and normalized on construction: missing strings are {@code ""},
+ * missing lists are empty, missing objects are their {@code EMPTY} value, and
+ * null list entries are dropped (skills) or empty (entries).
+ *
+ * Binding is as forgiving as the map lookups the generator used before: a
+ * field of the wrong shape (say, {@code skills} as an array) counts as
+ * missing, unknown fields are ignored, and any value in a text field is
+ * rendered with {@code toString()}, so a {@code responsibility} sent as an
+ * array becomes {@code "[a, b]"} as it always did.
+ */
+@JsonDeserialize(using = ResumeModel.LenientDeserializer.class)
+public record ResumeModel(
+        PersonalInformation personalInformation,
+        String summary,
+        Skills skills,
+        List<Experience> experience,
+        List<Project> projects,
+        List<Education> education,
+        List<Certification> certifications,
+        List<Achievement> achievements) {
+
+    public static final ResumeModel EMPTY = new ResumeModel(null, null, null, null, null, null, null, null);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public ResumeModel {
+        personalInformation = personalInformation == null ? PersonalInformation.EMPTY : personalInformation;
+        summary = text(summary);
+        skills = skills == null ? Skills.EMPTY : skills;
+        experience = entries(experience, Experience.EMPTY);
+        projects = entries(projects, Project.EMPTY);
+        education = entries(education, Education.EMPTY);
+        certifications = entries(certifications, Certification.EMPTY);
+        achievements = entries(achievements, Achievement.EMPTY);
+    }
+
+    /**
+     * Adapter for callers that still hold the untyped request map.
+     */
+    public static ResumeModel fromMap(Map<String, Object> resumeData) {
+        if (resumeData == null) {
+            return EMPTY;
+        }
+        return MAPPER.convertValue(resumeData, ResumeModel.class);
+    }
+
+    public record PersonalInformation(String fullName, String email, String phoneNumber, String location,
+            String linkedIn, String gitHub, String portfolio) {
+
+        public static final PersonalInformation EMPTY = new PersonalInformation(null, null, null, null, null, null,
+                null);
+
+        public PersonalInformation {
+            fullName = text(fullName);
+            email = text(email);
+            phoneNumber = text(phoneNumber);
+            location = text(location);
+            linkedIn = text(linkedIn);
+            gitHub = text(gitHub);
+            portfolio = text(portfolio);
+        }
+    }
+
+    public record Skills(List<String> languages, List<String> frameworks, List<String> databases,
+            List<String> tools, List<String> cloud, List<String> other) {
+
+        public static final Skills EMPTY = new Skills(null, null, null, null, null, null);
+
+        public Skills {
+            languages = names(languages);
+            frameworks = names(frameworks);
+            databases = names(databases);
+            tools = names(tools);
+            cloud = names(cloud);
+            other = names(other);
+        }
+    }
+
+    public record Experience(String jobTitle, String company, String location, String duration,
+            String responsibility) {
+
+        public static final Experience EMPTY = new Experience(null, null, null, null, null);
+
+        public Experience {
+            jobTitle = text(jobTitle);
+            company = text(company);
+            location = text(location);
+            duration = text(duration);
+            responsibility = text(responsibility);
+        }
+    }
+
+    /**
+     * @param technologiesUsed a list, or a single string the frontend did not
+     *                         split
+     */
+    public record Project(String title, String description, List<String> technologiesUsed, String githubLink) {
+
+        public static final Project EMPTY = new Project(null, null, null, null);
+
+        public Project {
+            title = text(title);
+            description = text(description);
+            // nulls kept: they were always joined as "null"
+            technologiesUsed = technologiesUsed == null ? List.of() : Collections.unmodifiableList(technologiesUsed);
+            githubLink = text(githubLink);
+        }
+    }
+
+    public record Education(String degree, String university, String location, String graduationYear) {
+
+        public static final Education EMPTY = new Education(null, null, null, null);
+
+        public Education {
+            degree = text(degree);
+            university = text(university);
+            location = text(location);
+            graduationYear = text(graduationYear);
+        }
+    }
+
+    public record Certification(String title, String issuingOrganization, String year) {
+
+        public static final Certification EMPTY = new Certification(null, null, null);
+
+        public Certification {
+            title = text(title);
+            issuingOrganization = text(issuingOrganization);
+            year = text(year);
+        }
+    }
+
+    public record Achievement(String title, String year) {
+
+        public static final Achievement EMPTY = new Achievement(null, null);
+
+        public Achievement {
+            title = text(title);
+            year = text(year);
+        }
+    }
+
+    private static String text(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static List<String> names(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        if (!values.contains(null)) {
+            return Collections.unmodifiableList(values);
+        }
+        List<String> present = new ArrayList<>(values.size());
+        for (String value : values) {
+            if (value != null) {
+                present.add(value);
+            }
+        }
+        return Collections.unmodifiableList(present);
+    }
+
+    private static <T> List<T> entries(List<T> values, T empty) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        if (!values.contains(null)) {
+            return Collections.unmodifiableList(values);
+        }
+        List<T> present = new ArrayList<>(values.size());
+        for (T value : values) {
+            present.add(value == null ? empty : value);
+        }
+        return Collections.unmodifiableList(present);
+    }
+
+    /**
+     * Reads the JSON tree with the old lookup rules: objects and lists of the
+     * wrong shape are empty, list entries that are not objects are empty
+     * entries, and text fields take any value's {@code toString()}.
+     */
+    static final class LenientDeserializer extends StdDeserializer<ResumeModel> {
+
+        LenientDeserializer() {
+            super(ResumeModel.class);
+        }
+
+        @Override
+        public ResumeModel deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonNode root = p.readValueAsTree();
+            if (root == null || !root.isObject()) {
+                return EMPTY;
+            }
+            JsonNode info = object(root, "personalInformation");
+            JsonNode skills = object(root, "skills");
+            return new ResumeModel(
+                    new PersonalInformation(text(info, "fullName"), text(info, "email"), text(info, "phoneNumber"),
+                            text(info, "location"), text(info, "linkedIn"), text(info, "gitHub"),
+                            text(info, "portfolio")),
+                    text(root, "summary"),
+                    new Skills(names(skills, "languages"), names(skills, "frameworks"), names(skills, "databases"),
+                            names(skills, "tools"), names(skills, "cloud"), names(skills, "other")),
+                    entries(root, "experience", e -> new Experience(text(e, "jobTitle"), text(e, "company"),
+                            text(e, "location"), text(e, "duration"), text(e, "responsibility"))),
+                    entries(root, "projects", e -> new Project(text(e, "title"), text(e, "description"),
+                            technologies(e.get("technologiesUsed")), text(e, "githubLink"))),
+                    entries(root, "education", e -> new Education(text(e, "degree"), text(e, "university"),
+                            text(e, "location"), text(e, "graduationYear"))),
+                    entries(root, "certifications", e -> new Certification(text(e, "title"),
+                            text(e, "issuingOrganization"), text(e, "year"))),
+                    entries(root, "achievements", e -> new Achievement(text(e, "title"), text(e, "year"))));
+        }
+
+        private static JsonNode object(JsonNode parent, String field) {
+            JsonNode node = parent.get(field);
+            return node != null && node.isObject() ? node : MissingNode.getInstance();
+        }
+
+        private static String text(JsonNode parent, String field) {
+            return asText(parent.get(field));
+        }
+
+        private static String asText(JsonNode node) {
+            if (node == null || node.isNull() || node.isMissingNode()) {
+                return null;
+            }
+            if (node.isTextual()) {
+                return node.textValue();
+            }
+            // numbers, booleans, lists and maps as the untyped map held them
+            return String.valueOf(MAPPER.convertValue(node, Object.class));
+        }
+
+        private static List<String> names(JsonNode parent, String field) {
+            JsonNode node = parent.get(field);
+            if (node == null || !node.isArray()) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(node.size());
+            node.forEach(item -> values.add(asText(item)));
+            return values;
+        }
+
+        private static List<String> technologies(JsonNode node) {
+            if (node != null && node.isTextual()) {
+                return List.of(node.textValue());
+            }
+            if (node == null || !node.isArray()) {
+                return null;
+            }
+            // null entries stay null; they were always joined as "null"
+            List<String> values = new ArrayList<>(node.size());
+            node.forEach(item -> values.add(asText(item)));
+            return values;
+        }
+
+        private static <T> List<T> entries(JsonNode parent, String field, Function<JsonNode, T> entry) {
+            JsonNode node = parent.get(field);
+            if (node == null || !node.isArray()) {
+                return null;
+            }
+            List<T> values = new ArrayList<>(node.size());
+            for (JsonNode item : node) {
+                values.add(entry.apply(item.isObject() ? item : MissingNode.getInstance()));
+            }
+            return values;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.Backend.AI_Resume_Builder_Backend.Service;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface ResumeService {
 
@@ -9,4 +10,12 @@ public interface ResumeService {
 
 	Map<String, Object> generateResumeResponse(String userResumeDescription, String templateType) throws IOException;
 
+	/**
+	 * Same as {@link #generateResumeResponse(String, String)}, without holding
+	 * the caller's thread while Gemini responds. Failures complete the future
+	 * normally with an error map, as the blocking version returns one.
+	 */
+	CompletableFuture<Map<String, Object>> generateResumeResponseAsync(String userResumeDescription,
+			String templateType);
+
 }
\ No newline at end of file
@@ -11,6 +11,9 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class ResumeServiceImpl implements ResumeService {
@@ -29,7 +32,13 @@ public class ResumeServiceImpl implements ResumeService {
 
     public Map<String, Object> generateResumeResponse(String userResumeDescription, String templateType)
             throws IOException {
-        Map<String, Object> result = new HashMap<>();
+        return generateResumeResponseAsync(userResumeDescription, templateType).join();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> generateResumeResponseAsync(String userResumeDescription,
+            String templateType) {
+        String promptContent;
         try {
             // Validate input
             if (userResumeDescription == null || userResumeDescription.trim().isEmpty()) {
@@ -42,25 +51,38 @@ public class ResumeServiceImpl implements ResumeService {
             }
 
             String promptString = this.loadPromptFromFile("resume_prompt.txt");
-            String promptContent = this.putValueToTemplate(promptString, Map.of(
+            promptContent = this.putValueToTemplate(promptString, Map.of(
                     "userResumeDescription", userResumeDescription,
                     "templateType", templateType));
-            var responseOpt = geminiService.generateContent(promptContent);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(generationError(e));
+        }
+        return geminiService.generateContentAsync(promptContent).handle((responseOpt, error) -> {
+            if (error != null) {
+                return generationError(error instanceof CompletionException ? error.getCause() : error);
+            }
             if (responseOpt.isEmpty()) {
+                Map<String, Object> result = new HashMap<>();
                 result.put("error", "Gemini AI service returned empty response");
                 result.put("details",
                         "Check Gemini API key, quota, or prompt format. See backend logs for raw response.");
                 return result;
             }
-            String response = responseOpt.get();
-            Map<String, Object> stringMap = parseMultipleResponses(response);
-            return stringMap;
-        } catch (Exception e) {
-            log.error("Error in generateResumeResponse: {}", e.getMessage(), e);
-            result.put("error", "Exception in resume generation");
-            result.put("message", e.getMessage());
-            return result;
-        }
+            try {
+                return parseMultipleResponses(responseOpt.get());
+            } catch (Exception e) {
+                return generationError(e);
+            }
+        });
+    }
+
+    private static Map<String, Object> generationError(Throwable e) {
+        String message = e instanceof TimeoutException ? "Gemini did not respond in time" : e.getMessage();
+        log.error("Error in generateResumeResponse: {}", message, e);
+        Map<String, Object> result = new HashMap<>();
+        result.put("error", "Exception in resume generation");
+        result.put("message", message);
+        return result;
     }
 
     String loadPromptFromFile(String fileName) throws IOException {
@@ -0,0 +1,79 @@
+package com.Backend.AI_Resume_Builder_Backend.Security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+class StompAuthInterceptorTest {
+
+	private final JwtUtil jwtUtil = mock(JwtUtil.class);
+	private final StompAuthInterceptor interceptor = new StompAuthInterceptor(jwtUtil);
+	private final MessageChannel channel = mock(MessageChannel.class);
+
+	private static Message<byte[]> frame(StompCommand command, String destination, String authHeader) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+		accessor.setSessionId("conn-1");
+		if (destination != null) {
+			accessor.setDestination(destination);
+		}
+		if (authHeader != null) {
+			accessor.setNativeHeader("Authorization", authHeader);
+		}
+		accessor.setLeaveMutable(true);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+
+	@Test
+	void connectWithValidTokenBelongsToThatUser() {
+		when(jwtUtil.validateToken("good")).thenReturn(true);
+		when(jwtUtil.getEmailFromToken("good")).thenReturn("alice@example.com");
+
+		Message<?> message = interceptor.preSend(frame(StompCommand.CONNECT, null, "Bearer good"), channel);
+
+		assertThat(StompHeaderAccessor.wrap(message).getUser().getName()).isEqualTo("alice@example.com");
+	}
+
+	@Test
+	void connectWithoutValidTokenIsAnonymous() {
+		when(jwtUtil.validateToken("bad")).thenReturn(false);
+
+		assertThat(StompHeaderAccessor.wrap(interceptor.preSend(frame(StompCommand.CONNECT, null, "Bearer bad"), channel))
+				.getUser()).isNull();
+		assertThat(StompHeaderAccessor.wrap(interceptor.preSend(frame(StompCommand.CONNECT, null, null), channel))
+				.getUser()).isNull();
+	}
+
+	@Test
+	void userQueuesAndTopicsCanBeSubscribed() {
+		assertThat(interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/user/queue/latex/jobs", null), channel))
+				.isNotNull();
+		assertThat(interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/resume/json", null), channel))
+				.isNotNull();
+	}
+
+	@Test
+	void patternSubscriptionsAreRejected() {
+		for (String destination : new String[] { "/topic/latex/jobs/**", "/user/queue/*", "/topic/resume/?son",
+				"/topic/{id}" }) {
+			assertThatThrownBy(
+					() -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, destination, null), channel))
+					.isInstanceOf(MessageDeliveryException.class);
+		}
+	}
+
+	@Test
+	void queuesCanOnlyBeSubscribedThroughUser() {
+		assertThatThrownBy(() -> interceptor
+				.preSend(frame(StompCommand.SUBSCRIBE, "/queue/latex/jobs-userconn-2", null), channel))
+				.isInstanceOf(MessageDeliveryException.class);
+	}
+}
@@ -0,0 +1,101 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AdaptiveCompileLimitTest {
+
+	private static final long RTT = TimeUnit.MILLISECONDS.toNanos(500);
+
+	/**
+	 * A limit that ignores host CPU unless {@code cpuThreshold} is negative,
+	 * in which case the host always counts as saturated.
+	 */
+	static AdaptiveCompileLimit limit(int initial, int min, int max, double cpuThreshold) {
+		AdaptiveCompileLimit limit = new AdaptiveCompileLimit();
+		ReflectionTestUtils.setField(limit, "adaptive", true);
+		ReflectionTestUtils.setField(limit, "initialLimit", initial);
+		ReflectionTestUtils.setField(limit, "minLimit", min);
+		ReflectionTestUtils.setField(limit, "maxLimit", max);
+		ReflectionTestUtils.setField(limit, "tolerance", 1.5);
+		ReflectionTestUtils.setField(limit, "backoff", 0.9);
+		ReflectionTestUtils.setField(limit, "cpuThreshold", cpuThreshold);
+		ReflectionTestUtils.setField(limit, "shortWindow", 2);
+		ReflectionTestUtils.setField(limit, "longWindow", 200);
+		limit.afterPropertiesSet();
+		return limit;
+	}
+
+	private static void samples(AdaptiveCompileLimit limit, int count, long rttNanos, int inFlight) {
+		for (int i = 0; i < count; i++) {
+			limit.onSample(rttNanos, inFlight);
+		}
+	}
+
+	@Test
+	void growsByOneWhenTheLimitIsFullyUsed() {
+		AdaptiveCompileLimit limit = limit(4, 1, 8, 2.0);
+
+		samples(limit, 4, RTT, 4);
+		assertThat(limit.getLimit()).isEqualTo(5);
+		samples(limit, 5, RTT, 5);
+		assertThat(limit.getLimit()).isEqualTo(6);
+	}
+
+	@Test
+	void doesNotGrowAnUnusedLimit() {
+		AdaptiveCompileLimit limit = limit(4, 1, 8, 2.0);
+
+		samples(limit, 20, RTT, 2);
+
+		assertThat(limit.getLimit()).isEqualTo(4);
+	}
+
+	@Test
+	void stopsGrowingAtTheMaximum() {
+		AdaptiveCompileLimit limit = limit(7, 1, 8, 2.0);
+
+		samples(limit, 50, RTT, 8);
+
+		assertThat(limit.getLimit()).isEqualTo(8);
+	}
+
+	@Test
+	void shrinksMultiplicativelyWhenLatencyRises() {
+		AdaptiveCompileLimit limit = limit(20, 1, 20, 2.0);
+		samples(limit, 20, RTT, 10);
+		assertThat(limit.getLimit()).isEqualTo(20);
+
+		// the short average jumps well past tolerance times the long one
+		samples(limit, 20, RTT * 4, 10);
+
+		assertThat(limit.getLimit()).isEqualTo(18);
+		assertThat(limit.getStats()).containsEntry("decreases", 1L);
+	}
+
+	@Test
+	void smallLimitsStillShrinkByAtLeastOne() {
+		AdaptiveCompileLimit limit = limit(3, 1, 3, -1);
+
+		samples(limit, 3, RTT, 3);
+		assertThat(limit.getLimit()).isEqualTo(2);
+		samples(limit, 2, RTT, 2);
+		assertThat(limit.getLimit()).isEqualTo(1);
+		samples(limit, 10, RTT, 1);
+		assertThat(limit.getLimit()).isEqualTo(1);
+	}
+
+	@Test
+	void fixedLimitNeverMoves() {
+		AdaptiveCompileLimit limit = limit(4, 1, 8, -1);
+		ReflectionTestUtils.setField(limit, "adaptive", false);
+
+		samples(limit, 50, RTT * 10, 4);
+
+		assertThat(limit.getLimit()).isEqualTo(4);
+	}
+}
@@ -0,0 +1,90 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockMultipartFile;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class AtsScoreServiceImplTest {
+
+	private static final String COMPLETE = "{\"atsScore\":82,\"scoreBreakdown\":{\"formatting\":20},"
+			+ "\"strengths\":[\"clear\"],\"weaknesses\":[],\"detailedSuggestions\":[]}";
+	private static final String PARTIAL = "{\"atsScore\":74,\"strengths\":[\"clear\"]}";
+
+	private final GeminiServiceTest.StubVertex vertex = new GeminiServiceTest.StubVertex();
+	private final Logger logger = (Logger) LoggerFactory.getLogger(AtsScoreServiceImpl.class);
+	private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+	private GeminiService gemini;
+	private AtsScoreServiceImpl service;
+	private MockMultipartFile resume;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		gemini = GeminiServiceTest.gemini(4, vertex);
+		service = new AtsScoreServiceImpl(gemini, new ResumeServiceImpl(gemini));
+		resume = new MockMultipartFile("file", "resume.pdf", "application/pdf", PdfThumbnailServiceTest.pdf(1));
+		logs.start();
+		logger.addAppender(logs);
+	}
+
+	@AfterEach
+	void tearDown() {
+		logger.detachAppender(logs);
+		gemini.destroy();
+	}
+
+	private List<String> warnings(String text) {
+		return logs.list.stream().map(ILoggingEvent::getFormattedMessage).filter(m -> m.contains(text)).toList();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void retriesAnIncompleteResponse() throws Exception {
+		vertex.replies(PARTIAL, COMPLETE);
+
+		Map<String, Object> result = service.getAtsScore(resume);
+
+		assertThat((Map<String, Object>) result.get("data")).containsEntry("atsScore", 82);
+		assertThat(result).doesNotContainKey("partial");
+		assertThat(vertex.requests).hasValue(2);
+		assertThat(warnings("missing keys")).hasSize(1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void keepsTheLastParsedResultAcrossFailedAttempts() throws Exception {
+		vertex.replies(PARTIAL, 500, 503);
+
+		Map<String, Object> result = service.getAtsScore(resume);
+
+		assertThat((Map<String, Object>) result.get("data")).containsEntry("atsScore", 74);
+		assertThat(result).containsEntry("partial", true).containsEntry("missingKeys",
+				List.of("scoreBreakdown", "weaknesses", "detailedSuggestions"));
+		assertThat(vertex.requests).hasValue(3);
+		// only the attempt that parsed the partial result reports its missing keys
+		assertThat(warnings("ATS response missing keys")).containsExactly(
+				"ATS response missing keys [scoreBreakdown, weaknesses, detailedSuggestions] on attempt 1, retrying...");
+	}
+
+	@Test
+	void failsAfterTheLastAttempt() {
+		vertex.replies(500);
+
+		assertThatThrownBy(() -> service.getAtsScore(resume)).isInstanceOf(IOException.class)
+				.hasMessage("Failed to get valid ATS analysis after 3 attempts");
+		assertThat(vertex.requests).hasValue(3);
+		assertThat(warnings("missing keys")).isEmpty();
+	}
+}
@@ -0,0 +1,27 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CompilePriorityTest {
+
+	@Test
+	void clientCanLowerItsLane() {
+		assertThat(CompilePriority.forRequest("batch", CompilePriority.INTERACTIVE)).isEqualTo(CompilePriority.BATCH);
+		assertThat(CompilePriority.forRequest("download", CompilePriority.INTERACTIVE))
+				.isEqualTo(CompilePriority.DOWNLOAD);
+	}
+
+	@Test
+	void clientCannotRaiseItsLane() {
+		assertThat(CompilePriority.forRequest("interactive", CompilePriority.BATCH)).isEqualTo(CompilePriority.BATCH);
+		assertThat(CompilePriority.forRequest("download", CompilePriority.BATCH)).isEqualTo(CompilePriority.BATCH);
+	}
+
+	@Test
+	void missingOrUnknownValueKeepsTheEndpointLane() {
+		assertThat(CompilePriority.forRequest(null, CompilePriority.DOWNLOAD)).isEqualTo(CompilePriority.DOWNLOAD);
+		assertThat(CompilePriority.forRequest("urgent", CompilePriority.DOWNLOAD)).isEqualTo(CompilePriority.DOWNLOAD);
+	}
+}
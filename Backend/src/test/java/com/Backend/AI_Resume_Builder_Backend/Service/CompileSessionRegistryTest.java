@@ -0,0 +1,63 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CompileSessionRegistryTest {
+
+	private final CompileWorkspacePool workspacePool = mock(CompileWorkspacePool.class);
+	private final CompileSessionRegistry registry = new CompileSessionRegistry();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		AtomicInteger dirs = new AtomicInteger();
+		when(workspacePool.createDedicated()).thenAnswer(i -> Path.of("/tmp/ws_" + dirs.incrementAndGet()));
+		ReflectionTestUtils.setField(registry, "workspacePool", workspacePool);
+		ReflectionTestUtils.setField(registry, "maxSessions", 10);
+		ReflectionTestUtils.setField(registry, "idleTimeoutSeconds", 600L);
+	}
+
+	@Test
+	void sameIdOfDifferentUsersAreSeparateSessions() throws Exception {
+		CompileSessionRegistry.CompileSession alice = registry.open("alice@example.com", "editor-1");
+		CompileSessionRegistry.CompileSession bob = registry.open("bob@example.com", "editor-1");
+		CompileSessionRegistry.CompileSession anonymous = registry.open(null, "editor-1");
+
+		assertThat(alice).isNotSameAs(bob).isNotSameAs(anonymous);
+		assertThat(alice.getDir()).isNotEqualTo(bob.getDir());
+		assertThat(registry.open("alice@example.com", "editor-1")).isSameAs(alice);
+	}
+
+	@Test
+	void onlyTheOwnerCanCloseASession() throws Exception {
+		CompileSessionRegistry.CompileSession alice = registry.open("alice@example.com", "editor-1");
+
+		assertThat(registry.close("mallory@example.com", "editor-1")).isFalse();
+		assertThat(registry.close(null, "editor-1")).isFalse();
+		assertThat(alice.isClosed()).isFalse();
+		verify(workspacePool, never()).discard(any());
+
+		assertThat(registry.close("alice@example.com", "editor-1")).isTrue();
+		assertThat(alice.isClosed()).isTrue();
+		verify(workspacePool).discard(alice.getDir());
+	}
+
+	@Test
+	void scopedIdCannotCollideAcrossOwners() {
+		// session ids never contain '/', so the last '/' always separates owner from id
+		assertThat(CompileSessionRegistry.scopedId("a/b", "c"))
+				.isNotEqualTo(CompileSessionRegistry.scopedId("a", "b_c"));
+		assertThat(CompileSessionRegistry.scopedId(null, "x")).isEqualTo("/x");
+	}
+}
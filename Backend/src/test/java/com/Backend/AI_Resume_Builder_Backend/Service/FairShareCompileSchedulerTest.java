@@ -0,0 +1,188 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FairShareCompileSchedulerTest {
+
+	private final BlockingQueue<FairShareCompileScheduler.Permit> granted = new LinkedBlockingQueue<>();
+	private final List<Thread> waiters = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		waiters.forEach(Thread::interrupt);
+	}
+
+	static FairShareCompileScheduler scheduler(int slots, int interactiveReserved, int downloadReserved) {
+		AdaptiveCompileLimit limit = new AdaptiveCompileLimit();
+		ReflectionTestUtils.setField(limit, "adaptive", false);
+		ReflectionTestUtils.setField(limit, "initialLimit", slots);
+		ReflectionTestUtils.setField(limit, "minLimit", 1);
+		ReflectionTestUtils.setField(limit, "maxLimit", slots);
+		limit.afterPropertiesSet();
+
+		FairShareCompileScheduler scheduler = new FairShareCompileScheduler();
+		ReflectionTestUtils.setField(scheduler, "limit", limit);
+		ReflectionTestUtils.setField(scheduler, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(scheduler, "userWeight", 1.0);
+		ReflectionTestUtils.setField(scheduler, "anonymousWeight", 2.0);
+		ReflectionTestUtils.setField(scheduler, "interactiveReserved", interactiveReserved);
+		ReflectionTestUtils.setField(scheduler, "downloadReserved", downloadReserved);
+		ReflectionTestUtils.setField(scheduler, "batchReserved", 0);
+		for (String lane : List.of("interactive", "download", "batch")) {
+			ReflectionTestUtils.setField(scheduler, lane + "QueueTimeout", 30L);
+			ReflectionTestUtils.setField(scheduler, lane + "CompileTimeout", 30L);
+		}
+		scheduler.afterPropertiesSet();
+		return scheduler;
+	}
+
+	/**
+	 * Queue a compile on its own thread and wait until it is queued, so
+	 * waiters enter in a known order.
+	 */
+	void enqueue(FairShareCompileScheduler scheduler, String user, CompilePriority priority) throws Exception {
+		int queued = scheduler.getQueued();
+		Thread thread = Thread.ofVirtual().start(() -> {
+			try {
+				granted.add(scheduler.acquire(user, priority));
+			} catch (InterruptedException ignored) {
+			}
+		});
+		waiters.add(thread);
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (scheduler.getQueued() == queued) {
+			assertThat(System.nanoTime()).as("waiter queued").isLessThan(deadline);
+			Thread.sleep(1);
+		}
+	}
+
+	/**
+	 * Release the held permit and return the one granted in its place.
+	 */
+	FairShareCompileScheduler.Permit handOver(FairShareCompileScheduler.Permit held) throws Exception {
+		held.close();
+		FairShareCompileScheduler.Permit next = granted.poll(5, TimeUnit.SECONDS);
+		assertThat(next).as("next permit").isNotNull();
+		return next;
+	}
+
+	@Test
+	void usersTakeTurnsRegardlessOfQueueLength() throws Exception {
+		FairShareCompileScheduler scheduler = scheduler(1, 0, 0);
+		FairShareCompileScheduler.Permit held = scheduler.acquire("alice", CompilePriority.DOWNLOAD);
+		for (int i = 0; i < 4; i++) {
+			enqueue(scheduler, "alice", CompilePriority.DOWNLOAD);
+		}
+		enqueue(scheduler, "bob", CompilePriority.DOWNLOAD);
+		enqueue(scheduler, "bob", CompilePriority.DOWNLOAD);
+
+		List<String> order = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			held = handOver(held);
+			order.add(held.getUserKey());
+		}
+		held.close();
+
+		assertThat(order).containsExactly("alice", "bob", "alice", "bob", "alice", "alice");
+		assertThat(scheduler.getInUse()).isZero();
+		assertThat(scheduler.getQueued()).isZero();
+	}
+
+	@Test
+	void queuesAreServedInProportionToWeight() throws Exception {
+		FairShareCompileScheduler scheduler = scheduler(1, 0, 0);
+		FairShareCompileScheduler.Permit held = scheduler.acquire("alice", CompilePriority.DOWNLOAD);
+		for (int i = 0; i < 4; i++) {
+			enqueue(scheduler, "alice", CompilePriority.DOWNLOAD);
+		}
+		for (int i = 0; i < 4; i++) {
+			enqueue(scheduler, null, CompilePriority.DOWNLOAD);
+		}
+
+		List<String> order = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			held = handOver(held);
+			order.add(held.getUserKey());
+		}
+		held.close();
+
+		// anonymous has weight 2, so it gets two slots per turn
+		String anon = FairShareCompileScheduler.ANONYMOUS;
+		assertThat(order).containsExactly("alice", anon, anon, "alice", anon, anon);
+	}
+
+	@Test
+	void higherLanesAreServedFirst() throws Exception {
+		FairShareCompileScheduler scheduler = scheduler(1, 0, 0);
+		FairShareCompileScheduler.Permit held = scheduler.acquire("alice", CompilePriority.BATCH);
+		enqueue(scheduler, "alice", CompilePriority.BATCH);
+		enqueue(scheduler, "alice", CompilePriority.DOWNLOAD);
+		enqueue(scheduler, "alice", CompilePriority.INTERACTIVE);
+
+		List<CompilePriority> order = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			held = handOver(held);
+			order.add(held.getPriority());
+		}
+		held.close();
+
+		assertThat(order).containsExactly(CompilePriority.INTERACTIVE, CompilePriority.DOWNLOAD,
+				CompilePriority.BATCH);
+	}
+
+	@Test
+	void reservedSlotStaysFreeForItsLane() {
+		FairShareCompileScheduler scheduler = scheduler(2, 1, 0);
+		FairShareCompileScheduler.Permit batch = scheduler.tryAcquire("alice", CompilePriority.BATCH);
+
+		assertThat(batch).isNotNull();
+		assertThat(scheduler.tryAcquire("alice", CompilePriority.BATCH)).isNull();
+		assertThat(scheduler.tryAcquire("alice", CompilePriority.DOWNLOAD)).isNull();
+		FairShareCompileScheduler.Permit interactive = scheduler.tryAcquire("bob", CompilePriority.INTERACTIVE);
+		assertThat(interactive).isNotNull();
+
+		interactive.close();
+		batch.close();
+		assertThat(scheduler.getInUse()).isZero();
+	}
+
+	@Test
+	void singleUserCanUseEveryFreeSlot() throws Exception {
+		FairShareCompileScheduler scheduler = scheduler(3, 0, 0);
+		List<FairShareCompileScheduler.Permit> permits = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			permits.add(scheduler.tryAcquire("alice", CompilePriority.DOWNLOAD));
+		}
+
+		assertThat(permits).doesNotContainNull();
+		assertThat(scheduler.tryAcquire("alice", CompilePriority.DOWNLOAD)).isNull();
+		permits.forEach(FairShareCompileScheduler.Permit::close);
+		assertThat(scheduler.getInUse()).isZero();
+	}
+
+	@Test
+	void withdrawnWaiterDoesNotHoldASlot() throws Exception {
+		FairShareCompileScheduler scheduler = scheduler(1, 0, 0);
+		FairShareCompileScheduler.Permit held = scheduler.acquire("alice", CompilePriority.DOWNLOAD);
+		enqueue(scheduler, "bob", CompilePriority.DOWNLOAD);
+		waiters.get(0).interrupt();
+		waiters.get(0).join(5000);
+
+		assertThat(scheduler.getQueued()).isZero();
+		held.close();
+		assertThat(scheduler.getInUse()).isZero();
+		assertThat(granted).isEmpty();
+	}
+}
@@ -0,0 +1,215 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class GeminiServiceTest {
+
+	private final StubVertex vertex = new StubVertex();
+	private GeminiService gemini;
+
+	@AfterEach
+	void tearDown() {
+		vertex.release();
+		if (gemini != null) {
+			gemini.destroy();
+		}
+	}
+
+	static GeminiService gemini(int maxInFlight, StubVertex vertex) {
+		return new GeminiService("test-api-key-0000", "test-project", "us-central1", "gemini-2.0-flash", maxInFlight,
+				90, RestClient.builder().requestFactory(vertex));
+	}
+
+	// counters are updated just after the future completes
+	static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Vertex AI endpoint stand-in. Replies are used in order and the last one
+	 * repeats; a String is returned as the model's text, an Integer as an
+	 * HTTP error status. While blocking, every request waits for
+	 * {@link #release()}.
+	 */
+	static class StubVertex implements ClientHttpRequestFactory {
+		private static final ObjectMapper MAPPER = new ObjectMapper();
+
+		private final List<Object> replies = new ArrayList<>(List.of("ok"));
+		private volatile CountDownLatch gate = new CountDownLatch(0);
+		final AtomicInteger requests = new AtomicInteger();
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		final AtomicInteger interrupted = new AtomicInteger();
+
+		StubVertex replies(Object... replies) {
+			this.replies.clear();
+			this.replies.addAll(List.of(replies));
+			return this;
+		}
+
+		StubVertex blocking() {
+			gate = new CountDownLatch(1);
+			return this;
+		}
+
+		void release() {
+			gate.countDown();
+		}
+
+		@Override
+		public ClientHttpRequest createRequest(URI uri, HttpMethod method) {
+			return new MockClientHttpRequest(method, uri) {
+				@Override
+				protected ClientHttpResponse executeInternal() throws IOException {
+					return respond();
+				}
+			};
+		}
+
+		private ClientHttpResponse respond() throws IOException {
+			int n = requests.incrementAndGet();
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				interrupted.incrementAndGet();
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("request aborted");
+			} finally {
+				inFlight.decrementAndGet();
+			}
+			Object reply = replies.get(Math.min(n, replies.size()) - 1);
+			if (reply instanceof Integer status) {
+				return new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), HttpStatus.valueOf(status));
+			}
+			String body = MAPPER.writeValueAsString(Map.of("candidates",
+					List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", reply)))))));
+			MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8),
+					HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			return response;
+		}
+	}
+
+	@Test
+	void returnsTheModelText() throws Exception {
+		gemini = gemini(4, vertex.replies("hello"));
+
+		assertThat(gemini.generateContent("prompt")).contains("hello");
+		await(() -> gemini.getStats().get("succeeded").equals(1L));
+		assertThat(gemini.getStats()).containsEntry("started", 1L).containsEntry("inFlight", 0);
+	}
+
+	@Test
+	void errorStatusFailsTheCall() throws Exception {
+		gemini = gemini(4, vertex.replies(500));
+
+		assertThatThrownBy(() -> gemini.generateContent("prompt")).isInstanceOf(RuntimeException.class)
+				.hasMessageContaining("500");
+		await(() -> gemini.getStats().get("failed").equals(1L));
+		assertThat(gemini.getStats()).containsEntry("inFlight", 0);
+	}
+
+	@Test
+	void callsBeyondTheLimitWaitForASlot() throws Exception {
+		gemini = gemini(2, vertex.blocking());
+
+		List<CompletableFuture<Optional<String>>> calls = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			calls.add(gemini.generateContentAsync("prompt " + i));
+		}
+		await(() -> vertex.requests.get() == 2 && gemini.getStats().get("waiting").equals(3));
+		Thread.sleep(100);
+		assertThat(vertex.requests).hasValue(2);
+		assertThat(gemini.getStats()).containsEntry("inFlight", 2);
+
+		vertex.release();
+		for (CompletableFuture<Optional<String>> call : calls) {
+			assertThat(call.get(5, TimeUnit.SECONDS)).contains("ok");
+		}
+		assertThat(vertex.requests).hasValue(5);
+		assertThat(vertex.maxInFlight).hasValue(2);
+		await(() -> gemini.getStats().get("succeeded").equals(5L));
+		assertThat(gemini.getStats()).containsEntry("inFlight", 0);
+	}
+
+	@Test
+	void deadlineAbortsTheRequest() throws Exception {
+		gemini = gemini(2, vertex.blocking());
+
+		CompletableFuture<Optional<String>> call = gemini.generateContentAsync("prompt", Duration.ofMillis(200));
+
+		assertThatThrownBy(call::join).isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(TimeoutException.class);
+		await(() -> vertex.interrupted.get() == 1);
+		await(() -> gemini.getStats().get("inFlight").equals(0) && gemini.getStats().get("timedOut").equals(1L));
+		assertThat(gemini.getStats()).containsEntry("failed", 0L);
+	}
+
+	@Test
+	void deadlineCoversTheWaitForASlot() throws Exception {
+		gemini = gemini(1, vertex.blocking());
+		CompletableFuture<Optional<String>> first = gemini.generateContentAsync("first");
+		await(() -> vertex.requests.get() == 1);
+
+		CompletableFuture<Optional<String>> second = gemini.generateContentAsync("second", Duration.ofMillis(200));
+
+		assertThatThrownBy(second::join).hasCauseInstanceOf(TimeoutException.class);
+		vertex.release();
+		assertThat(first.get(5, TimeUnit.SECONDS)).contains("ok");
+		assertThat(vertex.requests).hasValue(1);
+		await(() -> gemini.getStats().get("timedOut").equals(1L));
+		assertThat(gemini.getStats()).containsEntry("started", 1L);
+	}
+
+	@Test
+	void cancellingAbortsTheRequestAndFreesTheSlot() throws Exception {
+		gemini = gemini(1, vertex.blocking());
+		CompletableFuture<Optional<String>> call = gemini.generateContentAsync("prompt");
+		await(() -> vertex.requests.get() == 1);
+
+		call.cancel(true);
+
+		await(() -> vertex.interrupted.get() == 1);
+		vertex.release();
+		assertThat(gemini.generateContentAsync("next").get(5, TimeUnit.SECONDS)).contains("ok");
+		await(() -> gemini.getStats().get("succeeded").equals(1L));
+		assertThat(gemini.getStats()).containsEntry("cancelled", 1L).containsEntry("inFlight", 0);
+	}
+}
@@ -0,0 +1,89 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LatexBatchCompileServiceTest {
+
+	private static final List<String> TEMPLATES = List.of("modern", "professional", "ats");
+
+	private final LatexService latexService = mock(LatexService.class);
+	private final LatexCompileService compileService = mock(LatexCompileService.class);
+	private final LatexBatchCompileService service = new LatexBatchCompileService();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(latexService.generateLatexCode(any(ResumeModel.class), anyString()))
+				.thenAnswer(invocation -> "% " + invocation.getArgument(1));
+		ReflectionTestUtils.setField(service, "latexService", latexService);
+		ReflectionTestUtils.setField(service, "latexCompileService", compileService);
+	}
+
+	@Test
+	void compilesEveryTemplateInOrder() throws Exception {
+		when(compileService.compileToPdf(anyString(), any())).thenAnswer(invocation -> {
+			CompileOptions options = invocation.getArgument(1);
+			if ("ats".equals(options.getTemplateType())) {
+				throw new LatexCompileException("broken", List.of());
+			}
+			return ("%PDF " + options.getTemplateType()).getBytes();
+		});
+
+		List<LatexBatchCompileService.TemplateResult> results = service.compileTemplates(ResumeModel.EMPTY,
+				TEMPLATES, CompileOptions.defaults().userKey("alice"));
+
+		assertThat(results).extracting(LatexBatchCompileService.TemplateResult::getTemplateType)
+				.containsExactlyElementsOf(TEMPLATES);
+		assertThat(results).extracting(LatexBatchCompileService.TemplateResult::isSuccess)
+				.containsExactly(true, true, false);
+	}
+
+	@Test
+	void interruptingTheBatchInterruptsItsCompiles() throws Exception {
+		CountDownLatch started = new CountDownLatch(TEMPLATES.size());
+		CountDownLatch interrupted = new CountDownLatch(TEMPLATES.size());
+		AtomicInteger finished = new AtomicInteger();
+		when(compileService.compileToPdf(anyString(), any())).thenAnswer(invocation -> {
+			started.countDown();
+			try {
+				Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+				finished.incrementAndGet();
+				return new byte[0];
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+				throw e;
+			}
+		});
+
+		CompletableFuture<Throwable> outcome = new CompletableFuture<>();
+		Thread caller = new Thread(() -> {
+			try {
+				service.compileTemplates(ResumeModel.EMPTY, TEMPLATES, CompileOptions.defaults());
+				outcome.complete(null);
+			} catch (Throwable e) {
+				outcome.complete(e);
+			}
+		});
+		caller.start();
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		caller.interrupt();
+
+		assertThat(outcome.get(5, TimeUnit.SECONDS)).isInstanceOf(InterruptedException.class);
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(finished).hasValue(0);
+	}
+}
@@ -0,0 +1,81 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LatexCompileJobServiceTest {
+
+	private static final byte[] PDF = "%PDF-1.5 test".getBytes();
+
+	private final LatexCompileService compileService = mock(LatexCompileService.class);
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private LatexCompileJobService service;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(compileService.compileToPdf(anyString(), any())).thenReturn(PDF);
+		service = new LatexCompileJobService();
+		ReflectionTestUtils.setField(service, "workers", 1);
+		ReflectionTestUtils.setField(service, "queueCapacity", 4);
+		ReflectionTestUtils.setField(service, "retentionSeconds", 600L);
+		ReflectionTestUtils.setField(service, "latexCompileService", compileService);
+		ReflectionTestUtils.setField(service, "messagingTemplate", messagingTemplate);
+		service.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.destroy();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void completionIsPushedOnlyToTheSubmitter() {
+		LatexCompileJobService.CompileJob job = service.submit("doc",
+				CompileOptions.defaults().userKey("alice@example.com"));
+
+		ArgumentCaptor<Object> summary = ArgumentCaptor.forClass(Object.class);
+		verify(messagingTemplate, timeout(5000)).convertAndSendToUser(eq("alice@example.com"),
+				eq(LatexCompileJobService.RESULT_DESTINATION), summary.capture());
+		assertThat((Map<String, Object>) summary.getValue()).containsEntry("jobId", job.getId())
+				.containsEntry("status", "SUCCEEDED");
+		verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+	}
+
+	@Test
+	void anonymousJobsAreNotPushed() throws Exception {
+		LatexCompileJobService.CompileJob job = service.submit("doc", CompileOptions.defaults());
+
+		verify(compileService, timeout(5000)).compileToPdf(eq("doc"), any());
+		verify(messagingTemplate, after(200).never()).convertAndSendToUser(anyString(), anyString(), any());
+		assertThat(job.isOwnedBy(null)).isTrue();
+		assertThat(job.isOwnedBy("alice@example.com")).isFalse();
+	}
+
+	@Test
+	void jobBelongsOnlyToItsSubmitter() {
+		LatexCompileJobService.CompileJob job = service.submit("doc",
+				CompileOptions.defaults().userKey("alice@example.com"));
+
+		assertThat(job.isOwnedBy("alice@example.com")).isTrue();
+		assertThat(job.isOwnedBy("bob@example.com")).isFalse();
+		assertThat(job.isOwnedBy(null)).isFalse();
+	}
+}
@@ -0,0 +1,173 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LatexCompileServiceImplTest {
+
+	private static final String SOURCE = "\\documentclass{article}\\begin{document}Hi\\end{document}";
+
+	@TempDir
+	Path workDir;
+
+	private final CompilerProcessRunner runner = mock(CompilerProcessRunner.class);
+	private final AtomicInteger compilerRuns = new AtomicInteger();
+	private final CountDownLatch compilerStarted = new CountDownLatch(1);
+	private final CountDownLatch finishCompile = new CountDownLatch(1);
+	private LatexCompileServiceImpl service;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		CompiledPdfCache pdfCache = mock(CompiledPdfCache.class);
+		when(pdfCache.key(anyString(), anyString(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+		CompileWorkspacePool workspacePool = mock(CompileWorkspacePool.class);
+		when(workspacePool.acquire()).thenReturn(workDir);
+		LatexCompilerProbe compilerProbe = mock(LatexCompilerProbe.class);
+		when(compilerProbe.usableCompilers()).thenReturn(List.of(LatexCompilerProbe.TECTONIC));
+		when(compilerProbe.executable(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+		PdfPostProcessor postProcessor = mock(PdfPostProcessor.class);
+		when(postProcessor.process(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+		CompileFailureCache failureCache = new CompileFailureCache();
+		ReflectionTestUtils.setField(failureCache, "ttlSeconds", 60L);
+		ReflectionTestUtils.setField(failureCache, "maxEntries", 10);
+
+		service = new LatexCompileServiceImpl();
+		ReflectionTestUtils.setField(service, "compilerMode", "tectonic");
+		ReflectionTestUtils.setField(service, "compilerPath", "");
+		ReflectionTestUtils.setField(service, "pdfCache", pdfCache);
+		ReflectionTestUtils.setField(service, "processRunner", runner);
+		ReflectionTestUtils.setField(service, "workspacePool", workspacePool);
+		ReflectionTestUtils.setField(service, "compilerProbe", compilerProbe);
+		ReflectionTestUtils.setField(service, "compileScheduler", FairShareCompileSchedulerTest.scheduler(2, 0, 0));
+		ReflectionTestUtils.setField(service, "postProcessor", postProcessor);
+		ReflectionTestUtils.setField(service, "failureCache", failureCache);
+		ReflectionTestUtils.setField(service, "templateRegistry", mock(LatexTemplateRegistry.class));
+	}
+
+	/**
+	 * A compiler that waits for {@link #finishCompile} and then either writes
+	 * a PDF or fails with the given log.
+	 */
+	private void compilerAnswers(String errorLog) throws Exception {
+		when(runner.run(anyList(), any(Path.class), anyMap(), any(Duration.class))).thenAnswer(invocation -> {
+			compilerRuns.incrementAndGet();
+			compilerStarted.countDown();
+			finishCompile.await(5, TimeUnit.SECONDS);
+			if (errorLog != null) {
+				return new CompilerProcessRunner.ProcessResult(1, errorLog, false, 1, 1, 0);
+			}
+			Path dir = invocation.getArgument(1);
+			Files.writeString(dir.resolve("resume.pdf"), "%PDF-1.5 test", StandardCharsets.UTF_8);
+			return new CompilerProcessRunner.ProcessResult(0, "", false, 1, 1, 0);
+		});
+	}
+
+	private CompletableFuture<byte[]> compileAsync(String user) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return service.compileToPdf(SOURCE, CompileOptions.defaults().userKey(user));
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	@Test
+	void identicalConcurrentCompilesShareOneCompilerRun() throws Exception {
+		compilerAnswers(null);
+		CompletableFuture<byte[]> first = compileAsync("alice");
+		assertThat(compilerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<byte[]> second = compileAsync("bob");
+		// the second compile either joins the first or starts a run of its own
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!isWaitingOnLeader() && compilerRuns.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		finishCompile.countDown();
+
+		byte[] pdf = first.get(5, TimeUnit.SECONDS);
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(pdf);
+		assertThat(compilerRuns.get()).isEqualTo(1);
+		Map<String, Object> stats = service.getCacheStats();
+		assertThat(stats).containsEntry("coalesced", 1L).containsEntry("inFlight", 0);
+	}
+
+	@Test
+	void failingSourceIsServedFromTheFailureCache() throws Exception {
+		finishCompile.countDown();
+		compilerAnswers("./resume.tex:3: Undefined control sequence.\nl.3 \\foo\n");
+
+		assertThatThrownBy(() -> service.compileToPdf(SOURCE, CompileOptions.defaults()))
+				.isInstanceOf(LatexCompileException.class);
+		assertThatThrownBy(() -> service.compileToPdf(SOURCE, CompileOptions.defaults()))
+				.isInstanceOfSatisfying(LatexCompileException.class,
+						e -> assertThat(e.getDiagnostics()).isNotEmpty());
+
+		assertThat(compilerRuns.get()).isEqualTo(1);
+		@SuppressWarnings("unchecked")
+		Map<String, Object> failures = (Map<String, Object>) service.getCacheStats().get("failures");
+		assertThat(failures).containsEntry("hits", 1L).containsEntry("stored", 1L);
+	}
+
+	@Test
+	void differentSourcesAreNotCoalesced() throws Exception {
+		finishCompile.countDown();
+		compilerAnswers(null);
+
+		service.compileToPdf(SOURCE, CompileOptions.defaults());
+		service.compileToPdf(SOURCE + "%", CompileOptions.defaults());
+
+		assertThat(compilerRuns.get()).isEqualTo(2);
+		assertThat(service.getCacheStats()).containsEntry("coalesced", 0L);
+	}
+
+	@Test
+	void sessionOfASignedInUserIsClosedOnlyByThatUser() throws Exception {
+		finishCompile.countDown();
+		compilerAnswers(null);
+		CompileWorkspacePool sessionWorkspaces = mock(CompileWorkspacePool.class);
+		when(sessionWorkspaces.createDedicated()).thenReturn(Files.createDirectory(workDir.resolve("session")));
+		CompileSessionRegistry sessionRegistry = new CompileSessionRegistry();
+		ReflectionTestUtils.setField(sessionRegistry, "workspacePool", sessionWorkspaces);
+		ReflectionTestUtils.setField(sessionRegistry, "maxSessions", 10);
+		ReflectionTestUtils.setField(sessionRegistry, "idleTimeoutSeconds", 600L);
+		ReflectionTestUtils.setField(service, "sessionRegistry", sessionRegistry);
+
+		service.compileInSession("editor-1", SOURCE, CompileOptions.defaults().userKey("alice@example.com"));
+
+		// the editor's DELETE must send the same Authorization header as its compiles
+		assertThat(service.closeSession(null, "editor-1")).isFalse();
+		assertThat(service.closeSession("bob@example.com", "editor-1")).isFalse();
+		assertThat(service.closeSession("alice@example.com", "editor-1")).isTrue();
+		assertThat(service.closeSession("alice@example.com", "editor-1")).isFalse();
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isWaitingOnLeader() {
+		Map<String, CompletableFuture<byte[]>> inFlight = (Map<String, CompletableFuture<byte[]>>) ReflectionTestUtils
+				.getField(service, "inFlight");
+		return inFlight.values().stream().anyMatch(flight -> flight.getNumberOfDependents() > 0);
+	}
+}
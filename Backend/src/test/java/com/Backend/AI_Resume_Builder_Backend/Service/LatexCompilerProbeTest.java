@@ -0,0 +1,81 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LatexCompilerProbeTest {
+
+	private static final String PDFLATEX_PATH = "C:/Program Files/MiKTeX/miktex/bin/x64/pdflatex.exe";
+
+	private final CompilerProcessRunner runner = mock(CompilerProcessRunner.class);
+
+	private LatexCompilerProbe probe(String mode, String path, Map<String, String> versions) throws Exception {
+		when(runner.run(anyList(), any(Path.class), anyMap(), any(Duration.class))).thenAnswer(invocation -> {
+			List<String> cmd = invocation.getArgument(0);
+			String output = versions.get(cmd.get(0));
+			if (output == null) {
+				throw new IOException("Cannot run program \"" + cmd.get(0) + "\"");
+			}
+			return new CompilerProcessRunner.ProcessResult(0, output, false, 1, 1, 0);
+		});
+		LatexCompilerProbe probe = new LatexCompilerProbe();
+		ReflectionTestUtils.setField(probe, "compilerMode", mode);
+		ReflectionTestUtils.setField(probe, "compilerPath", path);
+		ReflectionTestUtils.setField(probe, "processRunner", runner);
+		probe.afterPropertiesSet();
+		return probe;
+	}
+
+	@Test
+	void autoModeAppliesPathOnlyToTheCompilerItNames() throws Exception {
+		LatexCompilerProbe probe = probe("auto", PDFLATEX_PATH,
+				Map.of(PDFLATEX_PATH, "MiKTeX-pdfTeX 4.10 (MiKTeX 22.1)"));
+
+		assertThat(probe.executable(LatexCompilerProbe.PDFLATEX)).isEqualTo(PDFLATEX_PATH);
+		assertThat(probe.executable(LatexCompilerProbe.TECTONIC)).isEqualTo("tectonic");
+		assertThat(probe.getCompilers().get(LatexCompilerProbe.TECTONIC).isAvailable()).isFalse();
+		assertThat(probe.usableCompilers()).containsExactly(LatexCompilerProbe.PDFLATEX);
+	}
+
+	@Test
+	void autoModeWithTectonicPath() throws Exception {
+		LatexCompilerProbe probe = probe("auto", "/opt/tectonic/bin/tectonic",
+				Map.of("/opt/tectonic/bin/tectonic", "Tectonic 0.15.0", "pdflatex", "pdfTeX 3.141592653-2.6-1.40.25"));
+
+		assertThat(probe.executable(LatexCompilerProbe.TECTONIC)).isEqualTo("/opt/tectonic/bin/tectonic");
+		assertThat(probe.executable(LatexCompilerProbe.PDFLATEX)).isEqualTo("pdflatex");
+		assertThat(probe.usableCompilers()).containsExactly(LatexCompilerProbe.TECTONIC, LatexCompilerProbe.PDFLATEX);
+	}
+
+	@Test
+	void fixedModeUsesPathWhateverItsName() throws Exception {
+		LatexCompilerProbe probe = probe("tectonic", "/usr/local/bin/tex-engine",
+				Map.of("/usr/local/bin/tex-engine", "Tectonic 0.15.0"));
+
+		assertThat(probe.executable(LatexCompilerProbe.TECTONIC)).isEqualTo("/usr/local/bin/tex-engine");
+		assertThat(probe.usableCompilers()).containsExactly(LatexCompilerProbe.TECTONIC);
+	}
+
+	@Test
+	void compilerMustIdentifyItself() throws Exception {
+		// a pdflatex binary answering for tectonic must not make tectonic available
+		LatexCompilerProbe probe = probe("auto", "",
+				Map.of("tectonic", "pdfTeX 3.141592653-2.6-1.40.25", "pdflatex", "pdfTeX 3.141592653-2.6-1.40.25"));
+
+		assertThat(probe.getCompilers().get(LatexCompilerProbe.TECTONIC).isAvailable()).isFalse();
+		assertThat(probe.getCompilers().get(LatexCompilerProbe.PDFLATEX).isAvailable()).isTrue();
+	}
+}
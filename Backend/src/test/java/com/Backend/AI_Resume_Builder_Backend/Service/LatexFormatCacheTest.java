@@ -0,0 +1,24 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LatexFormatCacheTest {
+
+	@Test
+	void missingOrIncompatibleFormatIsAFormatFailure() {
+		assertThat(LatexFormatCache.isFormatFailure(LatexCompileException.fromLog(
+				"This is pdfTeX, Version 3.141592653\nI can't find the format file `modern.fmt'!\n"))).isTrue();
+		assertThat(LatexFormatCache.isFormatFailure(LatexCompileException.fromLog(
+				"---! ./modern.fmt was written by tex\n(Fatal format file error; I'm stymied)\n"))).isTrue();
+	}
+
+	@Test
+	void documentErrorIsNotAFormatFailure() {
+		String log = "./resume_fmt.tex:42: Undefined control sequence.\nl.42 \\textbff\n"
+				+ "                   {Skills}\n! Emergency stop.\n";
+		assertThat(LatexFormatCache.isFormatFailure(LatexCompileException.fromLog(log))).isFalse();
+		assertThat(LatexFormatCache.isFormatFailure(LatexCompileException.fromLog(null))).isFalse();
+	}
+}
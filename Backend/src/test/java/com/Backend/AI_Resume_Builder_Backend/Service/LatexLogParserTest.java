@@ -0,0 +1,127 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LatexLogParserTest {
+
+	@Test
+	void texErrorTakesItsLineFromTheMarker() {
+		String log = """
+				! Undefined control sequence.
+				l.12 \\textbff
+				              {Skills}
+				No pages of output.
+				""";
+
+		List<LatexDiagnostic> diagnostics = LatexLogParser.parse(log);
+
+		assertThat(diagnostics).hasSize(1);
+		LatexDiagnostic d = diagnostics.get(0);
+		assertThat(d.isError()).isTrue();
+		assertThat(d.getType()).isEqualTo("undefined-control-sequence");
+		assertThat(d.getLine()).isEqualTo(12);
+		assertThat(d.getFile()).isNull();
+		assertThat(d.getContext()).startsWith("l.12 \\textbff").contains("{Skills}");
+	}
+
+	@Test
+	void fileLineErrorNamesFileAndLine() {
+		String log = """
+				./resume.tex:42: LaTeX Error: File `fontawesome5.sty' not found.
+				l.42 \\usepackage
+				                {fontawesome5}
+				! Emergency stop.
+				""";
+
+		List<LatexDiagnostic> diagnostics = LatexLogParser.parse(log);
+
+		assertThat(diagnostics).hasSize(1);
+		LatexDiagnostic d = diagnostics.get(0);
+		assertThat(d.getFile()).isEqualTo("resume.tex");
+		assertThat(d.getLine()).isEqualTo(42);
+		assertThat(d.getType()).isEqualTo("missing-file");
+	}
+
+	@Test
+	void tectonicErrorsAreRecognised() {
+		String log = """
+				error: resume.tex:7: Missing $ inserted
+				error: halted on potentially-recoverable error as specified
+				""";
+
+		List<LatexDiagnostic> diagnostics = LatexLogParser.parse(log);
+
+		assertThat(diagnostics).extracting(LatexDiagnostic::getType, LatexDiagnostic::getFile,
+				LatexDiagnostic::getLine).containsExactly(tuple("missing-math-delimiter", "resume.tex", 7));
+	}
+
+	@Test
+	void packageWarningJoinsContinuationLines() {
+		String log = """
+				Package hyperref Warning: Token not allowed in a PDF string (Unicode):
+				(hyperref)                removing `\\textbf' on input line 31.
+
+				Overfull \\hbox (2.3pt too wide) in paragraph at lines 40--41
+				LaTeX Warning: There were undefined references.
+				""";
+
+		List<LatexDiagnostic> diagnostics = LatexLogParser.parse(log);
+
+		assertThat(diagnostics).hasSize(1);
+		LatexDiagnostic d = diagnostics.get(0);
+		assertThat(d.getSeverity()).isEqualTo("warning");
+		assertThat(d.getType()).isEqualTo("package-warning");
+		assertThat(d.getLine()).isEqualTo(31);
+		assertThat(d.getMessage()).endsWith("removing `\\textbf' on input line 31.");
+	}
+
+	@Test
+	void undefinedReferenceIsClassified() {
+		List<LatexDiagnostic> diagnostics = LatexLogParser
+				.parse("LaTeX Warning: Reference `sec:exp' on page 1 undefined on input line 20.\n");
+
+		assertThat(diagnostics).singleElement().satisfies(d -> {
+			assertThat(d.getType()).isEqualTo("undefined-reference");
+			assertThat(d.getLine()).isEqualTo(20);
+		});
+	}
+
+	@Test
+	void repeatedErrorsAreReportedOnce() {
+		String log = "./resume.tex:5: Undefined control sequence.\n".repeat(3);
+
+		assertThat(LatexLogParser.parse(log)).hasSize(1);
+	}
+
+	@Test
+	void emptyLogHasNoDiagnostics() {
+		assertThat(LatexLogParser.parse(null)).isEmpty();
+		assertThat(LatexLogParser.parse("This is pdfTeX\nOutput written on resume.pdf\n")).isEmpty();
+	}
+
+	@Test
+	void exceptionKeepsDiagnosticsAcrossSerialization() throws Exception {
+		LatexCompileException original = LatexCompileException.fromLog("! Missing $ inserted.\nl.3 a_b\n");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(original);
+		}
+
+		LatexCompileException copy;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (LatexCompileException) in.readObject();
+		}
+
+		assertThat(copy.getLog()).isEqualTo(original.getLog());
+		assertThat(copy.getDiagnostics()).extracting(LatexDiagnostic::getLine).containsExactly(3);
+	}
+}
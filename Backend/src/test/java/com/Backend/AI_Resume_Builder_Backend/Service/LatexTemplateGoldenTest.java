@@ -0,0 +1,189 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Renders the bundled templates against the expected documents under
+ * {@code src/test/resources/golden}, which were produced by the original
+ * string-replacement generator. {@code full_resume.json} fills every section
+ * with text that needs escaping; {@code minimal_resume.json} leaves the
+ * optional sections out.
+ */
+class LatexTemplateGoldenTest {
+
+	static final String[] TEMPLATES = { "modern", "professional", "ats", "creative" };
+	static final String[] FIXTURES = { "full", "minimal" };
+
+	static Stream<String> templates() {
+		return Stream.of(TEMPLATES);
+	}
+
+	static Stream<Arguments> documents() {
+		return Stream.of(TEMPLATES).flatMap(t -> Stream.of(FIXTURES).map(f -> Arguments.of(t, f)));
+	}
+
+	static LatexServiceImpl latexService(int sectionCacheEntries) throws IOException {
+		LatexTemplateRegistry registry = new LatexTemplateRegistry();
+		ReflectionTestUtils.setField(registry, "templatesDir", "");
+		registry.afterPropertiesSet();
+		LatexSectionCache sectionCache = new LatexSectionCache();
+		ReflectionTestUtils.setField(sectionCache, "maxEntries", sectionCacheEntries);
+		ReflectionTestUtils.setField(sectionCache, "meterRegistry", new SimpleMeterRegistry());
+
+		LatexServiceImpl service = new LatexServiceImpl();
+		ReflectionTestUtils.setField(service, "templateRegistry", registry);
+		ReflectionTestUtils.setField(service, "sectionCache", sectionCache);
+		return service;
+	}
+
+	static Map<String, Object> fixture(String name) throws IOException {
+		try (InputStream in = resource(name + "_resume.json")) {
+			return new ObjectMapper().readValue(in, new TypeReference<Map<String, Object>>() {
+			});
+		}
+	}
+
+	static String golden(String template, String fixture) throws IOException {
+		try (InputStream in = resource(template + "_" + fixture + ".tex")) {
+			return normalize(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	static String normalize(String latex) {
+		return latex.replace("\r\n", "\n");
+	}
+
+	private static InputStream resource(String name) {
+		InputStream in = LatexTemplateGoldenTest.class.getResourceAsStream("/golden/" + name);
+		assertThat(in).as(name).isNotNull();
+		return in;
+	}
+
+	@ParameterizedTest(name = "{0} / {1}")
+	@MethodSource("documents")
+	void rendersTheGoldenDocument(String template, String fixture) throws IOException {
+		LatexServiceImpl service = latexService(0);
+
+		String latex = service.generateLatexCode(fixture(fixture), template);
+
+		assertThat(normalize(latex)).isEqualTo(golden(template, fixture));
+	}
+
+	@ParameterizedTest(name = "{0} / {1}")
+	@MethodSource("documents")
+	void writerOutputMatchesTheString(String template, String fixture) throws IOException {
+		LatexServiceImpl service = latexService(0);
+		StringBuilder out = new StringBuilder();
+
+		service.writeLatexCode(fixture(fixture), template, out);
+
+		assertThat(normalize(out.toString())).isEqualTo(golden(template, fixture));
+	}
+
+	@ParameterizedTest(name = "{0} / {1}")
+	@MethodSource("documents")
+	void typedModelRendersTheGoldenDocument(String template, String fixture) throws IOException {
+		LatexGenerateRequest request;
+		try (InputStream in = resource(fixture + "_resume.json")) {
+			String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			request = new ObjectMapper().readValue("{\"resumeData\":" + json + "}", LatexGenerateRequest.class);
+		}
+
+		String latex = latexService(0).generateLatexCode(request.resumeData(), template);
+
+		assertThat(normalize(latex)).isEqualTo(golden(template, fixture));
+	}
+
+	@ParameterizedTest(name = "{0} / {1}")
+	@MethodSource("documents")
+	void sectionCacheColdAndWarmRenderTheGoldenDocument(String template, String fixture) throws IOException {
+		LatexServiceImpl service = latexService(2000);
+		LatexSectionCache sectionCache = (LatexSectionCache) ReflectionTestUtils.getField(service, "sectionCache");
+		String expected = golden(template, fixture);
+
+		String cold = service.generateLatexCode(fixture(fixture), template);
+		Map<String, Object> afterCold = sectionCache.getStats();
+		String warm = service.generateLatexCode(fixture(fixture), template);
+
+		assertThat(normalize(cold)).isEqualTo(expected);
+		assertThat(normalize(warm)).isEqualTo(expected);
+		assertThat((Integer) afterCold.get("entries")).isPositive();
+		assertThat(sectionCache.getStats().get("entries")).isEqualTo(afterCold.get("entries"));
+	}
+
+	@Test
+	void oneSharedCacheServesEveryTemplateAndFixture() throws IOException {
+		LatexServiceImpl service = latexService(2000);
+
+		for (int round = 0; round < 2; round++) {
+			for (String template : TEMPLATES) {
+				for (String fixture : FIXTURES) {
+					assertThat(normalize(service.generateLatexCode(fixture(fixture), template)))
+							.as("%s / %s, round %d", template, fixture, round)
+							.isEqualTo(golden(template, fixture));
+				}
+			}
+		}
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("templates")
+	void editedSectionIsRenderedAgainWithTheCacheWarm(String template) throws IOException {
+		LatexServiceImpl cached = latexService(2000);
+		LatexServiceImpl uncached = latexService(0);
+		Map<String, Object> resume = fixture("full");
+		cached.generateLatexCode(resume, template);
+
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> experience = (List<Map<String, Object>>) resume.get("experience");
+		experience.get(0).put("jobTitle", "Staff Engineer & Lead");
+		resume.put("summary", "Changed summary");
+
+		String latex = cached.generateLatexCode(resume, template);
+		assertThat(latex).isEqualTo(uncached.generateLatexCode(resume, template));
+		assertThat(latex).doesNotContain("Senior Engineer");
+	}
+
+	@Test
+	void specialCharactersAreEscaped() throws IOException {
+		String latex = latexService(0).generateLatexCode(fixture("full"), "professional");
+
+		assertThat(latex).contains("Ana\\_María", "R\\&D at 100\\% uptime, \\$5M budgets, \\#1",
+				"\\textasciitilde{}y \\textasciicircum{}z", "{Go \\& Rust}");
+	}
+
+	@Test
+	void missingTemplateTypeFallsBackToProfessional() throws IOException {
+		LatexServiceImpl service = latexService(0);
+
+		assertThat(normalize(service.generateLatexCode(fixture("full"), null)))
+				.isEqualTo(golden("professional", "full"));
+		assertThat(normalize(service.generateLatexCode(fixture("full"), " "))).isEqualTo(golden("professional", "full"));
+	}
+
+	@Test
+	void unknownTemplateIsRejected() {
+		assertThatThrownBy(() -> latexService(0).generateLatexCode(Map.of(), "nope"))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("nope");
+	}
+}
@@ -0,0 +1,117 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LiveCompileServiceTest {
+
+	private static final byte[] PDF = "%PDF-1.5 test".getBytes();
+
+	private final LatexCompileService compileService = mock(LatexCompileService.class);
+	private final PdfThumbnailService thumbnailService = mock(PdfThumbnailService.class);
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private LiveCompileService service;
+
+	@BeforeEach
+	void setUp() {
+		when(thumbnailService.register(any())).thenReturn("abc123");
+		service = new LiveCompileService();
+		ReflectionTestUtils.setField(service, "debounceMs", 200L);
+		ReflectionTestUtils.setField(service, "inlinePdfMaxBytes", 1024);
+		ReflectionTestUtils.setField(service, "latexCompileService", compileService);
+		ReflectionTestUtils.setField(service, "thumbnailService", thumbnailService);
+		ReflectionTestUtils.setField(service, "messagingTemplate", messagingTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.destroy();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> pushed(int count) {
+		ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+		verify(messagingTemplate, timeout(5000).times(count)).convertAndSendToUser(eq("conn-1"),
+				eq(LiveCompileService.RESULT_DESTINATION), payloads.capture(), anyMap());
+		return payloads.getAllValues().stream().map(p -> (Map<String, Object>) p).toList();
+	}
+
+	@Test
+	void burstOfEditsCompilesOnlyTheLastOne() throws Exception {
+		when(compileService.compileInSession(eq("doc"), anyString(), any())).thenReturn(PDF);
+
+		service.submit("conn-1", "doc", "v1", null, "alice", 1);
+		service.submit("conn-1", "doc", "v2", null, "alice", 2);
+		service.submit("conn-1", "doc", "v3", null, "alice", 3);
+
+		Map<String, Object> result = pushed(1).get(0);
+		assertThat(result).containsEntry("status", "ok").containsEntry("seq", 3).containsEntry("pdfHash", "abc123")
+				.containsKey("pdf");
+		verify(compileService).compileInSession(eq("doc"), eq("v3"), any());
+		verify(compileService, never()).compileInSession(eq("doc"), eq("v1"), any());
+		assertThat(service.getStats()).containsEntry("debounced", 2L).containsEntry("pushed", 1L);
+	}
+
+	@Test
+	void newEditCancelsTheRunningCompile() throws Exception {
+		CountDownLatch firstStarted = new CountDownLatch(1);
+		when(compileService.compileInSession(eq("doc"), eq("v1"), any())).thenAnswer(invocation -> {
+			firstStarted.countDown();
+			Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+			return PDF;
+		});
+		when(compileService.compileInSession(eq("doc"), eq("v2"), any())).thenReturn(PDF);
+
+		service.submit("conn-1", "doc", "v1", null, "alice", 1);
+		assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		service.submit("conn-1", "doc", "v2", null, "alice", 2);
+
+		assertThat(pushed(1).get(0)).containsEntry("seq", 2);
+		verify(messagingTemplate, after(400).times(1)).convertAndSendToUser(anyString(), anyString(), any(),
+				anyMap());
+		assertThat(service.getStats()).containsEntry("cancelled", 1L);
+	}
+
+	@Test
+	void compileErrorIsPushedWithDiagnostics() throws Exception {
+		when(compileService.compileInSession(eq("doc"), anyString(), any()))
+				.thenThrow(LatexCompileException.fromLog("./resume.tex:3: Undefined control sequence.\nl.3 \\foo\n"));
+
+		service.submit("conn-1", "doc", "v1", null, "alice", 7);
+
+		Map<String, Object> result = pushed(1).get(0);
+		assertThat(result).containsEntry("status", "error").containsEntry("seq", 7);
+		assertThat((List<?>) result.get("diagnostics")).isNotEmpty();
+		assertThat(service.getStats()).containsEntry("failed", 1L);
+	}
+
+	@Test
+	void disconnectDropsPendingEdits() throws Exception {
+		service.submit("conn-1", "doc", "v1", null, "alice", 1);
+		service.disconnect("conn-1");
+
+		verify(compileService, after(400).never()).compileInSession(anyString(), anyString(), any());
+		assertThat(service.getStats()).containsEntry("sessions", 0);
+	}
+}
@@ -0,0 +1,70 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PdfThumbnailServiceTest {
+
+	private PdfThumbnailService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new PdfThumbnailService();
+		ReflectionTestUtils.setField(service, "pdfMemoryBytes", 1L << 20);
+		ReflectionTestUtils.setField(service, "imageMemoryBytes", 1L << 20);
+		ReflectionTestUtils.setField(service, "maxConcurrentRenders", 1);
+		service.afterPropertiesSet();
+	}
+
+	static byte[] pdf(int pages) throws Exception {
+		try (PDDocument document = new PDDocument()) {
+			for (int i = 0; i < pages; i++) {
+				document.addPage(new PDPage());
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> stats(String cache) {
+		return (Map<String, Object>) service.getStats().get(cache);
+	}
+
+	@Test
+	void registeringDoesNotCountAsPreviewLookup() throws Exception {
+		byte[] pdf = pdf(1);
+		String hash = service.register(pdf);
+
+		assertThat(service.register(pdf)).isEqualTo(hash);
+		assertThat(stats("pdfs")).containsEntry("entries", 1).containsEntry("hits", 0L).containsEntry("misses", 0L);
+	}
+
+	@Test
+	void pagesPastTheEndShareTheLastPageImage() throws Exception {
+		String hash = service.register(pdf(2));
+
+		byte[] last = service.renderPng(hash, 2, PdfThumbnailService.DEFAULT_DPI);
+		byte[] beyond = service.renderPng(hash, 99, PdfThumbnailService.DEFAULT_DPI);
+		byte[] further = service.renderPng(hash, 500, PdfThumbnailService.DEFAULT_DPI);
+
+		assertThat(beyond).isSameAs(last);
+		assertThat(further).isSameAs(last);
+		assertThat(service.getStats()).containsEntry("renders", 1L);
+		assertThat(stats("images")).containsEntry("entries", 1);
+	}
+
+	@Test
+	void unknownHashIsNotRendered() throws Exception {
+		assertThat(service.renderPng("missing", 1, PdfThumbnailService.DEFAULT_DPI)).isNull();
+	}
+}
@@ -0,0 +1,244 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Runs against the Redis at REDIS_HOST:REDIS_PORT (default localhost:6379)
+ * and is skipped when none is reachable. Every test uses its own key prefix.
+ */
+class RedisCompileFarmTest {
+
+	private static final String BROKEN_LOG = "./resume.tex:3: Undefined control sequence.\nl.3 \\foo\n";
+
+	private static LettuceConnectionFactory connectionFactory;
+	private static boolean redisAvailable;
+
+	private final String keyPrefix = "latex:farm:test:" + UUID.randomUUID() + ":";
+	private final List<RedisCompileFarm> farms = new ArrayList<>();
+
+	@BeforeAll
+	static void connect() {
+		String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+		int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+		connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		try {
+			redisAvailable = "PONG".equals(connectionFactory.getConnection().ping());
+		} catch (RuntimeException e) {
+			redisAvailable = false;
+		}
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+
+	@AfterEach
+	void tearDown() {
+		farms.forEach(RedisCompileFarm::destroy);
+		if (redisAvailable) {
+			StringRedisTemplate strings = new StringRedisTemplate(connectionFactory);
+			Set<String> keys = strings.keys(keyPrefix + "*");
+			if (keys != null && !keys.isEmpty()) {
+				strings.delete(keys);
+			}
+		}
+	}
+
+	private RedisCompileFarm farm(int workerThreads, int maxConcurrent, long stuckAfterSeconds) throws Exception {
+		RedisCompileFarm farm = new RedisCompileFarm();
+		ReflectionTestUtils.setField(farm, "keyPrefix", keyPrefix);
+		ReflectionTestUtils.setField(farm, "lanes", "DOWNLOAD,BATCH");
+		ReflectionTestUtils.setField(farm, "maxConcurrent", maxConcurrent);
+		ReflectionTestUtils.setField(farm, "workerEnabled", true);
+		ReflectionTestUtils.setField(farm, "workerThreads", workerThreads);
+		ReflectionTestUtils.setField(farm, "waitTimeoutSeconds", 30L);
+		ReflectionTestUtils.setField(farm, "leaseSeconds", 60L);
+		ReflectionTestUtils.setField(farm, "stuckAfterSeconds", stuckAfterSeconds);
+		ReflectionTestUtils.setField(farm, "maxAttempts", 3);
+		ReflectionTestUtils.setField(farm, "resultTtlSeconds", 60L);
+		ReflectionTestUtils.setField(farm, "maxStreamLength", 1000L);
+		ReflectionTestUtils.setField(farm, "nodeId", "test-node");
+		ReflectionTestUtils.setField(farm, "connectionFactory", connectionFactory);
+		farm.afterPropertiesSet();
+		farms.add(farm);
+		return farm;
+	}
+
+	private static CompileOptions download() {
+		return CompileOptions.defaults().userKey("alice").priority(CompilePriority.DOWNLOAD);
+	}
+
+	private static CompletableFuture<byte[]> compileAsync(RedisCompileFarm farm, String code) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return farm.compile(code, download());
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	@Test
+	void stuckAfterMustBeBelowTheWaitTimeout() {
+		RedisCompileFarm farm = new RedisCompileFarm();
+		ReflectionTestUtils.setField(farm, "waitTimeoutSeconds", 180L);
+		ReflectionTestUtils.setField(farm, "stuckAfterSeconds", 240L);
+
+		assertThatThrownBy(farm::afterPropertiesSet).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("stuck-after-seconds");
+	}
+
+	@Test
+	void submitterReceivesTheWorkersResult() throws Exception {
+		assumeTrue(redisAvailable, "no Redis reachable");
+		RedisCompileFarm farm = farm(1, 2, 5);
+		farm.startWorkers((code, options) -> ("%PDF " + code + " " + options.getUserKey())
+				.getBytes(StandardCharsets.UTF_8));
+
+		byte[] pdf = farm.compile("doc", download());
+
+		assertThat(new String(pdf, StandardCharsets.UTF_8)).isEqualTo("%PDF doc alice");
+		// processed is counted once the entry is acknowledged, just after the result is pushed
+		GeminiServiceTest.await(() -> farm.getStats().get("processed").equals(1L));
+		assertThat(farm.getStats()).containsEntry("submitted", 1L);
+	}
+
+	@Test
+	void latexErrorsKeepTheirLogAndDiagnostics() throws Exception {
+		assumeTrue(redisAvailable, "no Redis reachable");
+		RedisCompileFarm farm = farm(1, 2, 5);
+		farm.startWorkers((code, options) -> {
+			throw LatexCompileException.fromLog(BROKEN_LOG);
+		});
+
+		assertThatThrownBy(() -> farm.compile("doc", download()))
+				.isInstanceOfSatisfying(LatexCompileException.class, e -> {
+					assertThat(e.getLog()).isEqualTo(BROKEN_LOG);
+					assertThat(e.getDiagnostics()).isNotEmpty();
+				});
+		assertThat(farm.getStats()).containsEntry("remoteFailures", 1L);
+	}
+
+	@Test
+	void entryOfADeadConsumerIsQueuedAgain() throws Exception {
+		assumeTrue(redisAvailable, "no Redis reachable");
+		RedisCompileFarm farm = farm(1, 2, 1);
+		StringRedisTemplate strings = new StringRedisTemplate(connectionFactory);
+		String streamKey = keyPrefix + "jobs";
+		strings.execute((RedisCallback<String>) c -> c.streamCommands().xGroupCreate(
+				streamKey.getBytes(StandardCharsets.UTF_8), "compilers", ReadOffset.from("0-0"), true));
+
+		CompletableFuture<byte[]> result = compileAsync(farm, "doc");
+		// a worker of another node reads the job and dies without acknowledging it
+		List<MapRecord<String, Object, Object>> taken = List.of();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (taken.isEmpty() && System.currentTimeMillis() < deadline) {
+			taken = readAs(strings, streamKey, "dead-node-0");
+		}
+		assertThat(taken).hasSize(1);
+
+		AtomicInteger compiles = new AtomicInteger();
+		farm.startWorkers((code, options) -> {
+			compiles.incrementAndGet();
+			return "%PDF".getBytes(StandardCharsets.UTF_8);
+		});
+		Thread.sleep(1500);
+		farm.reclaimStuckJobs();
+
+		assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("%PDF".getBytes(StandardCharsets.UTF_8));
+		assertThat(compiles).hasValue(1);
+		GeminiServiceTest.await(() -> farm.getStats().get("processed").equals(1L));
+		assertThat(farm.getStats()).containsEntry("reclaimed", 1L);
+	}
+
+	@Test
+	void heartbeatKeepsALongCompileFromBeingReclaimed() throws Exception {
+		assumeTrue(redisAvailable, "no Redis reachable");
+		RedisCompileFarm farm = farm(1, 2, 1);
+		AtomicInteger compiles = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		farm.startWorkers((code, options) -> {
+			compiles.incrementAndGet();
+			started.countDown();
+			Thread.sleep(3000);
+			return "%PDF".getBytes(StandardCharsets.UTF_8);
+		});
+
+		CompletableFuture<byte[]> result = compileAsync(farm, "doc");
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		for (int i = 0; i < 5; i++) {
+			Thread.sleep(500);
+			farm.reclaimStuckJobs();
+		}
+
+		assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("%PDF".getBytes(StandardCharsets.UTF_8));
+		assertThat(compiles).hasValue(1);
+		assertThat(farm.getStats()).containsEntry("reclaimed", 0L);
+	}
+
+	@Test
+	void leasesCapConcurrentCompilesAcrossWorkers() throws Exception {
+		assumeTrue(redisAvailable, "no Redis reachable");
+		RedisCompileFarm farm = farm(3, 1, 5);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		farm.startWorkers((code, options) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(300);
+			running.decrementAndGet();
+			return code.getBytes(StandardCharsets.UTF_8);
+		});
+
+		List<CompletableFuture<byte[]>> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			results.add(compileAsync(farm, "doc " + i));
+		}
+		for (int i = 0; i < 3; i++) {
+			assertThat(new String(results.get(i).get(15, TimeUnit.SECONDS), StandardCharsets.UTF_8))
+					.isEqualTo("doc " + i);
+		}
+
+		assertThat(maxRunning).hasValue(1);
+		assertThat((Long) farm.getStats().get("capWaits")).isPositive();
+		GeminiServiceTest.await(() -> farm.getStats().get("processed").equals(3L));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<MapRecord<String, Object, Object>> readAs(StringRedisTemplate strings, String streamKey,
+			String consumer) {
+		List<MapRecord<String, Object, Object>> records = strings.opsForStream().read(
+				Consumer.from("compilers", consumer), StreamReadOptions.empty().count(1),
+				StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+		return records == null ? List.of() : records;
+	}
+}
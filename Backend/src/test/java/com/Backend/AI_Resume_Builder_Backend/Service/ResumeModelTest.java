@@ -0,0 +1,91 @@
+package com.Backend.AI_Resume_Builder_Backend.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ResumeModelTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private LatexGenerateRequest request(String resumeJson) throws Exception {
+		return mapper.readValue("{\"resumeData\":" + resumeJson + ",\"templateType\":\"ats\"}",
+				LatexGenerateRequest.class);
+	}
+
+	@Test
+	void skillsAsAnArrayCountAsNoSkills() throws Exception {
+		Map<String, Object> data = Map.of("skills", List.of("Java", "Go"));
+
+		assertThat(ResumeModel.fromMap(data).skills()).isEqualTo(ResumeModel.Skills.EMPTY);
+		assertThat(request("{\"skills\":[\"Java\",\"Go\"]}").resumeData().skills())
+				.isEqualTo(ResumeModel.Skills.EMPTY);
+	}
+
+	@Test
+	void responsibilityAsAnArrayIsKeptAsText() throws Exception {
+		Map<String, Object> data = Map.of("experience",
+				List.of(Map.of("jobTitle", "Dev", "responsibility", List.of("Built it", "Ran it"))));
+
+		assertThat(ResumeModel.fromMap(data).experience().get(0).responsibility()).isEqualTo("[Built it, Ran it]");
+		assertThat(request("{\"experience\":[{\"responsibility\":[\"Built it\",\"Ran it\"]}]}").resumeData()
+				.experience().get(0).responsibility()).isEqualTo("[Built it, Ran it]");
+	}
+
+	@Test
+	void personalInformationAsAStringCountsAsMissing() throws Exception {
+		Map<String, Object> data = Map.of("personalInformation", "Sam Lee", "summary", "Hi");
+
+		ResumeModel resume = ResumeModel.fromMap(data);
+		assertThat(resume.personalInformation()).isEqualTo(ResumeModel.PersonalInformation.EMPTY);
+		assertThat(resume.summary()).isEqualTo("Hi");
+		assertThat(request("{\"personalInformation\":\"Sam Lee\"}").resumeData().personalInformation())
+				.isEqualTo(ResumeModel.PersonalInformation.EMPTY);
+	}
+
+	@Test
+	void scalarsAreRenderedAsText() throws Exception {
+		ResumeModel resume = request("""
+				{"education":[{"degree":"BSc","graduationYear":2018}],
+				 "achievements":[{"title":true,"year":3.5}],
+				 "skills":{"languages":["Java",null,7]}}
+				""").resumeData();
+
+		assertThat(resume.education().get(0).graduationYear()).isEqualTo("2018");
+		assertThat(resume.achievements().get(0).title()).isEqualTo("true");
+		assertThat(resume.achievements().get(0).year()).isEqualTo("3.5");
+		assertThat(resume.skills().languages()).containsExactly("Java", "7");
+	}
+
+	@Test
+	void technologiesAcceptAStringOrAList() throws Exception {
+		ResumeModel resume = request("""
+				{"projects":[{"technologiesUsed":"Go & Rust"},{"technologiesUsed":["Java",null]},
+				             {"technologiesUsed":5},"not a project"]}
+				""").resumeData();
+
+		assertThat(resume.projects()).extracting(ResumeModel.Project::technologiesUsed).containsExactly(
+				List.of("Go & Rust"), Arrays.asList("Java", null), List.of(), List.of());
+		assertThat(resume.projects().get(3)).isEqualTo(ResumeModel.Project.EMPTY);
+	}
+
+	@Test
+	void wrongShapesAndUnknownFieldsDoNotFail() throws Exception {
+		ResumeModel resume = request("""
+				{"experience":{"jobTitle":"Dev"},"education":"MIT","extra":1,
+				 "personalInformation":{"fullName":"Sam","nickname":"S"}}
+				""").resumeData();
+
+		assertThat(resume.experience()).isEmpty();
+		assertThat(resume.education()).isEmpty();
+		assertThat(resume.personalInformation().fullName()).isEqualTo("Sam");
+		assertThat(ResumeModel.fromMap(null)).isEqualTo(ResumeModel.EMPTY);
+		assertThat(request("null").resumeData()).isNull();
+	}
+}
@@ -1,5 +1,6 @@
 import React, { useState, useEffect, useRef, useCallback } from 'react';
 import { API_BASE_URL } from '../services/api';
+import { getAuthHeaders } from '../utils/auth';
 import './LatexEditor.css';
 
 export default function LatexEditor({ open, onClose, resumeData, templateType = 'professional', onSyncBack }) {
@@ -18,6 +19,22 @@ export default function LatexEditor({ open, onClose, resumeData, templateType =
   const autoTimer = useRef(null);
   const syncTimer = useRef(null);
   const isInitialLoad = useRef(true);
+  // Live-preview session: the backend keeps .aux files between compiles of this editor
+  const compileSessionId = useRef(
+    (window.crypto?.randomUUID?.() || `${Date.now()}-${Math.random().toString(36).slice(2)}`)
+  );
+
+  useEffect(() => {
+    const sessionId = compileSessionId.current;
+    return () => {
+      fetch(`${API_BASE_URL}/latex/sessions/${sessionId}`, {
+        method: 'DELETE',
+        headers: getAuthHeaders(),
+        credentials: 'include',
+        keepalive: true
+      }).catch(() => {});
+    };
+  }, []);
 
   // State for compile errors
   const [compileError, setCompileError] = useState(null);
@@ -709,12 +726,12 @@ ${achievementsSection ? `%----------ACHIEVEMENTS----------\n${achievementsSectio
     const timeoutId = setTimeout(() => controller.abort(), 60000); // 60s timeout
 
     try {
-      const resp = await fetch(`${API_BASE_URL}/latex/compile`, {
+      const resp = await fetch(`${API_BASE_URL}/latex/sessions/${compileSessionId.current}/compile`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: getAuthHeaders(),
         credentials: 'include',
         signal: controller.signal,
-        body: JSON.stringify({ latexCode })
+        body: JSON.stringify({ latexCode, templateType })
       });
 
       if (resp.ok) {
@@ -749,7 +766,15 @@ ${achievementsSection ? `%----------ACHIEVEMENTS----------\n${achievementsSectio
       } else {
         const errorData = await resp.json().catch(() => ({ error: 'Compilation failed' }));
         console.error('Compile failed:', errorData);
-        setCompileError(extractLatexError(errorData.message || errorData.error));
+        // 422 responses carry parsed diagnostics; point at the first error
+        const firstError = errorData.diagnostics?.find(d => d.severity === 'error');
+        if (firstError) {
+          setCompileError(firstError.line
+            ? `Error at line ${firstError.line}: ${firstError.message}`
+            : firstError.message);
+        } else {
+          setCompileError(extractLatexError(errorData.message || errorData.error));
+        }
         setPreviewSynced(true);
       }
     } catch (e) {
@@ -840,7 +865,7 @@ ${achievementsSection ? `%----------ACHIEVEMENTS----------\n${achievementsSectio
           }
           : {
             method: 'POST',
-            headers: { 'Content-Type': 'application/json' },
+            headers: getAuthHeaders(),
             credentials: 'include',
             signal: controller.signal,
             body: JSON.stringify({ latexCode })
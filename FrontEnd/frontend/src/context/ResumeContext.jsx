@@ -1,6 +1,6 @@
 import React, { createContext, useContext, useState, useEffect, useRef, useCallback } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
-import { decodeToken, getAuthToken } from '../utils/auth';
+import { decodeToken, getAuthToken, getAuthHeaders } from '../utils/auth';
 import { API_BASE_URL } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 
@@ -486,7 +486,7 @@ ${sections}
     try {
       const resp = await fetch(`${API_BASE_URL}/latex/compile`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: getAuthHeaders(),
         credentials: 'include',
         signal: controller.signal,
         body: JSON.stringify({ latexCode: latex })
@@ -2,7 +2,7 @@ import React, { useState, useEffect, useRef, useCallback } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { Snackbar, Alert } from '@mui/material';
 import AgentChat from '../components/AgentChat';
-import { decodeToken, getAuthToken } from '../utils/auth';
+import { decodeToken, getAuthToken, getAuthHeaders } from '../utils/auth';
 import { API_BASE_URL } from '../services/api';
 import { parseLatexToResumeData } from '../utils/latexParser';
 import './EditResume.css';
@@ -298,7 +298,7 @@ ${sections}
     try {
       const resp = await fetch(`${API_BASE_URL}/latex/compile`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: getAuthHeaders(),
         credentials: 'include',
         signal: controller.signal,
         body: JSON.stringify({ latexCode: latex })